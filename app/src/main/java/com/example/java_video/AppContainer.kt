@@ -1,10 +1,14 @@
 package com.example.java_video
 
 import android.content.Context
+import com.example.java_video.data.remote.ChunkedVoiceUploader
+import com.example.java_video.data.remote.NetworkModule
 import com.example.java_video.data.remote.VirtualPresenterApi
+import com.example.java_video.data.remote.VoiceUploadApi
 import com.example.java_video.data.repository.DefaultVirtualPresenterRepository
 import com.example.java_video.data.repository.VirtualPresenterRepository
 import com.example.java_video.domain.usecase.GetJobStatusUseCase
+import com.example.java_video.domain.usecase.ObserveJobStatusUseCase
 import com.example.java_video.domain.usecase.SubmitStoryUseCase
 import com.example.java_video.domain.usecase.UploadVoiceUseCase
 import com.example.java_video.domain.usecase.GenerateVoiceUseCase
@@ -36,14 +40,16 @@ class AppContainer(context: Context) {
 
     private val retrofit: Retrofit = Retrofit.Builder()
         .client(okHttpClient)
-        // Emulator to backend running on host machine.
-        .baseUrl("http://10.0.2.2:8080/")
+        .baseUrl(NetworkModule.BASE_URL)
         .addConverterFactory(MoshiConverterFactory.create(moshi))
         .build()
 
     private val api: VirtualPresenterApi = retrofit.create(VirtualPresenterApi::class.java)
 
-    private val repository: VirtualPresenterRepository = DefaultVirtualPresenterRepository(api)
+    private val voiceUploadApi: VoiceUploadApi = retrofit.create(VoiceUploadApi::class.java)
+
+    private val repository: VirtualPresenterRepository =
+        DefaultVirtualPresenterRepository(api, ChunkedVoiceUploader(voiceUploadApi), NetworkModule.jobStatusTracker)
     
     // TTS相关依赖
     private val ttsService: TTSService = PlaceholderTTSService()
@@ -51,5 +57,6 @@ class AppContainer(context: Context) {
     val uploadVoiceUseCase = UploadVoiceUseCase(repository)
     val submitStoryUseCase = SubmitStoryUseCase(repository)
     val getJobStatusUseCase = GetJobStatusUseCase(repository)
+    val observeJobStatusUseCase = ObserveJobStatusUseCase(repository)
     val generateVoiceUseCase = GenerateVoiceUseCase(ttsService)
 }
@@ -0,0 +1,50 @@
+package com.example.java_video.data.remote
+
+import com.example.java_video.data.remote.dto.UploadSessionRequestDto
+import com.example.java_video.data.remote.dto.VoiceCloneResponseDto
+import kotlinx.coroutines.delay
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.RequestBody.Companion.toRequestBody
+import retrofit2.HttpException
+import java.io.IOException
+
+/**
+ * Uploads a voice sample in chunks so a dropped connection only costs the chunk in flight.
+ * After a failure the uploader asks the backend how many bytes it already has and resumes from there.
+ */
+class ChunkedVoiceUploader(
+    private val api: VoiceUploadApi,
+    private val maxAttempts: Int = 5,
+    private val initialBackoffMillis: Long = 500
+) {
+
+    suspend fun upload(bytes: ByteArray, fileName: String, label: String?): VoiceCloneResponseDto {
+        val session = api.createUpload(UploadSessionRequestDto(fileName, bytes.size.toLong(), label))
+        val chunkSize = session.chunkSizeBytes
+        var offset = session.receivedBytes
+        var failures = 0
+        while (offset < bytes.size) {
+            val end = minOf(offset + chunkSize, bytes.size.toLong())
+            try {
+                val chunk = bytes.toRequestBody(OCTET_STREAM, offset.toInt(), (end - offset).toInt())
+                offset = api.uploadChunk(session.uploadId, "bytes $offset-${end - 1}/${bytes.size}", chunk).receivedBytes
+                failures = 0
+            } catch (error: Exception) {
+                if (!isRetryable(error) || ++failures >= maxAttempts) {
+                    throw error
+                }
+                delay(initialBackoffMillis shl (failures - 1))
+                offset = runCatching { api.getUpload(session.uploadId).receivedBytes }.getOrDefault(offset)
+            }
+        }
+        return api.completeUpload(session.uploadId)
+    }
+
+    private fun isRetryable(error: Exception): Boolean =
+        error is IOException || (error is HttpException && error.code() == HTTP_CONFLICT)
+
+    private companion object {
+        val OCTET_STREAM = "application/octet-stream".toMediaType()
+        const val HTTP_CONFLICT = 409
+    }
+}
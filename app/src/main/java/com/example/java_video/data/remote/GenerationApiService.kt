@@ -1,5 +1,7 @@
 package com.example.java_video.data.remote
 
+import com.example.java_video.data.remote.dto.BatchJobStatusRequestDto
+import com.example.java_video.data.remote.dto.BatchJobStatusResponseDto
 import com.example.java_video.data.remote.dto.JobStatusResponseDto
 import com.example.java_video.data.remote.dto.StoryRequestDto
 import com.example.java_video.data.remote.dto.StoryResponseDto
@@ -31,4 +33,9 @@ interface GenerationApiService {
     suspend fun getJob(
         @Path("jobId") jobId: String
     ): JobStatusResponseDto
+
+    @POST("api/v1/jobs/status:batch")
+    suspend fun getJobStatuses(
+        @Body request: BatchJobStatusRequestDto
+    ): BatchJobStatusResponseDto
 }
@@ -0,0 +1,125 @@
+package com.example.java_video.data.remote
+
+import com.example.java_video.data.remote.dto.BatchJobStatusRequestDto
+import com.example.java_video.data.remote.dto.BatchJobStatusResponseDto
+import com.example.java_video.data.remote.dto.JobStatusDto
+import com.example.java_video.data.remote.dto.JobStatusQueryDto
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.onCompletion
+import kotlinx.coroutines.flow.onSubscription
+import kotlinx.coroutines.flow.transformWhile
+import kotlinx.coroutines.launch
+import java.io.IOException
+
+/**
+ * Polls every observed job through one batch request per tick instead of one loop per job.
+ * Each request carries the last version seen for every job, so the backend only returns jobs that changed.
+ */
+class JobStatusPoller(
+    private val fetchBatch: suspend (BatchJobStatusRequestDto) -> BatchJobStatusResponseDto,
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO),
+    private val intervalMillis: Long = 1_500L
+) {
+
+    private val lock = Any()
+    private val tracked = LinkedHashMap<String, TrackedJob>()
+    private val events = MutableSharedFlow<PollEvent>(extraBufferCapacity = 64)
+    private var loop: Job? = null
+
+    /**
+     * Emits each change of [jobId] until it reaches a terminal state. Network errors are emitted and polling
+     * carries on; any other failure, including the backend not knowing the job, ends the flow.
+     */
+    fun observe(jobId: String): Flow<Result<JobStatusDto>> = events
+        .onSubscription { track(jobId) }
+        .filter { it.jobId == null || it.jobId == jobId }
+        .transformWhile { event ->
+            when (event) {
+                is PollEvent.Status -> {
+                    emit(Result.success(event.status))
+                    event.status.status !in TERMINAL_STATES
+                }
+                is PollEvent.Unknown -> {
+                    emit(Result.failure(IllegalStateException("Unknown job: $jobId")))
+                    false
+                }
+                is PollEvent.Failure -> {
+                    emit(Result.failure(event.error))
+                    event.error is IOException
+                }
+            }
+        }
+        .onCompletion { untrack(jobId) }
+
+    private fun track(jobId: String) {
+        synchronized(lock) {
+            val existing = tracked[jobId]
+            if (existing == null) {
+                tracked[jobId] = TrackedJob(sinceVersion = null, subscribers = 1)
+            } else {
+                // Ask for the full status again so the new subscriber is not left waiting for the next change.
+                existing.sinceVersion = null
+                existing.subscribers++
+            }
+            if (loop?.isActive != true) {
+                loop = scope.launch { pollLoop() }
+            }
+        }
+    }
+
+    private fun untrack(jobId: String) {
+        synchronized(lock) {
+            val existing = tracked[jobId] ?: return
+            if (--existing.subscribers == 0) {
+                tracked.remove(jobId)
+            }
+        }
+    }
+
+    private suspend fun pollLoop() {
+        while (true) {
+            val request = synchronized(lock) {
+                if (tracked.isEmpty()) {
+                    loop = null
+                    return
+                }
+                BatchJobStatusRequestDto(tracked.map { (jobId, job) -> JobStatusQueryDto(jobId, job.sinceVersion) })
+            }
+            try {
+                val response = fetchBatch(request)
+                synchronized(lock) {
+                    response.jobs.forEach { tracked[it.jobId]?.sinceVersion = it.version }
+                }
+                response.jobs.forEach { events.emit(PollEvent.Status(it)) }
+                response.unknownJobIds.forEach { events.emit(PollEvent.Unknown(it)) }
+            } catch (cancellation: CancellationException) {
+                throw cancellation
+            } catch (error: Exception) {
+                events.emit(PollEvent.Failure(error))
+            }
+            delay(intervalMillis)
+        }
+    }
+
+    private class TrackedJob(var sinceVersion: Long?, var subscribers: Int)
+
+    private sealed class PollEvent(val jobId: String?) {
+        class Status(val status: JobStatusDto) : PollEvent(status.jobId)
+        class Unknown(jobId: String) : PollEvent(jobId)
+
+        /** Applies to every tracked job, since the whole batch failed. */
+        class Failure(val error: Exception) : PollEvent(null)
+    }
+
+    private companion object {
+        val TERMINAL_STATES = setOf("COMPLETED", "FAILED", "CANCELLED")
+    }
+}
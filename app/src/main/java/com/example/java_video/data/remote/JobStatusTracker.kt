@@ -0,0 +1,60 @@
+package com.example.java_video.data.remote
+
+import com.example.java_video.data.remote.dto.JobStatusDto
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.transformWhile
+import kotlinx.coroutines.launch
+import java.io.IOException
+
+/**
+ * Follows a job over the shared STOMP socket and falls back to [JobStatusPoller] only while the socket is down.
+ * Each time the socket (re)connects the current status is fetched once, so nothing pushed during the gap is
+ * missed; updates are de-duplicated by version whichever path delivered them.
+ */
+class JobStatusTracker(
+    private val stompClient: StompJobStatusClient,
+    private val poller: JobStatusPoller
+) {
+
+    /**
+     * Emits each change of [jobId] until it reaches a terminal state. Network errors are emitted and tracking
+     * carries on; any other failure ends the flow.
+     */
+    fun observe(jobId: String): Flow<Result<JobStatusDto>> = flow {
+        var lastVersion = -1L
+        emitAll(updates(jobId).transformWhile { result ->
+            val status = result.getOrNull()
+            when {
+                status == null -> {
+                    emit(result)
+                    result.exceptionOrNull() is IOException
+                }
+                status.version <= lastVersion -> true
+                else -> {
+                    lastVersion = status.version
+                    emit(result)
+                    status.status !in TERMINAL_STATES
+                }
+            }
+        })
+    }
+
+    private fun updates(jobId: String): Flow<Result<JobStatusDto>> = channelFlow {
+        launch {
+            stompClient.observe(jobId).collect { send(Result.success(it)) }
+        }
+        stompClient.connected.collectLatest { connected ->
+            val polled = if (connected) poller.observe(jobId).take(1) else poller.observe(jobId)
+            polled.collect { send(it) }
+        }
+    }
+
+    private companion object {
+        val TERMINAL_STATES = setOf("COMPLETED", "FAILED", "CANCELLED")
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.java_video.data.remote
 
 import com.squareup.moshi.Moshi
+import com.squareup.moshi.kotlin.reflect.KotlinJsonAdapterFactory
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.OkHttpClient
 import okhttp3.logging.HttpLoggingInterceptor
@@ -10,9 +11,13 @@ import java.util.concurrent.TimeUnit
 
 object NetworkModule {
 
-    private const val BASE_URL = "http://10.0.2.2:8080/"
+    // Emulator to backend running on host machine.
+    const val BASE_URL = "http://10.0.2.2:8080/"
+    private const val STOMP_URL = "ws://10.0.2.2:8080/ws"
 
-    private val moshi: Moshi = Moshi.Builder().build()
+    private val moshi: Moshi = Moshi.Builder()
+        .addLast(KotlinJsonAdapterFactory())
+        .build()
 
     private val okHttpClient: OkHttpClient by lazy {
         val logging = HttpLoggingInterceptor().apply {
@@ -37,4 +42,16 @@ object NetworkModule {
     val apiService: GenerationApiService by lazy {
         retrofit.create(GenerationApiService::class.java)
     }
+
+    val voiceUploadApi: VoiceUploadApi by lazy {
+        retrofit.create(VoiceUploadApi::class.java)
+    }
+
+    // One STOMP socket for every tracked job in the app; batch polling only runs while it is down.
+    val jobStatusTracker: JobStatusTracker by lazy {
+        JobStatusTracker(
+            StompJobStatusClient(okHttpClient, STOMP_URL, moshi),
+            JobStatusPoller(apiService::getJobStatuses)
+        )
+    }
 }
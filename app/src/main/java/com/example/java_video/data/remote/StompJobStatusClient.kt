@@ -0,0 +1,206 @@
+package com.example.java_video.data.remote
+
+import com.example.java_video.data.remote.dto.JobStatusDto
+import com.squareup.moshi.Moshi
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.onCompletion
+import kotlinx.coroutines.flow.onSubscription
+import kotlinx.coroutines.launch
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.WebSocket
+import okhttp3.WebSocketListener
+import java.util.concurrent.TimeUnit
+
+/**
+ * Minimal STOMP 1.2 client over one shared OkHttp WebSocket, subscribing to the backend's
+ * `/topic/jobs/{jobId}` progress topics.
+ *
+ * The socket is opened when the first job is observed and closed when the last observer leaves. A dropped
+ * connection is retried with exponential backoff while anything is still observed, and every active topic is
+ * re-subscribed once the broker acknowledges the new session.
+ */
+class StompJobStatusClient(
+    okHttpClient: OkHttpClient,
+    private val url: String,
+    moshi: Moshi,
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO),
+    private val initialBackoffMillis: Long = 1_000L,
+    private val maxBackoffMillis: Long = 30_000L
+) {
+
+    private val client = okHttpClient.newBuilder()
+        .pingInterval(PING_INTERVAL_SECONDS, TimeUnit.SECONDS)
+        .readTimeout(0, TimeUnit.MILLISECONDS)
+        .build()
+    private val adapter = moshi.adapter(JobStatusDto::class.java)
+    private val lock = Any()
+    private val observers = HashMap<String, Int>()
+    private val messages = MutableSharedFlow<JobStatusDto>(extraBufferCapacity = 64)
+    private val _connected = MutableStateFlow(false)
+    private var socket: WebSocket? = null
+    private var reconnect: Job? = null
+    private var failures = 0
+
+    /** Whether a STOMP session is established and topic messages are flowing. */
+    val connected: StateFlow<Boolean> = _connected.asStateFlow()
+
+    /**
+     * Emits every status the broker pushes for [jobId]. Only changes after the subscription are delivered;
+     * pair it with a one-off fetch to learn the current status.
+     */
+    fun observe(jobId: String): Flow<JobStatusDto> = messages
+        .onSubscription { addObserver(jobId) }
+        .filter { it.jobId == jobId }
+        .onCompletion { removeObserver(jobId) }
+
+    private fun addObserver(jobId: String) {
+        synchronized(lock) {
+            val count = observers[jobId] ?: 0
+            observers[jobId] = count + 1
+            if (count == 0 && _connected.value) {
+                socket?.send(subscribeFrame(jobId))
+            }
+            if (socket == null && reconnect?.isActive != true) {
+                open()
+            }
+        }
+    }
+
+    private fun removeObserver(jobId: String) {
+        synchronized(lock) {
+            val count = observers[jobId] ?: return
+            if (count > 1) {
+                observers[jobId] = count - 1
+                return
+            }
+            observers.remove(jobId)
+            if (_connected.value) {
+                socket?.send(frame("UNSUBSCRIBE", "id" to subscriptionId(jobId)))
+            }
+            if (observers.isEmpty()) {
+                reconnect?.cancel()
+                socket?.close(NORMAL_CLOSURE, null)
+                socket = null
+                _connected.value = false
+            }
+        }
+    }
+
+    private fun open() {
+        socket = client.newWebSocket(Request.Builder().url(url).build(), Listener())
+    }
+
+    private fun onDisconnected(webSocket: WebSocket) {
+        synchronized(lock) {
+            if (socket !== webSocket) {
+                return
+            }
+            socket = null
+            _connected.value = false
+            if (observers.isEmpty()) {
+                return
+            }
+            val backoff = minOf(maxBackoffMillis, initialBackoffMillis shl minOf(failures++, MAX_BACKOFF_SHIFT))
+            reconnect = scope.launch {
+                delay(backoff)
+                synchronized(lock) {
+                    if (socket == null && observers.isNotEmpty()) {
+                        open()
+                    }
+                }
+            }
+        }
+    }
+
+    private inner class Listener : WebSocketListener() {
+
+        override fun onOpen(webSocket: WebSocket, response: Response) {
+            webSocket.send(
+                frame(
+                    "CONNECT",
+                    "accept-version" to "1.2",
+                    "host" to response.request.url.host,
+                    "heart-beat" to "0,0"
+                )
+            )
+        }
+
+        override fun onMessage(webSocket: WebSocket, text: String) {
+            val frame = StompFrame.parse(text) ?: return
+            when (frame.command) {
+                "CONNECTED" -> synchronized(lock) {
+                    if (socket !== webSocket) return
+                    failures = 0
+                    observers.keys.forEach { webSocket.send(subscribeFrame(it)) }
+                    _connected.value = true
+                }
+                "MESSAGE" -> runCatching { adapter.fromJson(frame.body) }
+                    .getOrNull()
+                    ?.let { messages.tryEmit(it) }
+                "ERROR" -> webSocket.close(PROTOCOL_ERROR, frame.headers["message"]?.take(MAX_CLOSE_REASON))
+            }
+        }
+
+        override fun onClosing(webSocket: WebSocket, code: Int, reason: String) {
+            webSocket.close(NORMAL_CLOSURE, null)
+        }
+
+        override fun onClosed(webSocket: WebSocket, code: Int, reason: String) {
+            onDisconnected(webSocket)
+        }
+
+        override fun onFailure(webSocket: WebSocket, t: Throwable, response: Response?) {
+            onDisconnected(webSocket)
+        }
+    }
+
+    private class StompFrame(val command: String, val headers: Map<String, String>, val body: String) {
+        companion object {
+            fun parse(text: String): StompFrame? {
+                val normalised = text.replace("\r\n", "\n").trimStart('\n').substringBefore('\u0000')
+                if (normalised.isBlank()) {
+                    // Heart-beat.
+                    return null
+                }
+                val head = normalised.substringBefore("\n\n")
+                val lines = head.split('\n')
+                val headers = lines.drop(1).mapNotNull { line ->
+                    val colon = line.indexOf(':')
+                    if (colon > 0) line.substring(0, colon) to line.substring(colon + 1) else null
+                }.toMap()
+                return StompFrame(lines.first(), headers, normalised.substringAfter("\n\n", ""))
+            }
+        }
+    }
+
+    private companion object {
+        const val NORMAL_CLOSURE = 1000
+        const val PROTOCOL_ERROR = 1002
+        const val MAX_CLOSE_REASON = 120
+        const val MAX_BACKOFF_SHIFT = 5
+        const val PING_INTERVAL_SECONDS = 20L
+
+        fun subscriptionId(jobId: String) = "job-$jobId"
+
+        fun subscribeFrame(jobId: String) =
+            frame("SUBSCRIBE", "id" to subscriptionId(jobId), "destination" to "/topic/jobs/$jobId")
+
+        fun frame(command: String, vararg headers: Pair<String, String>): String = buildString {
+            append(command).append('\n')
+            headers.forEach { (name, value) -> append(name).append(':').append(value).append('\n') }
+            append('\n').append('\u0000')
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.java_video.data.remote
 
+import com.example.java_video.data.remote.dto.BatchJobStatusRequestDto
+import com.example.java_video.data.remote.dto.BatchJobStatusResponseDto
 import com.example.java_video.data.remote.dto.JobStatusDto
 import com.example.java_video.data.remote.dto.StorySubmissionRequestDto
 import com.example.java_video.data.remote.dto.StorySubmissionResponseDto
@@ -31,4 +33,9 @@ interface VirtualPresenterApi {
     suspend fun getJob(
         @Path("jobId") jobId: String
     ): JobStatusDto
+
+    @POST("api/v1/jobs/status:batch")
+    suspend fun getJobStatuses(
+        @Body request: BatchJobStatusRequestDto
+    ): BatchJobStatusResponseDto
 }
@@ -0,0 +1,40 @@
+package com.example.java_video.data.remote
+
+import com.example.java_video.data.remote.dto.UploadSessionRequestDto
+import com.example.java_video.data.remote.dto.UploadSessionResponseDto
+import com.example.java_video.data.remote.dto.VoiceCloneResponseDto
+import okhttp3.RequestBody
+import retrofit2.http.Body
+import retrofit2.http.GET
+import retrofit2.http.Header
+import retrofit2.http.POST
+import retrofit2.http.PUT
+import retrofit2.http.Path
+
+/**
+ * Resumable chunked upload protocol for voice samples: create a session, PUT ranged chunks, then complete.
+ */
+interface VoiceUploadApi {
+
+    @POST("api/v1/voices/uploads")
+    suspend fun createUpload(
+        @Body request: UploadSessionRequestDto
+    ): UploadSessionResponseDto
+
+    @GET("api/v1/voices/uploads/{uploadId}")
+    suspend fun getUpload(
+        @Path("uploadId") uploadId: String
+    ): UploadSessionResponseDto
+
+    @PUT("api/v1/voices/uploads/{uploadId}")
+    suspend fun uploadChunk(
+        @Path("uploadId") uploadId: String,
+        @Header("Content-Range") contentRange: String,
+        @Body chunk: RequestBody
+    ): UploadSessionResponseDto
+
+    @POST("api/v1/voices/uploads/{uploadId}/complete")
+    suspend fun completeUpload(
+        @Path("uploadId") uploadId: String
+    ): VoiceCloneResponseDto
+}
@@ -0,0 +1,10 @@
+package com.example.java_video.data.remote.dto
+
+data class BatchJobStatusRequestDto(
+    val jobs: List<JobStatusQueryDto>
+)
+
+data class JobStatusQueryDto(
+    val jobId: String,
+    val sinceVersion: Long?
+)
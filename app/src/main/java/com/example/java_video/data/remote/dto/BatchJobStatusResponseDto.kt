@@ -0,0 +1,6 @@
+package com.example.java_video.data.remote.dto
+
+data class BatchJobStatusResponseDto(
+    val jobs: List<JobStatusDto>,
+    val unknownJobIds: List<String>
+)
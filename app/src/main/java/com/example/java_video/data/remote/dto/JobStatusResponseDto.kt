@@ -5,5 +5,6 @@ data class JobStatusResponseDto(
     val status: String,
     val progress: Int,
     val message: String,
-    val downloadUrl: String?
+    val downloadUrl: String?,
+    val version: Long = 0
 )
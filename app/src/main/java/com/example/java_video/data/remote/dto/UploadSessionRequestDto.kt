@@ -0,0 +1,7 @@
+package com.example.java_video.data.remote.dto
+
+data class UploadSessionRequestDto(
+    val fileName: String,
+    val sizeBytes: Long,
+    val label: String?
+)
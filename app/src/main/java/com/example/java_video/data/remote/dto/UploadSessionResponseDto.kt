@@ -0,0 +1,8 @@
+package com.example.java_video.data.remote.dto
+
+data class UploadSessionResponseDto(
+    val uploadId: String,
+    val sizeBytes: Long,
+    val receivedBytes: Long,
+    val chunkSizeBytes: Int
+)
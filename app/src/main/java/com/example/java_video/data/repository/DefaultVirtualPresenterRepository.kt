@@ -1,25 +1,26 @@
 package com.example.java_video.data.repository
 
+import com.example.java_video.data.remote.ChunkedVoiceUploader
+import com.example.java_video.data.remote.JobStatusTracker
 import com.example.java_video.data.remote.VirtualPresenterApi
+import com.example.java_video.data.remote.dto.JobStatusDto
 import com.example.java_video.data.remote.dto.StorySubmissionRequestDto
 import com.example.java_video.domain.model.GenerationMode
 import com.example.java_video.domain.model.JobStatus
 import com.example.java_video.domain.model.VoiceClone
 import com.example.java_video.domain.model.VoiceUploadPayload
-import okhttp3.MediaType.Companion.toMediaTypeOrNull
-import okhttp3.MultipartBody
-import okhttp3.RequestBody
-import okhttp3.RequestBody.Companion.toRequestBody
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.map
 
 class DefaultVirtualPresenterRepository(
-    private val api: VirtualPresenterApi
+    private val api: VirtualPresenterApi,
+    private val voiceUploader: ChunkedVoiceUploader,
+    private val jobStatusTracker: JobStatusTracker
 ) : VirtualPresenterRepository {
 
     override suspend fun uploadVoice(payload: VoiceUploadPayload): VoiceClone {
-        val requestBody = payload.bytes.toRequestBody(payload.mimeType.toMediaTypeOrNull())
-        val filePart = MultipartBody.Part.createFormData("file", payload.fileName, requestBody)
-        val labelPart: RequestBody? = payload.label?.takeIf { it.isNotBlank() }?.toRequestBody("text/plain".toMediaTypeOrNull())
-        val response = api.cloneVoice(filePart, labelPart)
+        val label = payload.label?.takeIf { it.isNotBlank() }
+        val response = voiceUploader.upload(payload.bytes, payload.fileName, label)
         return VoiceClone(response.voiceId, response.label)
     }
 
@@ -42,14 +43,16 @@ class DefaultVirtualPresenterRepository(
         return response.jobId
     }
 
-    override suspend fun fetchJob(jobId: String): JobStatus {
-        val dto = api.getJob(jobId)
-        return JobStatus(
-            jobId = dto.jobId,
-            status = dto.status,
-            progress = dto.progress,
-            message = dto.message,
-            downloadUrl = dto.downloadUrl
-        )
-    }
+    override suspend fun fetchJob(jobId: String): JobStatus = api.getJob(jobId).toJobStatus()
+
+    override fun observeJob(jobId: String): Flow<Result<JobStatus>> =
+        jobStatusTracker.observe(jobId).map { result -> result.map { it.toJobStatus() } }
+
+    private fun JobStatusDto.toJobStatus(): JobStatus = JobStatus(
+        jobId = jobId,
+        status = status,
+        progress = progress,
+        message = message,
+        downloadUrl = downloadUrl
+    )
 }
@@ -1,32 +1,25 @@
 package com.example.java_video.data.repository
 
+import com.example.java_video.data.remote.ChunkedVoiceUploader
 import com.example.java_video.data.remote.GenerationApiService
+import com.example.java_video.data.remote.JobStatusTracker
 import com.example.java_video.data.remote.dto.StoryRequestDto
 import com.example.java_video.domain.model.GenerationMode
 import com.example.java_video.domain.model.JobStatus
 import com.example.java_video.domain.model.StorySubmission
 import com.example.java_video.domain.model.VoiceProfile
 import com.example.java_video.domain.model.VoiceSample
-import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.flow
-import okhttp3.MediaType.Companion.toMediaType
-import okhttp3.MediaType.Companion.toMediaTypeOrNull
-import okhttp3.MultipartBody
-import okhttp3.RequestBody
-import okhttp3.RequestBody.Companion.toRequestBody
-import java.io.IOException
+import kotlinx.coroutines.flow.map
 
 class GenerationRepositoryImpl(
-    private val apiService: GenerationApiService
+    private val apiService: GenerationApiService,
+    private val voiceUploader: ChunkedVoiceUploader,
+    private val jobStatusTracker: JobStatusTracker
 ) : GenerationRepository {
 
     override suspend fun cloneVoice(sample: VoiceSample): Result<VoiceProfile> = runCatching {
-        val mediaType = sample.mimeType.toMediaTypeOrNull() ?: "audio/mpeg".toMediaType()
-        val requestBody = sample.bytes.toRequestBody(mediaType)
-        val filePart = MultipartBody.Part.createFormData("file", sample.fileName, requestBody)
-        val labelPart: RequestBody? = sample.label?.toRequestBody("text/plain".toMediaType())
-        val response = apiService.cloneVoice(filePart, labelPart)
+        val response = voiceUploader.upload(sample.bytes, sample.fileName, sample.label)
         VoiceProfile(
             voiceId = response.voiceId,
             label = response.label
@@ -44,11 +37,9 @@ class GenerationRepositoryImpl(
         apiService.submitStory(request).jobId
     }
 
-    override fun observeJob(jobId: String): Flow<Result<JobStatus>> = flow {
-        var shouldContinue = true
-        while (shouldContinue) {
-            val result = runCatching {
-                val dto = apiService.getJob(jobId)
+    override fun observeJob(jobId: String): Flow<Result<JobStatus>> =
+        jobStatusTracker.observe(jobId).map { result ->
+            result.map { dto ->
                 JobStatus(
                     jobId = dto.jobId,
                     status = dto.status,
@@ -56,17 +47,6 @@ class GenerationRepositoryImpl(
                     message = dto.message,
                     downloadUrl = dto.downloadUrl
                 )
-            }.onFailure { throwable ->
-                if (throwable is IOException) {
-                    // transient network error, keep polling
-                } else {
-                    shouldContinue = false
-                }
             }
-            emit(result)
-            val isTerminal = result.getOrNull()?.status in setOf("COMPLETED", "FAILED")
-            shouldContinue = shouldContinue && !isTerminal
-            delay(1500)
         }
-    }
 }
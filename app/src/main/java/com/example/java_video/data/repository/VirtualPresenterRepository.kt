@@ -4,6 +4,7 @@ import com.example.java_video.domain.model.GenerationMode
 import com.example.java_video.domain.model.JobStatus
 import com.example.java_video.domain.model.VoiceClone
 import com.example.java_video.domain.model.VoiceUploadPayload
+import kotlinx.coroutines.flow.Flow
 
 interface VirtualPresenterRepository {
     suspend fun uploadVoice(payload: VoiceUploadPayload): VoiceClone
@@ -16,4 +17,6 @@ interface VirtualPresenterRepository {
     ): String
 
     suspend fun fetchJob(jobId: String): JobStatus
+
+    fun observeJob(jobId: String): Flow<Result<JobStatus>>
 }
@@ -1,11 +1,16 @@
 package com.example.java_video.di
 
+import com.example.java_video.data.remote.ChunkedVoiceUploader
 import com.example.java_video.data.remote.NetworkModule
 import com.example.java_video.data.repository.GenerationRepository
 import com.example.java_video.data.repository.GenerationRepositoryImpl
 
 class AppContainer {
     val repository: GenerationRepository by lazy {
-        GenerationRepositoryImpl(NetworkModule.apiService)
+        GenerationRepositoryImpl(
+            NetworkModule.apiService,
+            ChunkedVoiceUploader(NetworkModule.voiceUploadApi),
+            NetworkModule.jobStatusTracker
+        )
     }
 }
@@ -0,0 +1,11 @@
+package com.example.java_video.domain.usecase
+
+import com.example.java_video.data.repository.VirtualPresenterRepository
+import com.example.java_video.domain.model.JobStatus
+import kotlinx.coroutines.flow.Flow
+
+class ObserveJobStatusUseCase(private val repository: VirtualPresenterRepository) {
+    operator fun invoke(jobId: String): Flow<Result<JobStatus>> {
+        return repository.observeJob(jobId)
+    }
+}
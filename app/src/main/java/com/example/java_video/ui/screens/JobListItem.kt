@@ -34,6 +34,7 @@ fun JobListItem(job: JobStatus) {
         "RUNNING" -> "生成中"
         "COMPLETED" -> "已完成"
         "FAILED" -> "失败"
+        "CANCELLED" -> "已取消"
         else -> job.status
     }
 
@@ -110,6 +111,14 @@ fun JobListItem(job: JobStatus) {
                         color = statusColor
                     )
                 }
+
+                "CANCELLED" -> {
+                    Text(
+                        text = "任务已取消。",
+                        style = MaterialTheme.typography.bodyMedium,
+                        color = statusColor
+                    )
+                }
             }
         }
     }
@@ -429,6 +429,7 @@ private fun JobItem(
         val (statusText, statusColor) = when (status) {
             "COMPLETED" -> "已完成" to MaterialTheme.colorScheme.primary
             "FAILED" -> "失败" to MaterialTheme.colorScheme.error
+            "CANCELLED" -> "已取消" to MaterialTheme.colorScheme.onSurfaceVariant
             "PROCESSING" -> "处理中" to MaterialTheme.colorScheme.secondary
             else -> "等待中" to MaterialTheme.colorScheme.onSurfaceVariant
         }
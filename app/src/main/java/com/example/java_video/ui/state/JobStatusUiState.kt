@@ -10,5 +10,5 @@ data class JobStatusUiState(
     val errorMessage: String? = null
 ) {
     val isTerminal: Boolean
-        get() = status == "COMPLETED" || status == "FAILED"
+        get() = status == "COMPLETED" || status == "FAILED" || status == "CANCELLED"
 }
@@ -14,7 +14,7 @@ import com.example.java_video.VirtualPresenterApplication
 import com.example.java_video.domain.model.GenerationMode
 import com.example.java_video.domain.model.JobStatus
 import com.example.java_video.domain.model.VoiceUploadPayload
-import com.example.java_video.domain.usecase.GetJobStatusUseCase
+import com.example.java_video.domain.usecase.ObserveJobStatusUseCase
 import com.example.java_video.domain.usecase.SubmitStoryUseCase
 import com.example.java_video.domain.usecase.UploadVoiceUseCase
 import com.example.java_video.domain.usecase.GenerateVoiceUseCase
@@ -22,7 +22,6 @@ import com.example.java_video.domain.usecase.TTSGenerationState
 import com.example.java_video.domain.model.TTSRequest
 import com.example.java_video.ui.state.VirtualPresenterUiState
 import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
@@ -35,7 +34,7 @@ class VirtualPresenterViewModel(
     application: Application,
     private val uploadVoiceUseCase: UploadVoiceUseCase,
     private val submitStoryUseCase: SubmitStoryUseCase,
-    private val getJobStatusUseCase: GetJobStatusUseCase,
+    private val observeJobStatusUseCase: ObserveJobStatusUseCase,
     private val generateVoiceUseCase: GenerateVoiceUseCase
 ) : AndroidViewModel(application) {
 
@@ -168,29 +167,25 @@ class VirtualPresenterViewModel(
 
     private fun trackJob(jobId: String) {
         viewModelScope.launch {
-            var continuePolling = true
-            while (continuePolling) {
-                try {
-                    val status = getJobStatusUseCase(jobId)
-                    _uiState.update { state ->
-                        val updatedJobs = state.jobs.toMutableList().apply {
-                            removeAll { it.jobId == status.jobId }
-                            add(0, status)
+            // Updates arrive over the shared STOMP socket; batch polling only runs while it is down.
+            observeJobStatusUseCase(jobId).collect { result ->
+                result.fold(
+                    onSuccess = { status ->
+                        _uiState.update { state ->
+                            val updatedJobs = state.jobs.toMutableList().apply {
+                                removeAll { it.jobId == status.jobId }
+                                add(0, status)
+                            }
+                            maintainJobLimit(updatedJobs)
+                            state.copy(jobs = updatedJobs)
+                        }
+                    },
+                    onFailure = {
+                        _uiState.update { state ->
+                            state.copy(submitError = "任务状态查询失败。")
                         }
-                        maintainJobLimit(updatedJobs)
-                        state.copy(jobs = updatedJobs)
-                    }
-                    continuePolling = status.status !in terminalStates
-                } catch (exception: Exception) {
-                    // Stop polling if backend is unreachable to avoid infinite loop.
-                    continuePolling = false
-                    _uiState.update { state ->
-                        state.copy(submitError = "任务状态查询失败。")
                     }
-                }
-                if (continuePolling) {
-                    delay(POLL_INTERVAL_MS)
-                }
+                )
             }
         }
     }
@@ -319,12 +314,9 @@ class VirtualPresenterViewModel(
     }
 
     companion object {
-        private const val POLL_INTERVAL_MS = 1_500L
         private const val DEFAULT_AUDIO_MIME = "audio/wav"
         private const val DEFAULT_AUDIO_NAME = "voice-sample.wav"
 
-        private val terminalStates = setOf("COMPLETED", "FAILED")
-
         fun provideFactory(application: Application): ViewModelProvider.Factory {
             return object : ViewModelProvider.Factory {
                 override fun <T : ViewModel> create(modelClass: Class<T>): T {
@@ -336,7 +328,7 @@ class VirtualPresenterViewModel(
                         application = app,
                         uploadVoiceUseCase = container.uploadVoiceUseCase,
                         submitStoryUseCase = container.submitStoryUseCase,
-                        getJobStatusUseCase = container.getJobStatusUseCase,
+                        observeJobStatusUseCase = container.observeJobStatusUseCase,
                         generateVoiceUseCase = container.generateVoiceUseCase
                     ) as T
                 }
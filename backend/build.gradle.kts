@@ -1,6 +1,7 @@
 plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     java
 }
 
@@ -8,10 +9,8 @@ group = "com.ai.virtualpresenter"
 version = "0.0.1-SNAPSHOT"
 
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
-    targetCompatibility = JavaVersion.VERSION_17
-    // 或者使用 toolchain（可选）：
-    // toolchain { languageVersion.set(JavaLanguageVersion.of(17)) }
+    // 虚拟线程执行模式（virtual-presenter.executor.mode=VIRTUAL）需要 Java 21
+    toolchain { languageVersion.set(JavaLanguageVersion.of(21)) }
 }
 
 configurations {
@@ -36,8 +35,28 @@ dependencies {
     annotationProcessor("org.projectlombok:lombok")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("com.github.codemonstur:embedded-redis:1.4.3")
+}
+
+// 声纹相似度检索使用 Vector API（孵化模块），编译与运行都需要显式加载；运行时缺失时自动回退到标量实现
+val vectorModuleArgs = listOf("--add-modules", "jdk.incubator.vector")
+
+tasks.withType<JavaCompile> {
+    options.compilerArgs.addAll(vectorModuleArgs)
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
+    jvmArgs(vectorModuleArgs)
+}
+
+tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+    jvmArgs(vectorModuleArgs)
+}
+
+jmh {
+    jvmArgs.addAll(vectorModuleArgs)
+    warmupIterations.set(2)
+    iterations.set(3)
+    fork.set(1)
 }
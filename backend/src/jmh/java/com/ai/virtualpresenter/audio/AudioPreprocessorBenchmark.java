@@ -0,0 +1,108 @@
+package com.ai.virtualpresenter.audio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams a long 48 kHz stereo clip through {@link AudioPreprocessor}; the clip is generated on the fly, so it is
+ * never held in memory. Run with {@code ./gradlew :backend:jmh}; add {@code -prof gc} to see allocation per clip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AudioPreprocessorBenchmark {
+
+    private static final int RATE = 48000;
+
+    @Param("600")
+    int seconds;
+
+    private AudioPreprocessor preprocessor;
+    private byte[] period;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        preprocessor = new AudioPreprocessor(16000, -20, -50);
+        ByteBuffer samples = ByteBuffer.allocate(RATE * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (int frame = 0; frame < RATE; frame++) {
+            short sample = (short) (8000 * Math.sin(2 * Math.PI * 440 * frame / RATE));
+            samples.putShort(sample).putShort(sample);
+        }
+        period = samples.array();
+        target = Files.createTempFile("audio-benchmark", ".wav");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public long preprocessLongClip() throws IOException {
+        return preprocessor.preprocess(new RepeatingWavStream(period, seconds), target);
+    }
+
+    /**
+     * A 16-bit stereo WAV that repeats one second of audio {@code seconds} times.
+     */
+    private static final class RepeatingWavStream extends InputStream {
+
+        private final byte[] header;
+        private final byte[] period;
+        private final long total;
+        private long position;
+
+        RepeatingWavStream(byte[] period, int seconds) {
+            long dataBytes = (long) period.length * seconds;
+            ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+            header.put("RIFF".getBytes()).putInt((int) (dataBytes + 36)).put("WAVE".getBytes());
+            header.put("fmt ".getBytes()).putInt(16).putShort((short) 1).putShort((short) 2);
+            header.putInt(RATE).putInt(RATE * 4).putShort((short) 4).putShort((short) 16);
+            header.put("data".getBytes()).putInt((int) dataBytes);
+            this.header = header.array();
+            this.period = period;
+            this.total = header.capacity() + dataBytes;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (position >= total) {
+                return -1;
+            }
+            int count;
+            if (position < header.length) {
+                count = (int) Math.min(length, header.length - position);
+                System.arraycopy(header, (int) position, bytes, offset, count);
+            } else {
+                int inPeriod = (int) ((position - header.length) % period.length);
+                count = (int) Math.min(Math.min(length, period.length - inPeriod), total - position);
+                System.arraycopy(period, inPeriod, bytes, offset, count);
+            }
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.model.StageTiming;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retained heap and lookup cost of finished jobs kept as objects versus in a {@link CompactJobArena}. Heap per job
+ * is printed during setup. Run with {@code ./gradlew :backend:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompactJobArenaBenchmark {
+
+    private static final JobState[] STAGES = {
+            JobState.PREPROCESSING, JobState.CLONING_VOICE, JobState.GENERATING_SCRIPT,
+            JobState.GENERATING_ASSETS, JobState.RENDERING
+    };
+
+    @Param("200000")
+    int jobs;
+
+    private Map<String, GenerationJob> objects;
+    private Map<String, Long> addresses;
+    private CompactJobArena arena;
+    private String[] jobIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jobIds = new String[jobs];
+        for (int i = 0; i < jobs; i++) {
+            jobIds[i] = UUID.randomUUID().toString();
+        }
+        long baseline = usedHeap();
+        objects = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+        for (String jobId : jobIds) {
+            objects.put(jobId, finishedJob(jobId, random).withoutScript());
+        }
+        long heapPerObject = (usedHeap() - baseline) / jobs;
+
+        baseline = usedHeap();
+        arena = new CompactJobArena(1 << 20);
+        addresses = new HashMap<>();
+        for (String jobId : jobIds) {
+            addresses.put(jobId, arena.store(objects.get(jobId)));
+        }
+        long heapPerAddress = (usedHeap() - baseline) / jobs;
+        System.out.printf("%nheap per retained job: objects %d B, arena %d B (+%d B off-heap)%n",
+                heapPerObject, heapPerAddress, arena.reservedBytes() / jobs);
+    }
+
+    @Benchmark
+    public GenerationJob objectLookup() {
+        return objects.get(nextJobId());
+    }
+
+    @Benchmark
+    public GenerationJob arenaLookup() {
+        return arena.read(addresses.get(nextJobId()));
+    }
+
+    private String nextJobId() {
+        next = next + 1 == jobs ? 0 : next + 1;
+        return jobIds[next];
+    }
+
+    private static GenerationJob finishedJob(String jobId, SplittableRandom random) {
+        Instant createdAt = Instant.now().minusSeconds(random.nextInt(86_400));
+        GenerationJob job = new GenerationJob(jobId, GenerationMode.CREATIVE, "voice-" + random.nextInt(1000),
+                "script", createdAt, JobState.RECEIVED, 0, "Job accepted", null);
+        Instant startedAt = createdAt;
+        for (JobState stage : STAGES) {
+            Instant finishedAt = startedAt.plusMillis(random.nextInt(1, 30_000));
+            job.recordStageTiming(stage, new StageTiming(startedAt, finishedAt));
+            job.recordStageArtifact(stage, "/media/jobs/" + jobId + "/" + stage.name().toLowerCase());
+            startedAt = finishedAt;
+        }
+        job.markCompleted("/media/" + jobId + ".mp4");
+        return job;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,81 @@
+package com.ai.virtualpresenter.store;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 cosine search over 100k speaker embeddings: scalar flat scan, Vector API flat scan, and HNSW.
+ * Run with {@code ./gradlew :backend:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CosineSimilarityBenchmark {
+
+    private static final int TOP_K = 10;
+
+    @Param("100000")
+    int embeddings;
+
+    @Param("192")
+    int dimensions;
+
+    private EmbeddingMatrix scalar;
+    private EmbeddingMatrix simd;
+    private HnswGraph graph;
+    private float[] query;
+    private float[] scores;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        scalar = new EmbeddingMatrix(dimensions, new ScalarVectorOps());
+        simd = new EmbeddingMatrix(dimensions, new SimdVectorOps());
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < embeddings; i++) {
+            fill(vector, random);
+            scalar.add(vector);
+            simd.add(vector);
+        }
+        graph = new HnswGraph(simd, 16, 100, 42);
+        for (int row = 0; row < embeddings; row++) {
+            graph.insert(row);
+        }
+        query = new float[dimensions];
+        fill(query, random);
+        query = simd.row(simd.add(query));
+        scores = new float[TOP_K];
+    }
+
+    @Benchmark
+    public int[] scalarFlatScan() {
+        return scalar.scan(query, TOP_K, scores);
+    }
+
+    @Benchmark
+    public int[] vectorFlatScan() {
+        return simd.scan(query, TOP_K, scores);
+    }
+
+    @Benchmark
+    public List<HnswGraph.Candidate> hnswSearch() {
+        return graph.search(query, TOP_K, 64);
+    }
+
+    private static void fill(float[] vector, SplittableRandom random) {
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextDouble(-1.0, 1.0);
+        }
+    }
+}
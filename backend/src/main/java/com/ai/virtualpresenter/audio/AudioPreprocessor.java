@@ -0,0 +1,198 @@
+package com.ai.virtualpresenter.audio;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Converts an uploaded WAV sample into 16-bit mono PCM at the model's sample rate, loudness-normalised and with
+ * silence trimmed. The output depends only on the audio content, so re-encodings of a recording hash alike.
+ * The clip is streamed twice through a scratch file, so memory use is independent of clip length.
+ */
+@Component
+public class AudioPreprocessor {
+
+    private static final int BLOCK_FRAMES = 4096;
+    private static final int OUTPUT_BYTES_PER_SAMPLE = 2;
+    private static final int WAV_HEADER_BYTES = 44;
+    private static final double PEAK_CEILING = Math.pow(10, -1.0 / 20);
+
+    private final int sampleRate;
+    private final double targetRms;
+    private final double silenceThreshold;
+    private final int analysisFrame;
+
+    public AudioPreprocessor(@Value("${virtual-presenter.voices.preprocessing.sample-rate:16000}") int sampleRate,
+                             @Value("${virtual-presenter.voices.preprocessing.target-rms-dbfs:-20}") double targetRmsDbfs,
+                             @Value("${virtual-presenter.voices.preprocessing.silence-threshold-dbfs:-50}") double silenceThresholdDbfs) {
+        this.sampleRate = sampleRate;
+        this.targetRms = Math.pow(10, targetRmsDbfs / 20);
+        this.silenceThreshold = Math.pow(10, silenceThresholdDbfs / 20);
+        this.analysisFrame = Math.max(1, sampleRate / 100);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @return the number of samples written
+     * @throws UnsupportedAudioFormatException if {@code input} is not a WAV encoding the decoder supports
+     * @throws IllegalArgumentException        if the clip contains no audio above the silence threshold
+     */
+    public long preprocess(InputStream input, Path target) throws IOException {
+        return preprocess(input, target, null);
+    }
+
+    /**
+     * Also feeds every byte written to {@code digest}, so the output need not be read back to hash it.
+     */
+    public long preprocess(InputStream input, Path target, MessageDigest digest) throws IOException {
+        WavDecoder decoder = new WavDecoder(input);
+        Path scratch = Files.createTempFile(target.toAbsolutePath().getParent(), "preprocess-", ".f32");
+        try (FileChannel scratchChannel = FileChannel.open(scratch, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Analysis analysis = decodeToScratch(decoder, scratchChannel);
+            if (analysis.speechStart < 0) {
+                throw new IllegalArgumentException("Voice sample contains no audible speech");
+            }
+            long samples = analysis.speechEnd - analysis.speechStart;
+            double activeRms = Math.sqrt(analysis.speechEnergy / analysis.speechSamples);
+            float gain = (float) Math.min(targetRms / activeRms, PEAK_CEILING / analysis.peak);
+            writeCanonical(scratchChannel, analysis.speechStart, samples, gain, target, digest);
+            return samples;
+        } finally {
+            Files.deleteIfExists(scratch);
+        }
+    }
+
+    /**
+     * Loudness is measured over speech frames only, so pauses do not drag the level down.
+     */
+    private Analysis decodeToScratch(WavDecoder decoder, FileChannel scratch) throws IOException {
+        Resampler resampler = new Resampler(decoder.getSampleRate(), sampleRate);
+        float[] decoded = new float[BLOCK_FRAMES];
+        float[] resampled = new float[resampler.maxOutputFrames(BLOCK_FRAMES)];
+        ByteBuffer buffer = ByteBuffer.allocate(resampled.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        Analysis analysis = new Analysis();
+        double frameEnergy = 0;
+        int frameFill = 0;
+        long position = 0;
+        int frames;
+        while ((frames = decoder.read(decoded)) != -1) {
+            int count = resampler.process(decoded, frames, resampled);
+            buffer.clear();
+            for (int i = 0; i < count; i++) {
+                float sample = resampled[i];
+                buffer.putFloat(sample);
+                analysis.peak = Math.max(analysis.peak, Math.abs(sample));
+                frameEnergy += sample * sample;
+                if (++frameFill == analysisFrame) {
+                    analysis.closeFrame(position + i + 1 - frameFill, frameFill, frameEnergy, silenceThreshold);
+                    frameEnergy = 0;
+                    frameFill = 0;
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                scratch.write(buffer);
+            }
+            position += count;
+        }
+        if (frameFill > 0) {
+            analysis.closeFrame(position - frameFill, frameFill, frameEnergy, silenceThreshold);
+        }
+        return analysis;
+    }
+
+    private void writeCanonical(FileChannel scratch, long start, long samples, float gain, Path target,
+                                MessageDigest digest) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(BLOCK_FRAMES * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer out = ByteBuffer.allocate(BLOCK_FRAMES * OUTPUT_BYTES_PER_SAMPLE).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel output = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(output, header(samples), digest);
+            long offset = start * Float.BYTES;
+            long end = (start + samples) * Float.BYTES;
+            while (offset < end) {
+                in.clear();
+                in.limit((int) Math.min(in.capacity(), end - offset));
+                while (in.hasRemaining()) {
+                    int read = scratch.read(in, offset + in.position());
+                    if (read == -1) {
+                        throw new IOException("Scratch file ended before sample " + samples);
+                    }
+                }
+                offset += in.limit();
+                in.flip();
+                out.clear();
+                while (in.hasRemaining()) {
+                    float scaled = Math.max(-1f, Math.min(1f, in.getFloat() * gain));
+                    out.putShort((short) Math.round(scaled * Short.MAX_VALUE));
+                }
+                out.flip();
+                writeFully(output, out, digest);
+            }
+        }
+    }
+
+    private ByteBuffer header(long samples) {
+        long dataBytes = samples * OUTPUT_BYTES_PER_SAMPLE;
+        if (dataBytes > 0xFFFFFFFFL - WAV_HEADER_BYTES) {
+            throw new IllegalArgumentException("Voice sample is too long");
+        }
+        ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put((byte) 'R').put((byte) 'I').put((byte) 'F').put((byte) 'F');
+        header.putInt((int) (dataBytes + WAV_HEADER_BYTES - 8));
+        header.put((byte) 'W').put((byte) 'A').put((byte) 'V').put((byte) 'E');
+        header.put((byte) 'f').put((byte) 'm').put((byte) 't').put((byte) ' ');
+        header.putInt(16);
+        header.putShort((short) 1);
+        header.putShort((short) 1);
+        header.putInt(sampleRate);
+        header.putInt(sampleRate * OUTPUT_BYTES_PER_SAMPLE);
+        header.putShort((short) OUTPUT_BYTES_PER_SAMPLE);
+        header.putShort((short) (OUTPUT_BYTES_PER_SAMPLE * 8));
+        header.put((byte) 'd').put((byte) 'a').put((byte) 't').put((byte) 'a');
+        header.putInt((int) dataBytes);
+        return header.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, MessageDigest digest) throws IOException {
+        if (digest != null) {
+            digest.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class Analysis {
+
+        private long speechStart = -1;
+        private long speechEnd;
+        private double speechEnergy;
+        private long speechSamples;
+        private float peak;
+
+        private void closeFrame(long frameStart, int length, double energy, double threshold) {
+            if (Math.sqrt(energy / length) < threshold) {
+                return;
+            }
+            if (speechStart < 0) {
+                speechStart = frameStart;
+            }
+            speechEnd = frameStart + length;
+            speechEnergy += energy;
+            speechSamples += length;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ai.virtualpresenter.audio;
+
+/**
+ * Streaming mono sample-rate converter using linear interpolation. When downsampling, the input first passes
+ * through a fourth-order Butterworth low-pass (two cascaded biquads) at 90% of the output Nyquist frequency
+ * to keep speech harmonics from aliasing back into the band.
+ * <p>
+ * State carries across {@link #process} calls, so a clip can be converted block by block.
+ */
+public class Resampler {
+
+    private final double step;
+    private final boolean passThrough;
+    private final Biquad[] antiAlias;
+    private double position = 1.0;
+    private float previous;
+
+    public Resampler(int inputRate, int outputRate) {
+        this.step = (double) inputRate / outputRate;
+        this.passThrough = inputRate == outputRate;
+        if (inputRate > outputRate) {
+            double cutoff = 0.45 * outputRate;
+            this.antiAlias = new Biquad[]{
+                    Biquad.lowPass(inputRate, cutoff, 0.5412),
+                    Biquad.lowPass(inputRate, cutoff, 1.3066)
+            };
+        } else {
+            this.antiAlias = new Biquad[0];
+        }
+    }
+
+    /**
+     * Upper bound on the frames {@link #process} can emit for {@code inputFrames} input frames.
+     */
+    public int maxOutputFrames(int inputFrames) {
+        return (int) Math.ceil(inputFrames / step) + 1;
+    }
+
+    /**
+     * Converts {@code count} samples of {@code in}, filtering them in place, and writes the result to {@code out}.
+     *
+     * @return the number of samples written
+     */
+    public int process(float[] in, int count, float[] out) {
+        if (passThrough) {
+            System.arraycopy(in, 0, out, 0, count);
+            return count;
+        }
+        for (Biquad filter : antiAlias) {
+            filter.apply(in, count);
+        }
+        int written = 0;
+        // Index 0 is the last sample of the previous block; index i > 0 is in[i - 1].
+        while (position < count) {
+            int index = (int) position;
+            float fraction = (float) (position - index);
+            float left = index == 0 ? previous : in[index - 1];
+            float right = in[index];
+            out[written++] = left + (right - left) * fraction;
+            position += step;
+        }
+        position -= count;
+        if (count > 0) {
+            previous = in[count - 1];
+        }
+        return written;
+    }
+
+    private static final class Biquad {
+
+        private final float b0;
+        private final float b1;
+        private final float b2;
+        private final float a1;
+        private final float a2;
+        private float z1;
+        private float z2;
+
+        private Biquad(double b0, double b1, double b2, double a0, double a1, double a2) {
+            this.b0 = (float) (b0 / a0);
+            this.b1 = (float) (b1 / a0);
+            this.b2 = (float) (b2 / a0);
+            this.a1 = (float) (a1 / a0);
+            this.a2 = (float) (a2 / a0);
+        }
+
+        private static Biquad lowPass(int sampleRate, double cutoff, double q) {
+            double omega = 2 * Math.PI * cutoff / sampleRate;
+            double alpha = Math.sin(omega) / (2 * q);
+            double cos = Math.cos(omega);
+            return new Biquad((1 - cos) / 2, 1 - cos, (1 - cos) / 2, 1 + alpha, -2 * cos, 1 - alpha);
+        }
+
+        /**
+         * Transposed direct form II, in place.
+         */
+        private void apply(float[] samples, int count) {
+            for (int i = 0; i < count; i++) {
+                float x = samples[i];
+                float y = b0 * x + z1;
+                z1 = b1 * x - a1 * y + z2;
+                z2 = b2 * x - a2 * y;
+                samples[i] = y;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.ai.virtualpresenter.audio;
+
+import java.io.IOException;
+
+public class UnsupportedAudioFormatException extends IOException {
+
+    public UnsupportedAudioFormatException(String message) {
+        super(message);
+    }
+}
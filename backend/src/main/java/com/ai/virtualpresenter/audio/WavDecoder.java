@@ -0,0 +1,167 @@
+package com.ai.virtualpresenter.audio;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming decoder for RIFF/WAVE PCM. Reads integer PCM (8, 16, 24 and 32 bit) and 32-bit IEEE float,
+ * including {@code WAVE_FORMAT_EXTENSIBLE} headers, and delivers mono samples in {@code [-1, 1]}.
+ * <p>
+ * Only one frame block is buffered at a time, so memory use does not grow with clip length.
+ */
+public class WavDecoder {
+
+    private static final int FORMAT_PCM = 1;
+    private static final int FORMAT_IEEE_FLOAT = 3;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+    private static final long UNKNOWN_LENGTH = 0xFFFFFFFFL;
+    private static final int MAX_FMT_BYTES = 1024;
+
+    private final InputStream input;
+    private final int sampleRate;
+    private final int channels;
+    private final int bytesPerSample;
+    private final boolean floatingPoint;
+    private final int blockAlign;
+    private long remainingBytes;
+    private byte[] block = new byte[0];
+
+    public WavDecoder(InputStream input) throws IOException {
+        this.input = input;
+        byte[] header = readFully(12);
+        if (!isWav(header)) {
+            throw new UnsupportedAudioFormatException("Not a RIFF/WAVE stream");
+        }
+        int format = -1;
+        int channelCount = 0;
+        int rate = 0;
+        int bits = 0;
+        while (true) {
+            byte[] chunkHeader = readFully(8);
+            String id = new String(chunkHeader, 0, 4, StandardCharsets.US_ASCII);
+            long size = uint32(chunkHeader, 4);
+            if (id.equals("fmt ")) {
+                if (size < 16 || size > MAX_FMT_BYTES) {
+                    throw new UnsupportedAudioFormatException("Invalid WAV fmt chunk of " + size + " bytes");
+                }
+                byte[] fmt = readFully((int) size);
+                format = uint16(fmt, 0);
+                channelCount = uint16(fmt, 2);
+                rate = (int) uint32(fmt, 4);
+                bits = uint16(fmt, 14);
+                if (format == FORMAT_EXTENSIBLE && size >= 26) {
+                    format = uint16(fmt, 24);
+                }
+                skip(size & 1);
+            } else if (id.equals("data")) {
+                if (format < 0) {
+                    throw new UnsupportedAudioFormatException("WAV data chunk precedes its fmt chunk");
+                }
+                remainingBytes = size == 0 || size == UNKNOWN_LENGTH ? Long.MAX_VALUE : size;
+                break;
+            } else {
+                skip(size + (size & 1));
+            }
+        }
+        if (format == FORMAT_PCM && (bits == 8 || bits == 16 || bits == 24 || bits == 32)) {
+            this.floatingPoint = false;
+        } else if (format == FORMAT_IEEE_FLOAT && bits == 32) {
+            this.floatingPoint = true;
+        } else {
+            throw new UnsupportedAudioFormatException("Unsupported WAV encoding " + format + " at " + bits + " bits");
+        }
+        if (channelCount <= 0 || rate <= 0) {
+            throw new UnsupportedAudioFormatException("Invalid WAV header: " + channelCount + " channels at " + rate + " Hz");
+        }
+        this.sampleRate = rate;
+        this.channels = channelCount;
+        this.bytesPerSample = bits / 8;
+        this.blockAlign = channelCount * bytesPerSample;
+    }
+
+    /**
+     * Returns whether {@code header} starts with a RIFF/WAVE signature. Needs at least 12 bytes.
+     */
+    public static boolean isWav(byte[] header) {
+        return header.length >= 12
+                && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'A' && header[10] == 'V' && header[11] == 'E';
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    /**
+     * Decodes up to {@code out.length} frames, averaging all channels into one sample per frame.
+     *
+     * @return the number of frames decoded, or {@code -1} at the end of the data chunk
+     */
+    public int read(float[] out) throws IOException {
+        int wanted = (int) Math.min((long) out.length * blockAlign, remainingBytes);
+        if (block.length < wanted) {
+            block = new byte[wanted];
+        }
+        int read = input.readNBytes(block, 0, wanted);
+        int frames = read / blockAlign;
+        if (frames == 0) {
+            remainingBytes = 0;
+            return -1;
+        }
+        remainingBytes -= read;
+        float channelScale = 1f / channels;
+        int offset = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            float sum = 0;
+            for (int channel = 0; channel < channels; channel++) {
+                sum += sample(offset);
+                offset += bytesPerSample;
+            }
+            out[frame] = sum * channelScale;
+        }
+        return frames;
+    }
+
+    private float sample(int offset) {
+        if (floatingPoint) {
+            return Float.intBitsToFloat((int) uint32(block, offset));
+        }
+        return switch (bytesPerSample) {
+            case 1 -> ((block[offset] & 0xFF) - 128) / 128f;
+            case 2 -> (short) uint16(block, offset) / 32768f;
+            case 3 -> ((block[offset] & 0xFF) | (block[offset + 1] & 0xFF) << 8 | block[offset + 2] << 16) / 8388608f;
+            default -> (int) uint32(block, offset) / 2147483648f;
+        };
+    }
+
+    private byte[] readFully(int length) throws IOException {
+        byte[] bytes = input.readNBytes(length);
+        if (bytes.length < length) {
+            throw new UnsupportedAudioFormatException("Truncated WAV header");
+        }
+        return bytes;
+    }
+
+    private void skip(long length) throws IOException {
+        try {
+            input.skipNBytes(length);
+        } catch (EOFException ex) {
+            throw new UnsupportedAudioFormatException("Truncated WAV header");
+        }
+    }
+
+    private static int uint16(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+    }
+
+    private static long uint32(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFFL) | (bytes[offset + 1] & 0xFFL) << 8
+                | (bytes[offset + 2] & 0xFFL) << 16 | (bytes[offset + 3] & 0xFFL) << 24;
+    }
+}
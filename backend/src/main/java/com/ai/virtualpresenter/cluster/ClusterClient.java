@@ -0,0 +1,86 @@
+package com.ai.virtualpresenter.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Calls peers on behalf of this node. Every request carries {@link OwnerRoutingFilter#FORWARDED_BY}, so the peer
+ * answers from its own store instead of routing or fanning the request out again.
+ */
+@Component
+public class ClusterClient {
+
+    private final ClusterRouter router;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    public ClusterClient(ClusterRouter router,
+                         ObjectMapper objectMapper,
+                         @Value("${virtual-presenter.cluster.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                         @Value("${virtual-presenter.cluster.request-timeout-ms:5000}") long requestTimeoutMillis) {
+        this.router = router;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+    }
+
+    public <T> CompletableFuture<T> get(ClusterNode node, String pathAndQuery, Class<T> type) {
+        return exchange(node, request(node, pathAndQuery).timeout(requestTimeout).GET(), type);
+    }
+
+    public <T> CompletableFuture<T> post(ClusterNode node, String path, Object body, Class<T> type) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return exchange(node, request(node, path)
+                .timeout(requestTimeout)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json)), type);
+    }
+
+    HttpRequest.Builder request(ClusterNode node, String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(node.url() + pathAndQuery))
+                .header(OwnerRoutingFilter.FORWARDED_BY, router.self().id());
+    }
+
+    HttpClient httpClient() {
+        return httpClient;
+    }
+
+    private <T> CompletableFuture<T> exchange(ClusterNode node, HttpRequest.Builder request, Class<T> type) {
+        HttpRequest built = request.header("Accept", MediaType.APPLICATION_JSON_VALUE).build();
+        return httpClient.sendAsync(built, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw new NodeUnavailableException(node, "did not answer " + built.uri(), error);
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        throw new NodeUnavailableException(node,
+                                "answered " + response.statusCode() + " to " + built.uri(), null);
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), type);
+                    } catch (IOException ex) {
+                        throw new NodeUnavailableException(node, "sent an unreadable answer to " + built.uri(), ex);
+                    }
+                });
+    }
+}
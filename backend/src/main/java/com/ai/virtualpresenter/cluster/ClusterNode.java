@@ -0,0 +1,7 @@
+package com.ai.virtualpresenter.cluster;
+
+public record ClusterNode(
+        String id,
+        String url
+) {
+}
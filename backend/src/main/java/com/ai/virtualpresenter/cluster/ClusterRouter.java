@@ -0,0 +1,74 @@
+package com.ai.virtualpresenter.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Places jobs, voices and upload sessions on a consistent-hash ring by id. Ids are minted to hash to the node
+ * creating them ({@link #newLocalId(String)}), so the node holding a resource is always its owner.
+ */
+@Component
+public class ClusterRouter {
+
+    private final ClusterNode self;
+    private final List<ClusterNode> nodes;
+    private final HashRing ring;
+
+    public ClusterRouter(@Value("${virtual-presenter.cluster.node-id:local}") String nodeId,
+                         @Value("${virtual-presenter.cluster.nodes:}") List<String> nodes,
+                         @Value("${virtual-presenter.cluster.virtual-nodes:128}") int virtualNodes) {
+        List<ClusterNode> members = new ArrayList<>();
+        for (String entry : nodes) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected id=url in virtual-presenter.cluster.nodes: " + entry);
+            }
+            members.add(new ClusterNode(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim()));
+        }
+        if (members.isEmpty()) {
+            members.add(new ClusterNode(nodeId, null));
+        }
+        this.self = members.stream()
+                .filter(node -> node.id().equals(nodeId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Node " + nodeId + " is not listed in virtual-presenter.cluster.nodes"));
+        this.nodes = List.copyOf(members);
+        this.ring = new HashRing(this.nodes, virtualNodes);
+    }
+
+    public ClusterNode self() {
+        return self;
+    }
+
+    public List<ClusterNode> peers() {
+        return nodes.stream().filter(node -> !node.equals(self)).toList();
+    }
+
+    public boolean isClustered() {
+        return nodes.size() > 1;
+    }
+
+    public ClusterNode ownerOf(String id) {
+        return ring.ownerOf(id);
+    }
+
+    public boolean isLocal(String id) {
+        return ownerOf(id).equals(self);
+    }
+
+    public String newLocalId(String prefix) {
+        String id;
+        do {
+            id = prefix + UUID.randomUUID();
+        } while (!isLocal(id));
+        return id;
+    }
+}
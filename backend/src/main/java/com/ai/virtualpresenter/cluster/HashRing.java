@@ -0,0 +1,34 @@
+package com.ai.virtualpresenter.cluster;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public final class HashRing {
+
+    private final NavigableMap<Long, ClusterNode> points = new TreeMap<>();
+
+    public HashRing(List<ClusterNode> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        for (ClusterNode node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(node.id() + "#" + i), node);
+            }
+        }
+    }
+
+    public ClusterNode ownerOf(String key) {
+        Map.Entry<Long, ClusterNode> point = points.ceilingEntry(hash(key));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    private static long hash(String key) {
+        return ByteBuffer.wrap(DigestUtils.md5(key)).getLong();
+    }
+}
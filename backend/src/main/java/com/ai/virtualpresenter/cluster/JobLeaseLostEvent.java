@@ -0,0 +1,7 @@
+package com.ai.virtualpresenter.cluster;
+
+/**
+ * Published when another node has taken over a lease this node held.
+ */
+public record JobLeaseLostEvent(String jobId) {
+}
@@ -0,0 +1,15 @@
+package com.ai.virtualpresenter.cluster;
+
+/**
+ * Exclusive, expiring claims on jobs, so that at most one node runs a job at a time, e.g. while an old and a new
+ * instance of a node overlap during a deploy and both try to resume the same unfinished jobs.
+ */
+public interface JobLeases {
+
+    /**
+     * @return {@code false} if the job is already claimed, by this node or another
+     */
+    boolean acquire(String jobId);
+
+    void release(String jobId);
+}
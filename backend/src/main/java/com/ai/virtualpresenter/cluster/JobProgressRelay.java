@@ -0,0 +1,252 @@
+package com.ai.virtualpresenter.cluster;
+
+import com.ai.virtualpresenter.dto.JobStatusResponse;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.workflow.JobEventStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * While anyone here subscribes to a job owned elsewhere, keeps one SSE stream open to its owner and republishes
+ * each status to local STOMP and {@link JobEventStream} subscribers.
+ */
+@Component
+public class JobProgressRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(JobProgressRelay.class);
+    private static final Pattern JOB_TOPIC = Pattern.compile("/topic/jobs/([^/]+)");
+    private static final String DATA = "data:";
+
+    private final ClusterRouter router;
+    private final ClusterClient client;
+    private final ObjectMapper objectMapper;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final JobEventStream eventStream;
+    private final long reconnectMillis;
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> stompSubscriptions = new ConcurrentHashMap<>();
+
+    public JobProgressRelay(ClusterRouter router,
+                            ClusterClient client,
+                            ObjectMapper objectMapper,
+                            SimpMessagingTemplate messagingTemplate,
+                            JobEventStream eventStream,
+                            @Value("${virtual-presenter.cluster.relay-reconnect-ms:1000}") long reconnectMillis) {
+        this.router = router;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.messagingTemplate = messagingTemplate;
+        this.eventStream = eventStream;
+        this.reconnectMillis = reconnectMillis;
+    }
+
+    /**
+     * Each call must be paired with a {@link #release(String)}.
+     */
+    public void acquire(String jobId) {
+        boolean[] created = new boolean[1];
+        Upstream upstream = upstreams.compute(jobId, (id, existing) -> {
+            if (existing == null) {
+                existing = new Upstream(id);
+                created[0] = true;
+            }
+            existing.references++;
+            return existing;
+        });
+        if (created[0]) {
+            upstream.connect();
+        }
+    }
+
+    public void release(String jobId) {
+        upstreams.computeIfPresent(jobId, (id, upstream) -> {
+            if (--upstream.references > 0) {
+                return upstream;
+            }
+            upstream.close();
+            return null;
+        });
+    }
+
+    /**
+     * The last status relayed for {@code jobId}, or {@code null} before its owner has sent one.
+     */
+    public JobStatusResponse latest(String jobId) {
+        Upstream upstream = upstreams.get(jobId);
+        return upstream == null ? null : upstream.latest;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        String jobId = remoteJobOf(headers.getDestination());
+        if (jobId == null || headers.getSessionId() == null || headers.getSubscriptionId() == null) {
+            return;
+        }
+        String previous = stompSubscriptions.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), jobId);
+        acquire(jobId);
+        if (previous != null) {
+            release(previous);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = headers.getSessionId() == null
+                ? null : stompSubscriptions.get(headers.getSessionId());
+        String jobId = subscriptions == null || headers.getSubscriptionId() == null
+                ? null : subscriptions.remove(headers.getSubscriptionId());
+        if (jobId != null) {
+            release(jobId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = stompSubscriptions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private String remoteJobOf(String destination) {
+        if (destination == null || !router.isClustered()) {
+            return null;
+        }
+        Matcher matcher = JOB_TOPIC.matcher(destination);
+        return matcher.matches() && !router.isLocal(matcher.group(1)) ? matcher.group(1) : null;
+    }
+
+    private final class Upstream {
+
+        private final String jobId;
+        private int references;
+        private volatile JobStatusResponse latest;
+        private volatile boolean closed;
+        private volatile Flow.Subscription subscription;
+
+        Upstream(String jobId) {
+            this.jobId = jobId;
+        }
+
+        void connect() {
+            if (closed) {
+                return;
+            }
+            ClusterNode owner = router.ownerOf(jobId);
+            HttpRequest.Builder request = client.request(owner, "/api/v1/jobs/" + jobId + "/events")
+                    .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE);
+            JobStatusResponse last = latest;
+            if (last != null) {
+                request.header("Last-Event-ID", jobId + ":" + last.version());
+            }
+            client.httpClient()
+                    .sendAsync(request.GET().build(), info -> info.statusCode() == 200
+                            ? HttpResponse.BodySubscribers.fromLineSubscriber(new Lines())
+                            : HttpResponse.BodySubscribers.replacing(null))
+                    .whenComplete((response, error) -> {
+                        if (closed) {
+                            return;
+                        }
+                        if (response != null && response.statusCode() != 200) {
+                            log.warn("Node {} answered {} to the event stream of {}; not relaying it",
+                                    owner.id(), response.statusCode(), jobId);
+                            return;
+                        }
+                        JobStatusResponse seen = latest;
+                        if (seen != null && JobState.valueOf(seen.status()).isTerminal()) {
+                            return;
+                        }
+                        if (error != null) {
+                            log.warn("Lost the event stream of {} from node {}", jobId, owner.id(), error);
+                        }
+                        CompletableFuture.delayedExecutor(reconnectMillis, TimeUnit.MILLISECONDS)
+                                .execute(this::connect);
+                    });
+        }
+
+        void close() {
+            closed = true;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private void relay(String json) {
+            JobStatusResponse status;
+            try {
+                status = objectMapper.readValue(json, JobStatusResponse.class);
+            } catch (IOException ex) {
+                log.warn("Ignoring unreadable status of {} from its owner", jobId, ex);
+                return;
+            }
+            latest = status;
+            messagingTemplate.convertAndSend("/topic/jobs/" + jobId, status);
+            eventStream.publish(status);
+        }
+
+        /**
+         * Reads one connection's SSE frames; each frame carries a single {@code data:} line.
+         */
+        private final class Lines implements Flow.Subscriber<String> {
+
+            private final StringBuilder data = new StringBuilder();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                Upstream.this.subscription = subscription;
+                if (closed) {
+                    subscription.cancel();
+                    return;
+                }
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String line) {
+                if (line.isEmpty()) {
+                    if (!data.isEmpty() && !closed) {
+                        relay(data.toString());
+                    }
+                    data.setLength(0);
+                } else if (line.startsWith(DATA)) {
+                    data.append(line, line.startsWith(DATA + " ") ? DATA.length() + 1 : DATA.length(), line.length());
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                // Reported through the response future.
+            }
+
+            @Override
+            public void onComplete() {
+                // Reported through the response future.
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ai.virtualpresenter.cluster;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process {@link JobLeases} for the in-memory store, where no other node can see, and so run, this node's jobs.
+ */
+@Component
+@Profile("!redis")
+public class LocalJobLeases implements JobLeases {
+
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean acquire(String jobId) {
+        return held.add(jobId);
+    }
+
+    @Override
+    public void release(String jobId) {
+        held.remove(jobId);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ai.virtualpresenter.cluster;
+
+public class NodeUnavailableException extends RuntimeException {
+
+    public NodeUnavailableException(ClusterNode node, String message, Throwable cause) {
+        super("Node " + node.id() + " " + message, cause);
+    }
+}
@@ -0,0 +1,361 @@
+package com.ai.virtualpresenter.cluster;
+
+import com.ai.virtualpresenter.store.JobStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Forwards requests about a job, voice or upload session to its owner and relays the answer without blocking,
+ * so a long stream holds no thread. Story submissions go to the owner of their voice; requests spanning several
+ * owners are fanned out by {@code JobController}.
+ */
+@Component
+public class OwnerRoutingFilter extends OncePerRequestFilter {
+
+    public static final String FORWARDED_BY = "X-Presenter-Forwarded-By";
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerRoutingFilter.class);
+    private static final List<Pattern> OWNED_PATHS = List.of(
+            Pattern.compile("/api/v1/jobs/(?!events$|status:batch$)([^/]+)(/events)?"),
+            Pattern.compile("/api/v1/voices/uploads/([^/]+)(/complete)?"),
+            Pattern.compile("/api/v1/voices/(?!uploads$)([^/]+)/similar"));
+    private static final Pattern JOB_STATUS_PATH = Pattern.compile("/api/v1/jobs/(?!events$|status:batch$)[^/]+");
+    private static final String STORIES_PATH = "/api/v1/stories";
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "content-length", "expect", "host", "keep-alive", "transfer-encoding", "upgrade");
+
+    private final ClusterRouter router;
+    private final ClusterClient client;
+    private final ObjectMapper objectMapper;
+    private final JobStore jobStore;
+    private final long timeoutMillis;
+
+    public OwnerRoutingFilter(ClusterRouter router,
+                              ClusterClient client,
+                              ObjectMapper objectMapper,
+                              JobStore jobStore,
+                              @Value("${virtual-presenter.sse.timeout-ms:1800000}") long streamTimeoutMillis,
+                              @Value("${virtual-presenter.cluster.connect-timeout-ms:2000}") long connectTimeoutMillis) {
+        this.router = router;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.jobStore = jobStore;
+        // The owner ends its streams itself; this only bounds a peer that stops answering mid-stream.
+        this.timeoutMillis = streamTimeoutMillis + connectTimeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // A forwarded request is always served where it lands, even if the nodes disagree on the membership.
+        return !router.isClustered() || request.getHeader(FORWARDED_BY) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        byte[] body = null;
+        String ownedId = null;
+        if (STORIES_PATH.equals(path) && "POST".equals(request.getMethod())) {
+            body = request.getInputStream().readAllBytes();
+            ownedId = voiceIdOf(body);
+            request = new CachedBodyRequest(request, body);
+        } else {
+            for (Pattern pattern : OWNED_PATHS) {
+                Matcher matcher = pattern.matcher(path);
+                if (matcher.matches()) {
+                    ownedId = matcher.group(1);
+                    break;
+                }
+            }
+        }
+        if (ownedId == null || router.isLocal(ownedId)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean storedHere = jobStore.isShared() && "GET".equals(request.getMethod())
+                && JOB_STATUS_PATH.matcher(path).matches();
+        forward(router.ownerOf(ownedId), request, body, response, storedHere);
+    }
+
+    private String voiceIdOf(byte[] body) {
+        try {
+            return objectMapper.readTree(body).path("voiceId").textValue();
+        } catch (IOException ex) {
+            // Not JSON; let validation reject it locally.
+            return null;
+        }
+    }
+
+    private void forward(ClusterNode owner, HttpServletRequest request, byte[] body, HttpServletResponse response,
+                         boolean storedHere) {
+        String query = request.getQueryString();
+        String pathAndQuery = request.getRequestURI() + (query == null ? "" : "?" + query);
+        HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofByteArray(body)
+                : request.getContentLengthLong() > 0 || request.getHeader("Transfer-Encoding") != null
+                ? HttpRequest.BodyPublishers.ofInputStream(() -> inputStream(request))
+                : HttpRequest.BodyPublishers.noBody();
+        HttpRequest.Builder forwarded = client.request(owner, pathAndQuery).method(request.getMethod(), publisher);
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!HOP_BY_HOP.contains(name.toLowerCase())) {
+                for (String value : Collections.list(request.getHeaders(name))) {
+                    forwarded.header(name, value);
+                }
+            }
+        }
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(timeoutMillis);
+        client.httpClient().sendAsync(forwarded.build(), HttpResponse.BodyHandlers.ofPublisher())
+                .whenComplete((answer, error) -> {
+                    if (error != null && storedHere) {
+                        log.warn("Failed to reach node {} for {} {}, answering from the shared store",
+                                owner.id(), request.getMethod(), pathAndQuery, error);
+                        // Async dispatches skip this filter, so the request is served by the local controller.
+                        async.dispatch();
+                        return;
+                    }
+                    if (error != null) {
+                        log.warn("Failed to reach node {} for {} {}",
+                                owner.id(), request.getMethod(), pathAndQuery, error);
+                        unavailable(owner, response);
+                        async.complete();
+                        return;
+                    }
+                    response.setStatus(answer.statusCode());
+                    answer.headers().map().forEach((name, values) -> {
+                        if (!HOP_BY_HOP.contains(name.toLowerCase()) && !name.startsWith(":")) {
+                            values.forEach(value -> response.addHeader(name, value));
+                        }
+                    });
+                    answer.body().subscribe(new Relay(async));
+                });
+    }
+
+    private static InputStream inputStream(HttpServletRequest request) {
+        try {
+            return request.getInputStream();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void unavailable(ClusterNode owner, HttpServletResponse response) {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        try {
+            response.getWriter().write("Node " + owner.id() + " owning this resource is unavailable");
+        } catch (IOException ex) {
+            log.debug("Client left before the unavailable answer was written", ex);
+        }
+    }
+
+    /**
+     * Requests a chunk from the owner only once the previous one has been written and flushed, so a slow client
+     * slows the owner down instead of filling memory.
+     */
+    private static final class Relay implements Flow.Subscriber<List<ByteBuffer>>, WriteListener, AsyncListener {
+
+        private final AsyncContext async;
+        private final Deque<ByteBuffer> pending = new ArrayDeque<>();
+        private ServletOutputStream out;
+        private Flow.Subscription subscription;
+        private boolean requested;
+        private boolean upstreamDone;
+        private boolean closed;
+
+        Relay(AsyncContext async) {
+            this.async = async;
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            async.addListener(this);
+            try {
+                out = async.getResponse().getOutputStream();
+            } catch (IOException ex) {
+                close();
+                return;
+            }
+            // The container calls onWritePossible as soon as the response can take data.
+            out.setWriteListener(this);
+        }
+
+        @Override
+        public synchronized void onNext(List<ByteBuffer> buffers) {
+            // The response is recycled once the request completes, so nothing may touch it after close().
+            if (closed) {
+                return;
+            }
+            requested = false;
+            pending.addAll(buffers);
+            if (out.isReady()) {
+                drain();
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            upstreamDone = true;
+            if (!closed && out.isReady()) {
+                drain();
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            log.debug("Relaying an owner's response failed", throwable);
+            close();
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public synchronized void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public synchronized void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        /**
+         * Writes while the client keeps up, then flushes and asks the owner for more. Must run while
+         * {@link ServletOutputStream#isReady()} is true.
+         */
+        private void drain() {
+            if (closed) {
+                return;
+            }
+            try {
+                while (!pending.isEmpty()) {
+                    ByteBuffer buffer = pending.poll();
+                    byte[] bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                    out.write(bytes);
+                    if (!out.isReady()) {
+                        return;
+                    }
+                }
+                if (upstreamDone) {
+                    close();
+                    return;
+                }
+                out.flush();
+                if (out.isReady() && !requested) {
+                    requested = true;
+                    subscription.request(1);
+                }
+            } catch (IOException ex) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (subscription != null && !upstreamDone) {
+                subscription.cancel();
+            }
+            async.complete();
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.ai.virtualpresenter.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link JobLeases} as Redis keys holding the holder's node id with a TTL, renewed while held. A lapsed lease
+ * nobody claimed is taken back on renewal; only one another node holds raises a {@link JobLeaseLostEvent}.
+ */
+@Component
+@Profile("redis")
+public class RedisJobLeases implements JobLeases {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisJobLeases.class);
+
+    private static final long RENEWED = 1;
+    private static final long REACQUIRED = 2;
+    private static final RedisScript<Long> RENEW = new DefaultRedisScript<>(
+            "local holder = redis.call('get', KEYS[1]) "
+                    + "if holder == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) end "
+                    + "if not holder then redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]) return 2 end "
+                    + "return 0",
+            Long.class);
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String nodeId;
+    private final Duration ttl;
+    private final Counter lost;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    public RedisJobLeases(StringRedisTemplate redisTemplate,
+                          @Value("${virtual-presenter.jobs.redis.key-prefix:vp:job:}") String keyPrefix,
+                          ClusterRouter router,
+                          @Value("${virtual-presenter.cluster.lease-ttl-ms:30000}") long ttlMillis,
+                          ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix + "lease:";
+        this.nodeId = router.self().id();
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.eventPublisher = eventPublisher;
+        this.lost = Counter.builder("cluster.leases.lost")
+                .description("Job leases taken over by another node before their holder released them")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean acquire(String jobId) {
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(keyPrefix + jobId, nodeId, ttl))) {
+            return false;
+        }
+        held.add(jobId);
+        return true;
+    }
+
+    @Override
+    public void release(String jobId) {
+        if (held.remove(jobId)) {
+            redisTemplate.execute(RELEASE, List.of(keyPrefix + jobId), nodeId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${virtual-presenter.cluster.lease-renew-interval-ms:10000}")
+    public void renew() {
+        for (String jobId : held) {
+            try {
+                Long renewed = redisTemplate.execute(RENEW, List.of(keyPrefix + jobId), nodeId,
+                        String.valueOf(ttl.toMillis()));
+                if (renewed != null && renewed == REACQUIRED) {
+                    if (!held.contains(jobId)) {
+                        // Released while this tick ran; do not leave the re-created key behind.
+                        redisTemplate.execute(RELEASE, List.of(keyPrefix + jobId), nodeId);
+                    } else {
+                        log.warn("Lease on job {} lapsed before it was renewed; took it back", jobId);
+                    }
+                } else if ((renewed == null || renewed != RENEWED) && held.remove(jobId)) {
+                    lost.increment();
+                    log.warn("Lost the lease on job {}, stopping it here", jobId);
+                    eventPublisher.publishEvent(new JobLeaseLostEvent(jobId));
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Failed to renew the lease on job {}, retrying on next tick", jobId, ex);
+            }
+        }
+    }
+}
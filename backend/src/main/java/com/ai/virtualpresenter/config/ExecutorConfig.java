@@ -0,0 +1,52 @@
+package com.ai.virtualpresenter.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Worker executors for job execution. The scheduler's executor only dispatches; stage workers run the stages.
+ * In {@code VIRTUAL} mode CPU-bound stages are still capped by the pipeline's CPU permits.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    private final ExecutorMode mode;
+
+    public ExecutorConfig(@Value("${virtual-presenter.executor.mode:PLATFORM}") ExecutorMode mode) {
+        this.mode = mode;
+    }
+
+    @Bean(name = "schedulerExecutor")
+    public AsyncTaskExecutor schedulerExecutor(
+            @Value("${virtual-presenter.scheduler.creative-workers:2}") int creativeWorkers,
+            @Value("${virtual-presenter.scheduler.broadcast-workers:2}") int broadcastWorkers) {
+        return workerExecutor(mode, "job-worker-", creativeWorkers + broadcastWorkers);
+    }
+
+    @Bean(name = "stageExecutor")
+    public AsyncTaskExecutor stageExecutor(@Value("${virtual-presenter.pipeline.stage-workers:8}") int stageWorkers) {
+        return workerExecutor(mode, "job-stage-", stageWorkers);
+    }
+
+    /**
+     * Builds an executor for {@code mode}. Platform pools are returned uninitialised so the container drives
+     * their lifecycle; callers outside Spring must call {@link ThreadPoolTaskExecutor#initialize()} themselves.
+     */
+    public static AsyncTaskExecutor workerExecutor(ExecutorMode mode, String threadNamePrefix, int poolSize) {
+        if (mode == ExecutorMode.VIRTUAL) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            executor.setTaskTerminationTimeout(1_000);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
+    }
+}
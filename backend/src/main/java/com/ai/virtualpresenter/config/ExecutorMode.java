@@ -0,0 +1,6 @@
+package com.ai.virtualpresenter.config;
+
+public enum ExecutorMode {
+    PLATFORM,
+    VIRTUAL
+}
@@ -0,0 +1,40 @@
+package com.ai.virtualpresenter.config;
+
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.workflow.SimulatedStage;
+import com.ai.virtualpresenter.workflow.Stage;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+public class PipelineConfig {
+
+    @Bean
+    public Stage preprocessingStage() {
+        return new SimulatedStage(JobState.PREPROCESSING, Set.of(), Duration.ofSeconds(2), false);
+    }
+
+    @Bean
+    public Stage cloningVoiceStage() {
+        return new SimulatedStage(JobState.CLONING_VOICE, Set.of(JobState.PREPROCESSING), Duration.ofSeconds(2), false);
+    }
+
+    @Bean
+    public Stage generatingScriptStage() {
+        return new SimulatedStage(JobState.GENERATING_SCRIPT, Set.of(), Duration.ofSeconds(3), false);
+    }
+
+    @Bean
+    public Stage generatingAssetsStage() {
+        return new SimulatedStage(JobState.GENERATING_ASSETS, Set.of(JobState.GENERATING_SCRIPT), Duration.ofSeconds(4), false);
+    }
+
+    @Bean
+    public Stage renderingStage() {
+        return new SimulatedStage(JobState.RENDERING,
+                Set.of(JobState.CLONING_VOICE, JobState.GENERATING_ASSETS), Duration.ofSeconds(3), true);
+    }
+}
@@ -1,34 +1,332 @@
 package com.ai.virtualpresenter.controller;
 
+import com.ai.virtualpresenter.cluster.ClusterClient;
+import com.ai.virtualpresenter.cluster.ClusterNode;
+import com.ai.virtualpresenter.cluster.ClusterRouter;
+import com.ai.virtualpresenter.cluster.JobProgressRelay;
+import com.ai.virtualpresenter.cluster.NodeUnavailableException;
+import com.ai.virtualpresenter.cluster.OwnerRoutingFilter;
+import com.ai.virtualpresenter.dto.BatchJobStatusRequest;
+import com.ai.virtualpresenter.dto.BatchJobStatusResponse;
+import com.ai.virtualpresenter.dto.JobPageResponse;
 import com.ai.virtualpresenter.dto.JobStatusMapper;
 import com.ai.virtualpresenter.dto.JobStatusResponse;
 import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
 import com.ai.virtualpresenter.service.StoryWorkflowService;
+import com.ai.virtualpresenter.store.JobCursor;
+import com.ai.virtualpresenter.store.JobPage;
+import com.ai.virtualpresenter.store.JobQuery;
+import com.ai.virtualpresenter.workflow.JobEventStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/jobs")
 public class JobController {
 
+    private static final Logger log = LoggerFactory.getLogger(JobController.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_STREAMED_JOBS = 50;
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final String FORWARDED_BY = OwnerRoutingFilter.FORWARDED_BY;
+
     private final StoryWorkflowService storyWorkflowService;
+    private final JobEventStream eventStream;
+    private final ClusterRouter router;
+    private final ClusterClient clusterClient;
+    private final JobProgressRelay progressRelay;
+    private final long maxWaitMillis;
 
-    public JobController(StoryWorkflowService storyWorkflowService) {
+    public JobController(StoryWorkflowService storyWorkflowService,
+                         JobEventStream eventStream,
+                         ClusterRouter router,
+                         ClusterClient clusterClient,
+                         JobProgressRelay progressRelay,
+                         @Value("${virtual-presenter.jobs.long-poll.max-wait-ms:30000}") long maxWaitMillis) {
         this.storyWorkflowService = storyWorkflowService;
+        this.eventStream = eventStream;
+        this.router = router;
+        this.clusterClient = clusterClient;
+        this.progressRelay = progressRelay;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @GetMapping
+    public ResponseEntity<JobPageResponse> listJobs(
+            @RequestParam(required = false) JobState state,
+            @RequestParam(required = false) GenerationMode mode,
+            @RequestParam(required = false) String voiceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader(value = FORWARDED_BY, required = false) String forwardedBy,
+            HttpServletRequest request
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        JobCursor after = cursor == null || cursor.isBlank() ? null : JobCursor.decode(cursor);
+        String pathAndQuery = "/api/v1/jobs" + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        // A shared store already holds every node's jobs.
+        List<CompletableFuture<JobPageResponse>> remote = fansOut(forwardedBy) && !storyWorkflowService.sharesJobs()
+                ? router.peers().stream()
+                        .map(peer -> clusterClient.get(peer, pathAndQuery, JobPageResponse.class))
+                        .toList()
+                : List.of();
+        JobPage page = storyWorkflowService.listJobs(
+                new JobQuery(state, mode, voiceId, createdFrom, createdTo, after, limit));
+        JobPageResponse local = new JobPageResponse(
+                page.jobs().stream().map(JobStatusMapper::fromJob).toList(),
+                page.next() == null ? null : page.next().encode());
+        if (remote.isEmpty()) {
+            return ResponseEntity.ok(local);
+        }
+        List<JobPageResponse> pages = new ArrayList<>();
+        pages.add(local);
+        for (CompletableFuture<JobPageResponse> future : remote) {
+            try {
+                pages.add(join(future));
+            } catch (NodeUnavailableException ex) {
+                log.warn("Leaving a node's jobs out of a listing: {}", ex.getMessage());
+            }
+        }
+        return ResponseEntity.ok(merge(pages, limit));
     }
 
     @GetMapping("/{jobId}")
-    public ResponseEntity<JobStatusResponse> getJob(@PathVariable String jobId) {
+    public DeferredResult<ResponseEntity<JobStatusResponse>> getJob(
+            @PathVariable String jobId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(defaultValue = "0") long waitMs
+    ) {
+        if (waitMs < 0 || waitMs > maxWaitMillis) {
+            throw new IllegalArgumentException("waitMs must be between 0 and " + maxWaitMillis);
+        }
         GenerationJob job = storyWorkflowService.getJob(jobId);
-        return ResponseEntity.ok(JobStatusMapper.fromJob(job));
+        JobStatusResponse status = currentStatus(job);
+        String etag = etag(status);
+        if (waitMs == 0 || !matches(ifNoneMatch, etag) || JobState.valueOf(status.status()).isTerminal()) {
+            DeferredResult<ResponseEntity<JobStatusResponse>> result = new DeferredResult<>();
+            result.setResult(respond(status, ifNoneMatch));
+            return result;
+        }
+        DeferredResult<ResponseEntity<JobStatusResponse>> result =
+                new DeferredResult<>(waitMs, ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+        // Only version changes wake the request; queue position moves alone do not.
+        CompletableFuture<Void> change = storyWorkflowService.awaitJobChange(jobId, status.version());
+        change.thenRun(() -> result.setResult(
+                respond(currentStatus(storyWorkflowService.getJob(jobId)), ifNoneMatch)));
+        result.onCompletion(() -> change.cancel(false));
+        return result;
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<JobStatusResponse> cancelJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(JobStatusMapper.fromJob(storyWorkflowService.cancelJob(jobId)));
+    }
+
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String jobId,
+                                @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId,
+                                @RequestHeader(value = FORWARDED_BY, required = false) String forwardedBy) {
+        return streamJobs(List.of(jobId), lastEventId, forwardedBy);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJobs(@RequestParam("jobId") List<String> jobIds,
+                                 @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId,
+                                 @RequestHeader(value = FORWARDED_BY, required = false) String forwardedBy) {
+        if (jobIds.isEmpty() || jobIds.size() > MAX_STREAMED_JOBS) {
+            throw new IllegalArgumentException("between 1 and " + MAX_STREAMED_JOBS + " jobIds can be streamed at once");
+        }
+        List<String> distinct = jobIds.stream().distinct().toList();
+        Set<String> remote = fansOut(forwardedBy)
+                ? distinct.stream().filter(jobId -> !router.isLocal(jobId)).collect(Collectors.toSet())
+                : Set.of();
+        distinct.stream().filter(jobId -> !remote.contains(jobId)).forEach(storyWorkflowService::getJob);
+        remote.forEach(progressRelay::acquire);
+        return eventStream.subscribe(distinct, lastEventId,
+                jobId -> remote.contains(jobId)
+                        ? progressRelay.latest(jobId)
+                        : currentStatus(storyWorkflowService.getJob(jobId)),
+                () -> remote.forEach(progressRelay::release));
+    }
+
+    @PostMapping("/status:batch")
+    public ResponseEntity<BatchJobStatusResponse> getJobStatuses(
+            @Valid @RequestBody BatchJobStatusRequest request,
+            @RequestHeader(value = FORWARDED_BY, required = false) String forwardedBy) {
+        if (!fansOut(forwardedBy)) {
+            return ResponseEntity.ok(localStatuses(request.jobs()));
+        }
+        Map<ClusterNode, List<BatchJobStatusRequest.Entry>> byOwner = request.jobs().stream()
+                .collect(Collectors.groupingBy(entry -> router.ownerOf(entry.jobId()), LinkedHashMap::new,
+                        Collectors.toList()));
+        Map<ClusterNode, CompletableFuture<BatchJobStatusResponse>> remote = new LinkedHashMap<>();
+        byOwner.forEach((owner, entries) -> {
+            if (!owner.equals(router.self())) {
+                remote.put(owner, clusterClient.post(owner, "/api/v1/jobs/status:batch",
+                        new BatchJobStatusRequest(entries), BatchJobStatusResponse.class));
+            }
+        });
+        BatchJobStatusResponse local = localStatuses(byOwner.getOrDefault(router.self(), List.of()));
+        List<JobStatusResponse> changed = new ArrayList<>(local.jobs());
+        List<String> unknown = new ArrayList<>(local.unknownJobIds());
+        for (Map.Entry<ClusterNode, CompletableFuture<BatchJobStatusResponse>> owner : remote.entrySet()) {
+            BatchJobStatusResponse answer;
+            try {
+                answer = join(owner.getValue());
+            } catch (NodeUnavailableException ex) {
+                if (!storyWorkflowService.sharesJobs()) {
+                    // Left out of both lists, so clients keep polling them.
+                    log.warn("Leaving jobs out of a batch status answer: {}", ex.getMessage());
+                    continue;
+                }
+                log.warn("Answering from the shared store: {}", ex.getMessage());
+                answer = localStatuses(byOwner.get(owner.getKey()));
+            }
+            changed.addAll(answer.jobs());
+            unknown.addAll(answer.unknownJobIds());
+        }
+        return ResponseEntity.ok(new BatchJobStatusResponse(changed, unknown));
+    }
+
+    private BatchJobStatusResponse localStatuses(List<BatchJobStatusRequest.Entry> entries) {
+        Map<String, Long> sinceVersions = new LinkedHashMap<>();
+        for (BatchJobStatusRequest.Entry entry : entries) {
+            sinceVersions.put(entry.jobId(), entry.sinceVersion());
+        }
+        List<GenerationJob> jobs = storyWorkflowService.getJobs(new ArrayList<>(sinceVersions.keySet()));
+        Set<String> known = new HashSet<>();
+        List<JobStatusResponse> changed = new ArrayList<>();
+        for (GenerationJob job : jobs) {
+            known.add(job.getJobId());
+            OptionalInt queuePosition = storyWorkflowService.getQueuePosition(job.getJobId());
+            Long sinceVersion = sinceVersions.get(job.getJobId());
+            if (sinceVersion == null || job.getVersion() > sinceVersion || queuePosition.isPresent()) {
+                changed.add(JobStatusMapper.fromJob(job, queuePosition.isPresent() ? queuePosition.getAsInt() : null));
+            }
+        }
+        List<String> unknown = sinceVersions.keySet().stream().filter(jobId -> !known.contains(jobId)).toList();
+        return new BatchJobStatusResponse(changed, unknown);
+    }
+
+    private boolean fansOut(String forwardedBy) {
+        return router.isClustered() && forwardedBy == null;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof NodeUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw ex;
+        }
+    }
+
+    private static JobPageResponse merge(List<JobPageResponse> pages, int limit) {
+        List<JobStatusResponse> jobs = new ArrayList<>();
+        boolean more = false;
+        for (JobPageResponse page : pages) {
+            jobs.addAll(page.jobs());
+            more |= page.nextCursor() != null;
+        }
+        jobs.sort(Comparator.comparing(JobController::cursorOf, JobCursor.NEWEST_FIRST));
+        // There are more when any node had more or the merged pages overflow the limit.
+        more |= jobs.size() > limit;
+        List<JobStatusResponse> first = List.copyOf(jobs.subList(0, Math.min(limit, jobs.size())));
+        String next = more && !first.isEmpty() ? cursorOf(first.get(first.size() - 1)).encode() : null;
+        return new JobPageResponse(first, next);
+    }
+
+    private static JobCursor cursorOf(JobStatusResponse status) {
+        return new JobCursor(status.createdAt().truncatedTo(ChronoUnit.MILLIS), status.jobId());
+    }
+
+    private JobStatusResponse currentStatus(GenerationJob job) {
+        OptionalInt queuePosition = storyWorkflowService.getQueuePosition(job.getJobId());
+        return JobStatusMapper.fromJob(job, queuePosition.isPresent() ? queuePosition.getAsInt() : null);
+    }
+
+    private static ResponseEntity<JobStatusResponse> respond(JobStatusResponse status, String ifNoneMatch) {
+        String etag = etag(status);
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(status);
+    }
+
+    private static String etag(JobStatusResponse status) {
+        return "\"" + status.version() + (status.queuePosition() == null ? "" : "-q" + status.queuePosition()) + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException exception) {
         return ResponseEntity.badRequest().body(exception.getMessage());
     }
+
+    @ExceptionHandler(NodeUnavailableException.class)
+    public ResponseEntity<String> handleUnavailable(NodeUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(exception.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleConflict(IllegalStateException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
+    }
 }
@@ -4,7 +4,10 @@ import com.ai.virtualpresenter.dto.StorySubmissionRequest;
 import com.ai.virtualpresenter.dto.StorySubmissionResponse;
 import com.ai.virtualpresenter.model.GenerationJob;
 import com.ai.virtualpresenter.service.StoryWorkflowService;
+import com.ai.virtualpresenter.workflow.JobQueueFullException;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -32,4 +35,11 @@ public class StoryController {
     public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException exception) {
         return ResponseEntity.badRequest().body(exception.getMessage());
     }
+
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<String> handleQueueFull(JobQueueFullException exception) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(exception.getRetryAfter().toSeconds()))
+                .body(exception.getMessage());
+    }
 }
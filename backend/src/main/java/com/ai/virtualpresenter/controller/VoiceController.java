@@ -1,29 +1,56 @@
 package com.ai.virtualpresenter.controller;
 
+import com.ai.virtualpresenter.dto.SimilarVoiceResponse;
+import com.ai.virtualpresenter.dto.UploadSessionRequest;
+import com.ai.virtualpresenter.dto.UploadSessionResponse;
 import com.ai.virtualpresenter.dto.VoiceCloneResponse;
+import com.ai.virtualpresenter.model.UploadSession;
 import com.ai.virtualpresenter.model.VoiceProfile;
 import com.ai.virtualpresenter.service.VoiceCloneService;
+import com.ai.virtualpresenter.service.VoiceSimilarityService;
+import com.ai.virtualpresenter.service.VoiceUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/v1/voices")
 @Validated
 public class VoiceController {
 
+    private static final int MAX_SIMILAR_VOICES = 50;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
     private final VoiceCloneService voiceCloneService;
+    private final VoiceUploadService voiceUploadService;
+    private final VoiceSimilarityService voiceSimilarityService;
 
-    public VoiceController(VoiceCloneService voiceCloneService) {
+    public VoiceController(VoiceCloneService voiceCloneService,
+                           VoiceUploadService voiceUploadService,
+                           VoiceSimilarityService voiceSimilarityService) {
         this.voiceCloneService = voiceCloneService;
+        this.voiceUploadService = voiceUploadService;
+        this.voiceSimilarityService = voiceSimilarityService;
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -38,13 +65,82 @@ public class VoiceController {
         return ResponseEntity.ok(new VoiceCloneResponse(profile.voiceId(), profile.label()));
     }
 
+    @GetMapping("/{voiceId}/similar")
+    public List<SimilarVoiceResponse> findSimilar(
+            @PathVariable String voiceId,
+            @RequestParam(value = "limit", defaultValue = "5") int limit
+    ) {
+        if (limit < 1 || limit > MAX_SIMILAR_VOICES) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SIMILAR_VOICES);
+        }
+        return voiceSimilarityService.findSimilar(voiceId, limit).stream()
+                .map(match -> new SimilarVoiceResponse(match.voice().voiceId(), match.voice().label(), match.similarity()))
+                .toList();
+    }
+
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadSessionResponse> createUpload(@Valid @RequestBody UploadSessionRequest request)
+            throws IOException {
+        UploadSession session = voiceUploadService.createSession(request.fileName(), request.sizeBytes(), request.label());
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(session));
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionResponse> getUpload(@PathVariable String uploadId) {
+        return ResponseEntity.ok(toResponse(voiceUploadService.getSession(uploadId)));
+    }
+
+    /**
+     * Accepts one chunk described by a {@code Content-Range: bytes start-end/total} header. The body is streamed
+     * straight into the upload's preallocated file.
+     */
+    @PutMapping(value = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionResponse> uploadChunk(
+            @PathVariable String uploadId,
+            @RequestHeader(HttpHeaders.CONTENT_RANGE) String contentRange,
+            HttpServletRequest request
+    ) throws IOException {
+        Matcher range = CONTENT_RANGE.matcher(contentRange);
+        if (!range.matches()) {
+            throw new IllegalArgumentException("Malformed Content-Range: " + contentRange);
+        }
+        long start = Long.parseLong(range.group(1));
+        long end = Long.parseLong(range.group(2));
+        long total = Long.parseLong(range.group(3));
+        if (end < start || total != voiceUploadService.getSession(uploadId).getSizeBytes()) {
+            throw new IllegalArgumentException("Content-Range does not match upload: " + contentRange);
+        }
+        UploadSession session = voiceUploadService.appendChunk(uploadId, start, end - start + 1, request.getInputStream());
+        return ResponseEntity.ok(toResponse(session));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    public ResponseEntity<VoiceCloneResponse> completeUpload(@PathVariable String uploadId) throws IOException {
+        VoiceProfile profile = voiceUploadService.complete(uploadId);
+        return ResponseEntity.ok(new VoiceCloneResponse(profile.voiceId(), profile.label()));
+    }
+
     @ExceptionHandler({IllegalArgumentException.class})
     public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException exception) {
         return ResponseEntity.badRequest().body(exception.getMessage());
     }
 
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleConflict(IllegalStateException exception) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
+    }
+
     @ExceptionHandler(IOException.class)
     public ResponseEntity<String> handleIo(IOException exception) {
         return ResponseEntity.internalServerError().body("Audio processing failed");
     }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        return new UploadSessionResponse(
+                session.getUploadId(),
+                session.getSizeBytes(),
+                session.getReceivedBytes(),
+                voiceUploadService.getChunkSizeBytes()
+        );
+    }
 }
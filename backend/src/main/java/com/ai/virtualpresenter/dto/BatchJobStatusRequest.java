@@ -0,0 +1,25 @@
+package com.ai.virtualpresenter.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchJobStatusRequest(
+        @NotEmpty(message = "jobs must not be empty")
+        @Size(max = 100, message = "at most 100 jobs can be polled at once")
+        List<@Valid Entry> jobs
+) {
+
+    /**
+     * One polled job. {@code sinceVersion} is the last version the client saw; omit it to always get the job.
+     */
+    public record Entry(
+            @NotBlank(message = "jobId must not be blank")
+            String jobId,
+            Long sinceVersion
+    ) {
+    }
+}
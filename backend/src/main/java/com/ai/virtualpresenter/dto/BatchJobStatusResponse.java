@@ -0,0 +1,9 @@
+package com.ai.virtualpresenter.dto;
+
+import java.util.List;
+
+public record BatchJobStatusResponse(
+        List<JobStatusResponse> jobs,
+        List<String> unknownJobIds
+) {
+}
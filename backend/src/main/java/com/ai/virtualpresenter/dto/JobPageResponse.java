@@ -0,0 +1,9 @@
+package com.ai.virtualpresenter.dto;
+
+import java.util.List;
+
+public record JobPageResponse(
+        List<JobStatusResponse> jobs,
+        String nextCursor
+) {
+}
@@ -1,24 +1,42 @@
 package com.ai.virtualpresenter.dto;
 
 import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.JobSnapshot;
 import com.ai.virtualpresenter.model.JobState;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public final class JobStatusMapper {
 
     private JobStatusMapper() {
     }
 
     public static JobStatusResponse fromJob(GenerationJob job) {
-        String downloadUrl = job.getDownloadUrl().orElse(null);
+        return fromJob(job, null);
+    }
+
+    public static JobStatusResponse fromJob(GenerationJob job, Integer queuePosition) {
+        JobSnapshot snapshot = job.snapshot();
         return new JobStatusResponse(
                 job.getJobId(),
-                job.getState().name(),
-                job.getProgress(),
-                job.getMessage(),
-                downloadUrl
+                snapshot.state().name(),
+                snapshot.progress(),
+                snapshot.message(),
+                snapshot.downloadUrl(),
+                queuePosition,
+                stageDurations(job),
+                snapshot.version(),
+                job.getCreatedAt()
         );
     }
 
+    private static Map<String, Long> stageDurations(GenerationJob job) {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        job.getStageTimings().forEach((stage, timing) -> durations.put(stage.name(), timing.duration().toMillis()));
+        return durations;
+    }
+
     public static String describe(JobState state) {
         return switch (state) {
             case RECEIVED -> "Job received";
@@ -29,6 +47,7 @@ public final class JobStatusMapper {
             case RENDERING -> "Compositing final video";
             case COMPLETED -> "Completed";
             case FAILED -> "Failed";
+            case CANCELLED -> "Cancelled";
         };
     }
 }
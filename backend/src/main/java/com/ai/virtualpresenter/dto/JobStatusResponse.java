@@ -1,10 +1,17 @@
 package com.ai.virtualpresenter.dto;
 
+import java.time.Instant;
+import java.util.Map;
+
 public record JobStatusResponse(
         String jobId,
         String status,
         int progress,
         String message,
-        String downloadUrl
+        String downloadUrl,
+        Integer queuePosition,
+        Map<String, Long> stageDurationsMs,
+        long version,
+        Instant createdAt
 ) {
 }
@@ -0,0 +1,4 @@
+package com.ai.virtualpresenter.dto;
+
+public record SimilarVoiceResponse(String voiceId, String label, float similarity) {
+}
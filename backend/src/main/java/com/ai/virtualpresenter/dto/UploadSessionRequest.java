@@ -0,0 +1,15 @@
+package com.ai.virtualpresenter.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record UploadSessionRequest(
+        @NotBlank(message = "fileName must not be blank")
+        String fileName,
+        @Positive(message = "sizeBytes must be positive")
+        long sizeBytes,
+        @Size(max = 120, message = "label must be shorter than 120 characters")
+        String label
+) {
+}
@@ -0,0 +1,9 @@
+package com.ai.virtualpresenter.dto;
+
+public record UploadSessionResponse(
+        String uploadId,
+        long sizeBytes,
+        long receivedBytes,
+        int chunkSizeBytes
+) {
+}
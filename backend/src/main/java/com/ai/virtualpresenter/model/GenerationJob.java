@@ -1,7 +1,12 @@
 package com.ai.virtualpresenter.model;
 
 import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 public class GenerationJob {
 
@@ -10,20 +15,42 @@ public class GenerationJob {
     private final String voiceId;
     private final String script;
     private final Instant createdAt;
-    private JobState state;
-    private int progress;
-    private String message;
-    private String downloadUrl;
+    private final AtomicReference<JobSnapshot> snapshot;
+    private final Map<JobState, StageTiming> stageTimings = Collections.synchronizedMap(new EnumMap<>(JobState.class));
+    private final Map<JobState, String> stageArtifacts = Collections.synchronizedMap(new EnumMap<>(JobState.class));
 
     public GenerationJob(String jobId, GenerationMode mode, String voiceId, String script, JobState initialState) {
+        this(jobId, mode, voiceId, script, Instant.now(), initialState, 0, "Job accepted", null);
+    }
+
+    public GenerationJob(String jobId,
+                         GenerationMode mode,
+                         String voiceId,
+                         String script,
+                         Instant createdAt,
+                         JobState state,
+                         int progress,
+                         String message,
+                         String downloadUrl) {
+        this(jobId, mode, voiceId, script, createdAt, state, progress, message, downloadUrl, 0);
+    }
+
+    public GenerationJob(String jobId,
+                         GenerationMode mode,
+                         String voiceId,
+                         String script,
+                         Instant createdAt,
+                         JobState state,
+                         int progress,
+                         String message,
+                         String downloadUrl,
+                         long version) {
         this.jobId = jobId;
         this.mode = mode;
         this.voiceId = voiceId;
         this.script = script;
-        this.state = initialState;
-        this.progress = 0;
-        this.message = "Job accepted";
-        this.createdAt = Instant.now();
+        this.createdAt = createdAt;
+        this.snapshot = new AtomicReference<>(new JobSnapshot(state, progress, message, downloadUrl, version));
     }
 
     public String getJobId() {
@@ -38,6 +65,9 @@ public class GenerationJob {
         return voiceId;
     }
 
+    /**
+     * Returns the story script, or {@code null} once the job has been compacted by its store.
+     */
     public String getScript() {
         return script;
     }
@@ -46,38 +76,130 @@ public class GenerationJob {
         return createdAt;
     }
 
+    /**
+     * Prefer this over the individual getters when more than one field is needed; each getter reads the latest
+     * snapshot on its own.
+     */
+    public JobSnapshot snapshot() {
+        return snapshot.get();
+    }
+
     public JobState getState() {
-        return state;
+        return snapshot.get().state();
     }
 
     public int getProgress() {
-        return progress;
+        return snapshot.get().progress();
     }
 
     public String getMessage() {
-        return message;
+        return snapshot.get().message();
     }
 
     public Optional<String> getDownloadUrl() {
-        return Optional.ofNullable(downloadUrl);
+        return Optional.ofNullable(snapshot.get().downloadUrl());
+    }
+
+    /**
+     * Bumped on every status change.
+     */
+    public long getVersion() {
+        return snapshot.get().version();
+    }
+
+    public Map<JobState, StageTiming> getStageTimings() {
+        Map<JobState, StageTiming> copy = new EnumMap<>(JobState.class);
+        synchronized (stageTimings) {
+            copy.putAll(stageTimings);
+        }
+        return copy;
+    }
+
+    /**
+     * A recorded timing doubles as the stage's checkpoint: the pipeline skips the stage when the job is run again.
+     */
+    public void recordStageTiming(JobState stage, StageTiming timing) {
+        stageTimings.put(stage, timing);
+    }
+
+    public Map<JobState, String> getStageArtifacts() {
+        Map<JobState, String> copy = new EnumMap<>(JobState.class);
+        synchronized (stageArtifacts) {
+            copy.putAll(stageArtifacts);
+        }
+        return copy;
+    }
+
+    public Optional<String> getStageArtifact(JobState stage) {
+        return Optional.ofNullable(stageArtifacts.get(stage));
+    }
+
+    public void recordStageArtifact(JobState stage, String artifact) {
+        stageArtifacts.put(stage, artifact);
+    }
+
+    public GenerationJob withoutScript() {
+        return withScript(null);
+    }
+
+    public GenerationJob withScript(String script) {
+        JobSnapshot current = snapshot.get();
+        GenerationJob copy = new GenerationJob(jobId, mode, voiceId, script, createdAt, current.state(),
+                current.progress(), current.message(), current.downloadUrl(), current.version());
+        getStageTimings().forEach(copy::recordStageTiming);
+        getStageArtifacts().forEach(copy::recordStageArtifact);
+        return copy;
+    }
+
+    /**
+     * Ignored once the job is terminal, so a stage finishing after cancellation cannot overwrite the final state.
+     *
+     * @return the snapshot this change produced, which a concurrent change may already have superseded
+     */
+    public Optional<JobSnapshot> update(JobState state, int progress, String message) {
+        return transition(current -> current.next(state, progress, message, current.downloadUrl()));
+    }
+
+    /**
+     * Moves progress on without touching the state or message another stage may have set meanwhile.
+     */
+    public Optional<JobSnapshot> updateProgress(int progress) {
+        return transition(current -> current.next(current.state(), progress, current.message(), current.downloadUrl()));
+    }
+
+    public Optional<JobSnapshot> markCompleted(String downloadUrl) {
+        return transition(current -> current.next(JobState.COMPLETED, 100, "Rendering complete", downloadUrl));
     }
 
-    public void update(JobState state, int progress, String message) {
-        this.state = state;
-        this.progress = progress;
-        this.message = message;
+    public Optional<JobSnapshot> markFailed(String errorMessage) {
+        return transition(current -> current.next(JobState.FAILED, 100, errorMessage, current.downloadUrl()));
     }
 
-    public void markCompleted(String downloadUrl) {
-        this.state = JobState.COMPLETED;
-        this.progress = 100;
-        this.message = "Rendering complete";
-        this.downloadUrl = downloadUrl;
+    /**
+     * @return {@code false} if the job had already finished
+     */
+    public boolean markCancelled() {
+        return transition(current ->
+                current.next(JobState.CANCELLED, current.progress(), "Cancelled by request", current.downloadUrl()))
+                .isPresent();
     }
 
-    public void markFailed(String errorMessage) {
-        this.state = JobState.FAILED;
-        this.progress = 100;
-        this.message = errorMessage;
+    /**
+     * Swaps in the snapshot {@code change} derives from the current one, retrying if another thread got there
+     * first. Terminal snapshots are final.
+     *
+     * @return the snapshot swapped in, or empty if the job had already finished
+     */
+    private Optional<JobSnapshot> transition(UnaryOperator<JobSnapshot> change) {
+        while (true) {
+            JobSnapshot current = snapshot.get();
+            if (current.state().isTerminal()) {
+                return Optional.empty();
+            }
+            JobSnapshot next = change.apply(current);
+            if (snapshot.compareAndSet(current, next)) {
+                return Optional.of(next);
+            }
+        }
     }
 }
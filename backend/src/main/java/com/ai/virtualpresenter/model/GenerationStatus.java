@@ -1,9 +0,0 @@
-package com.ai.virtualpresenter.model;
-
-public enum GenerationStatus {
-    RECEIVED,
-    PROCESSING,
-    RENDERING,
-    COMPLETED,
-    FAILED
-}
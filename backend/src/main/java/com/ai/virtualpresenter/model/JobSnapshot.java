@@ -0,0 +1,18 @@
+package com.ai.virtualpresenter.model;
+
+/**
+ * Immutable view of a job's status at one {@code version}. {@link GenerationJob} swaps whole snapshots, so a
+ * reader never sees e.g. {@code COMPLETED} without its download URL.
+ */
+public record JobSnapshot(
+        JobState state,
+        int progress,
+        String message,
+        String downloadUrl,
+        long version
+) {
+
+    JobSnapshot next(JobState state, int progress, String message, String downloadUrl) {
+        return new JobSnapshot(state, progress, message, downloadUrl, version + 1);
+    }
+}
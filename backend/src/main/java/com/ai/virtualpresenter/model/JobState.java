@@ -8,5 +8,10 @@ public enum JobState {
     GENERATING_ASSETS,
     RENDERING,
     COMPLETED,
-    FAILED
+    FAILED,
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
 }
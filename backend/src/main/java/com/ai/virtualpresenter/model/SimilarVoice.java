@@ -0,0 +1,7 @@
+package com.ai.virtualpresenter.model;
+
+public record SimilarVoice(
+        VoiceProfile voice,
+        float similarity
+) {
+}
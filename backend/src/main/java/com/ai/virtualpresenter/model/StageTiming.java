@@ -0,0 +1,14 @@
+package com.ai.virtualpresenter.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public record StageTiming(
+        Instant startedAt,
+        Instant finishedAt
+) {
+
+    public Duration duration() {
+        return Duration.between(startedAt, finishedAt);
+    }
+}
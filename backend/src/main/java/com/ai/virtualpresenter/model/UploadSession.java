@@ -0,0 +1,71 @@
+package com.ai.virtualpresenter.model;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A resumable voice upload. Chunks must arrive in order; {@link #getReceivedBytes()} is the offset the next
+ * chunk has to start at.
+ */
+public class UploadSession {
+
+    private final String uploadId;
+    private final String fileName;
+    private final String label;
+    private final long sizeBytes;
+    private final Path partFile;
+    private final Instant createdAt;
+    private volatile long receivedBytes;
+    private volatile Instant lastActivityAt;
+
+    public UploadSession(String uploadId, String fileName, String label, long sizeBytes, Path partFile) {
+        this.uploadId = uploadId;
+        this.fileName = fileName;
+        this.label = label;
+        this.sizeBytes = sizeBytes;
+        this.partFile = partFile;
+        this.createdAt = Instant.now();
+        this.lastActivityAt = createdAt;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public Path getPartFile() {
+        return partFile;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public Instant getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public boolean isComplete() {
+        return receivedBytes == sizeBytes;
+    }
+
+    public void advance(long bytes) {
+        this.receivedBytes += bytes;
+        this.lastActivityAt = Instant.now();
+    }
+}
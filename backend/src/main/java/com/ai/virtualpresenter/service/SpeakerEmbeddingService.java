@@ -0,0 +1,10 @@
+package com.ai.virtualpresenter.service;
+
+import com.ai.virtualpresenter.model.VoiceProfile;
+
+public interface SpeakerEmbeddingService {
+    /**
+     * Returns the unit-length speaker embedding of {@code profile}. The array is shared and must not be modified.
+     */
+    float[] getEmbedding(VoiceProfile profile);
+}
@@ -2,9 +2,36 @@ package com.ai.virtualpresenter.service;
 
 import com.ai.virtualpresenter.dto.StorySubmissionRequest;
 import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.store.JobPage;
+import com.ai.virtualpresenter.store.JobQuery;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
 
 public interface StoryWorkflowService {
     GenerationJob submitStory(StorySubmissionRequest request);
 
     GenerationJob getJob(String jobId);
+
+    /**
+     * Completes once the job's version moves past {@code sinceVersion}; cancel it to stop waiting.
+     */
+    CompletableFuture<Void> awaitJobChange(String jobId, long sinceVersion);
+
+    List<GenerationJob> getJobs(List<String> jobIds);
+
+    /**
+     * @throws IllegalStateException if the job has already finished
+     */
+    GenerationJob cancelJob(String jobId);
+
+    OptionalInt getQueuePosition(String jobId);
+
+    JobPage listJobs(JobQuery query);
+
+    /**
+     * Whether jobs owned by other nodes can also be read here, because every node uses the same store.
+     */
+    boolean sharesJobs();
 }
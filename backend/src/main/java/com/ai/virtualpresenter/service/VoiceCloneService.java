@@ -4,9 +4,17 @@ import com.ai.virtualpresenter.model.VoiceProfile;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 public interface VoiceCloneService {
     VoiceProfile cloneVoice(MultipartFile file, String label) throws IOException;
 
+    /**
+     * Clones a voice from a fully written sample file, e.g. a finished chunked upload. The file must live under the
+     * {@code VoiceSampleStore} uploads directory. It is moved into the store or deleted once the voice is cloned,
+     * and left in place if cloning fails.
+     */
+    VoiceProfile cloneVoice(Path sampleFile, String originalFileName, String label) throws IOException;
+
     VoiceProfile getVoice(String voiceId);
 }
@@ -0,0 +1,15 @@
+package com.ai.virtualpresenter.service;
+
+import com.ai.virtualpresenter.model.SimilarVoice;
+import com.ai.virtualpresenter.model.VoiceProfile;
+
+import java.util.List;
+
+public interface VoiceSimilarityService {
+    void index(VoiceProfile profile);
+
+    /**
+     * Returns up to {@code limit} other voices whose speaker embedding is closest to that of {@code voiceId}.
+     */
+    List<SimilarVoice> findSimilar(String voiceId, int limit);
+}
@@ -0,0 +1,23 @@
+package com.ai.virtualpresenter.service;
+
+import com.ai.virtualpresenter.model.UploadSession;
+import com.ai.virtualpresenter.model.VoiceProfile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface VoiceUploadService {
+    UploadSession createSession(String fileName, long sizeBytes, String label) throws IOException;
+
+    UploadSession getSession(String uploadId);
+
+    /**
+     * Writes {@code length} bytes from {@code body} at {@code offset}. Chunks that were already received are
+     * acknowledged without rewriting; a chunk that would leave a gap is rejected with {@link IllegalStateException}.
+     */
+    UploadSession appendChunk(String uploadId, long offset, long length, InputStream body) throws IOException;
+
+    VoiceProfile complete(String uploadId) throws IOException;
+
+    int getChunkSizeBytes();
+}
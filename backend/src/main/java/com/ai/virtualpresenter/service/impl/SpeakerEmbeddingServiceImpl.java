@@ -0,0 +1,46 @@
+package com.ai.virtualpresenter.service.impl;
+
+import com.ai.virtualpresenter.model.VoiceProfile;
+import com.ai.virtualpresenter.service.SpeakerEmbeddingService;
+import com.ai.virtualpresenter.store.EmbeddingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.SplittableRandom;
+
+@Service
+public class SpeakerEmbeddingServiceImpl implements SpeakerEmbeddingService {
+
+    private final EmbeddingCache embeddingCache;
+    private final int dimensions;
+
+    public SpeakerEmbeddingServiceImpl(EmbeddingCache embeddingCache,
+                                       @Value("${virtual-presenter.voices.embedding-dimensions:192}") int dimensions) {
+        this.embeddingCache = embeddingCache;
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public float[] getEmbedding(VoiceProfile profile) {
+        return embeddingCache.get(profile.embeddingReference(), this::computeEmbedding);
+    }
+
+    /**
+     * Stand-in for the speaker encoder: a deterministic unit vector derived from the sample hash, so the same
+     * sample always maps to the same embedding.
+     */
+    private float[] computeEmbedding(String embeddingReference) {
+        SplittableRandom random = new SplittableRandom(embeddingReference.hashCode());
+        float[] vector = new float[dimensions];
+        double norm = 0;
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextDouble(-1.0, 1.0);
+            norm += vector[i] * vector[i];
+        }
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+}
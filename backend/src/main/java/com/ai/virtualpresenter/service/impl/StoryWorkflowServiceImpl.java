@@ -1,48 +1,77 @@
 package com.ai.virtualpresenter.service.impl;
 
+import com.ai.virtualpresenter.cluster.ClusterRouter;
 import com.ai.virtualpresenter.dto.JobStatusMapper;
 import com.ai.virtualpresenter.dto.StorySubmissionRequest;
 import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.JobSnapshot;
 import com.ai.virtualpresenter.model.JobState;
 import com.ai.virtualpresenter.model.VoiceProfile;
+import com.ai.virtualpresenter.service.SpeakerEmbeddingService;
 import com.ai.virtualpresenter.service.StoryWorkflowService;
 import com.ai.virtualpresenter.service.VoiceCloneService;
+import com.ai.virtualpresenter.store.JobEventLog;
+import com.ai.virtualpresenter.store.JobPage;
+import com.ai.virtualpresenter.store.JobQuery;
 import com.ai.virtualpresenter.store.JobStore;
+import com.ai.virtualpresenter.workflow.JobChangeWaiters;
+import com.ai.virtualpresenter.workflow.JobProgressPublisher;
+import com.ai.virtualpresenter.workflow.JobScheduler;
 import com.ai.virtualpresenter.workflow.JobWorkflowOrchestrator;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class StoryWorkflowServiceImpl implements StoryWorkflowService {
 
     private final VoiceCloneService voiceCloneService;
+    private final SpeakerEmbeddingService embeddingService;
     private final JobStore jobStore;
+    private final JobEventLog eventLog;
     private final JobWorkflowOrchestrator orchestrator;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final JobScheduler scheduler;
+    private final JobProgressPublisher progressPublisher;
+    private final JobChangeWaiters changeWaiters;
+    private final ClusterRouter router;
 
     public StoryWorkflowServiceImpl(
             VoiceCloneService voiceCloneService,
+            SpeakerEmbeddingService embeddingService,
             JobStore jobStore,
+            JobEventLog eventLog,
             JobWorkflowOrchestrator orchestrator,
-            SimpMessagingTemplate messagingTemplate
+            JobScheduler scheduler,
+            JobProgressPublisher progressPublisher,
+            JobChangeWaiters changeWaiters,
+            ClusterRouter router
     ) {
         this.voiceCloneService = voiceCloneService;
+        this.embeddingService = embeddingService;
         this.jobStore = jobStore;
+        this.eventLog = eventLog;
         this.orchestrator = orchestrator;
-        this.messagingTemplate = messagingTemplate;
+        this.scheduler = scheduler;
+        this.progressPublisher = progressPublisher;
+        this.changeWaiters = changeWaiters;
+        this.router = router;
     }
 
     @Override
     public GenerationJob submitStory(StorySubmissionRequest request) {
         VoiceProfile profile = voiceCloneService.getVoice(request.voiceId());
-        String jobId = "job-" + UUID.randomUUID();
+        // Resolve the embedding up front so a voice whose embedding cannot be loaded is rejected at submission.
+        embeddingService.getEmbedding(profile);
+        String jobId = router.newLocalId("job-");
         GenerationJob job = new GenerationJob(jobId, request.mode(), profile.voiceId(), request.script(), JobState.RECEIVED);
-        job.update(JobState.RECEIVED, 0, JobStatusMapper.describe(JobState.RECEIVED));
+        JobSnapshot received = job.update(JobState.RECEIVED, 0, JobStatusMapper.describe(JobState.RECEIVED))
+                .orElseThrow();
+        orchestrator.startSyntheticRun(job);
         jobStore.save(job);
-        messagingTemplate.convertAndSend("/topic/jobs/" + job.getJobId(), JobStatusMapper.fromJob(job));
-        orchestrator.startSyntheticRun(jobId);
+        eventLog.append(job, received);
+        progressPublisher.publish(job);
         return job;
     }
 
@@ -50,4 +79,36 @@ public class StoryWorkflowServiceImpl implements StoryWorkflowService {
     public GenerationJob getJob(String jobId) {
         return jobStore.findById(jobId).orElseThrow(() -> new IllegalArgumentException("Unknown job: " + jobId));
     }
+
+    @Override
+    public CompletableFuture<Void> awaitJobChange(String jobId, long sinceVersion) {
+        return changeWaiters.awaitChange(getJob(jobId), sinceVersion);
+    }
+
+    @Override
+    public List<GenerationJob> getJobs(List<String> jobIds) {
+        return jobStore.findAllById(jobIds);
+    }
+
+    @Override
+    public GenerationJob cancelJob(String jobId) {
+        GenerationJob job = getJob(jobId);
+        orchestrator.cancel(job);
+        return job;
+    }
+
+    @Override
+    public OptionalInt getQueuePosition(String jobId) {
+        return scheduler.queuePosition(jobId);
+    }
+
+    @Override
+    public JobPage listJobs(JobQuery query) {
+        return jobStore.list(query);
+    }
+
+    @Override
+    public boolean sharesJobs() {
+        return jobStore.isShared();
+    }
 }
@@ -7,6 +7,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -25,6 +28,22 @@ public class StubVoiceCloneService implements VoiceCloneService {
         );
     }
 
+    @Override
+    public VoiceProfile cloneVoice(Path sampleFile, String originalFileName, String label) throws IOException {
+        String hash;
+        try (InputStream input = Files.newInputStream(sampleFile)) {
+            hash = DigestUtils.sha256Hex(input);
+        }
+        Files.deleteIfExists(sampleFile);
+        return new VoiceProfile(
+                UUID.randomUUID().toString(),
+                label,
+                originalFileName,
+                Instant.now(),
+                hash
+        );
+    }
+
     @Override
     public VoiceProfile getVoice(String voiceId) {
         return new VoiceProfile(
@@ -37,8 +56,8 @@ public class StubVoiceCloneService implements VoiceCloneService {
     }
 
     private String computeHashSafe(MultipartFile voiceSample) {
-        try {
-            return DigestUtils.sha256Hex(voiceSample.getBytes());
+        try (InputStream input = voiceSample.getInputStream()) {
+            return DigestUtils.sha256Hex(input);
         } catch (IOException e) {
             return DigestUtils.sha256Hex(UUID.randomUUID().toString());
         }
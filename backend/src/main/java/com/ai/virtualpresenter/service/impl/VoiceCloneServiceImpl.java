@@ -1,41 +1,90 @@
 package com.ai.virtualpresenter.service.impl;
 
+import com.ai.virtualpresenter.audio.AudioPreprocessor;
+import com.ai.virtualpresenter.audio.UnsupportedAudioFormatException;
+import com.ai.virtualpresenter.cluster.ClusterRouter;
 import com.ai.virtualpresenter.model.VoiceProfile;
 import com.ai.virtualpresenter.service.VoiceCloneService;
+import com.ai.virtualpresenter.service.VoiceSimilarityService;
+import com.ai.virtualpresenter.store.StoredSample;
+import com.ai.virtualpresenter.store.VoiceSampleStore;
 import com.ai.virtualpresenter.store.VoiceStore;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.Optional;
 
 @Service
+@Primary
 public class VoiceCloneServiceImpl implements VoiceCloneService {
 
+    private static final String DEFAULT_LABEL = "Untitled Voice";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final VoiceStore voiceStore;
+    private final VoiceSampleStore sampleStore;
+    private final AudioPreprocessor preprocessor;
+    private final VoiceSimilarityService similarityService;
+    private final ClusterRouter router;
 
-    public VoiceCloneServiceImpl(VoiceStore voiceStore) {
+    public VoiceCloneServiceImpl(VoiceStore voiceStore,
+                                 VoiceSampleStore sampleStore,
+                                 AudioPreprocessor preprocessor,
+                                 VoiceSimilarityService similarityService,
+                                 ClusterRouter router) {
         this.voiceStore = voiceStore;
+        this.sampleStore = sampleStore;
+        this.preprocessor = preprocessor;
+        this.similarityService = similarityService;
+        this.router = router;
     }
 
     @Override
     public VoiceProfile cloneVoice(MultipartFile file, String label) throws IOException {
-        byte[] bytes = file.getInputStream().readAllBytes();
-        String embeddingReference = DigestUtils.sha256Hex(bytes);
-        String voiceId = "voice-" + UUID.randomUUID();
+        Path staged;
+        try (InputStream input = file.getInputStream()) {
+            staged = sampleStore.stage(input);
+        }
+        try {
+            return cloneVoice(staged, file.getOriginalFilename(), label);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    @Override
+    public VoiceProfile cloneVoice(Path sampleFile, String originalFileName, String label) throws IOException {
+        String embeddingReference = canonicalize(sampleFile).sha256();
+        String resolvedLabel = label == null || label.isBlank() ? DEFAULT_LABEL : label;
+
+        Optional<VoiceProfile> existing = voiceStore.findByEmbeddingReference(embeddingReference);
+        if (existing.isPresent()) {
+            return reuse(existing.get(), resolvedLabel, originalFileName);
+        }
 
         VoiceProfile profile = new VoiceProfile(
-                voiceId,
-                label == null || label.isBlank() ? "Untitled Voice" : label,
-                file.getOriginalFilename(),
+                router.newLocalId("voice-"),
+                resolvedLabel,
+                originalFileName,
                 Instant.now(),
                 embeddingReference
         );
-
-        voiceStore.save(profile);
-        return profile;
+        VoiceProfile saved = voiceStore.saveIfAbsent(profile);
+        if (saved != profile) {
+            return reuse(saved, resolvedLabel, originalFileName);
+        }
+        similarityService.index(saved);
+        return saved;
     }
 
     @Override
@@ -43,4 +92,43 @@ public class VoiceCloneServiceImpl implements VoiceCloneService {
         return voiceStore.findById(voiceId)
                 .orElseThrow(() -> new IllegalArgumentException("Voice not found: " + voiceId));
     }
+
+    /**
+     * Samples the in-JVM decoder cannot read are stored as uploaded. On failure {@code sampleFile} is left in place.
+     */
+    private StoredSample canonicalize(Path sampleFile) throws IOException {
+        Path canonical = Files.createTempFile(sampleStore.uploadsDirectory(), "canonical-", ".wav");
+        try {
+            MessageDigest digest = DigestUtils.getSha256Digest();
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(sampleFile), BUFFER_SIZE)) {
+                preprocessor.preprocess(input, canonical, digest);
+            } catch (UnsupportedAudioFormatException ex) {
+                return sampleStore.adopt(sampleFile);
+            }
+            StoredSample stored = sampleStore.adopt(canonical, Hex.encodeHexString(digest.digest()));
+            Files.deleteIfExists(sampleFile);
+            return stored;
+        } finally {
+            Files.deleteIfExists(canonical);
+        }
+    }
+
+    /**
+     * Returns the voice already cloned from the same sample. A re-upload under a different label gets its own
+     * voiceId that shares the original embedding, so cloning is never repeated for identical audio.
+     */
+    private VoiceProfile reuse(VoiceProfile existing, String label, String originalFileName) {
+        if (existing.label().equals(label)) {
+            return existing;
+        }
+        VoiceProfile alias = new VoiceProfile(
+                router.newLocalId("voice-"),
+                label,
+                originalFileName,
+                Instant.now(),
+                existing.embeddingReference()
+        );
+        voiceStore.save(alias);
+        return alias;
+    }
 }
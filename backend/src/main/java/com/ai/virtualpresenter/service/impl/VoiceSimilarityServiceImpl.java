@@ -0,0 +1,53 @@
+package com.ai.virtualpresenter.service.impl;
+
+import com.ai.virtualpresenter.model.SimilarVoice;
+import com.ai.virtualpresenter.model.VoiceProfile;
+import com.ai.virtualpresenter.service.SpeakerEmbeddingService;
+import com.ai.virtualpresenter.service.VoiceSimilarityService;
+import com.ai.virtualpresenter.store.SimilarityMatch;
+import com.ai.virtualpresenter.store.VoiceSimilarityIndex;
+import com.ai.virtualpresenter.store.VoiceStore;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class VoiceSimilarityServiceImpl implements VoiceSimilarityService {
+
+    private final VoiceStore voiceStore;
+    private final SpeakerEmbeddingService embeddingService;
+    private final VoiceSimilarityIndex index;
+
+    public VoiceSimilarityServiceImpl(VoiceStore voiceStore,
+                                      SpeakerEmbeddingService embeddingService,
+                                      VoiceSimilarityIndex index) {
+        this.voiceStore = voiceStore;
+        this.embeddingService = embeddingService;
+        this.index = index;
+    }
+
+    @Override
+    public void index(VoiceProfile profile) {
+        index.add(profile.embeddingReference(), embeddingService.getEmbedding(profile));
+    }
+
+    @Override
+    public List<SimilarVoice> findSimilar(String voiceId, int limit) {
+        VoiceProfile profile = voiceStore.findById(voiceId)
+                .orElseThrow(() -> new IllegalArgumentException("Voice not found: " + voiceId));
+        float[] query = index.find(profile.embeddingReference())
+                .orElseGet(() -> embeddingService.getEmbedding(profile));
+        // One extra match covers the voice's own embedding, which is skipped below.
+        List<SimilarVoice> similar = new ArrayList<>(limit);
+        for (SimilarityMatch match : index.search(query, limit + 1)) {
+            if (match.embeddingReference().equals(profile.embeddingReference()) || similar.size() == limit) {
+                continue;
+            }
+            Optional<VoiceProfile> voice = voiceStore.findByEmbeddingReference(match.embeddingReference());
+            voice.ifPresent(candidate -> similar.add(new SimilarVoice(candidate, match.similarity())));
+        }
+        return similar;
+    }
+}
@@ -0,0 +1,157 @@
+package com.ai.virtualpresenter.service.impl;
+
+import com.ai.virtualpresenter.cluster.ClusterRouter;
+import com.ai.virtualpresenter.model.UploadSession;
+import com.ai.virtualpresenter.model.VoiceProfile;
+import com.ai.virtualpresenter.service.VoiceCloneService;
+import com.ai.virtualpresenter.service.VoiceUploadService;
+import com.ai.virtualpresenter.store.UploadSessionStore;
+import com.ai.virtualpresenter.store.VoiceSampleStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+public class VoiceUploadServiceImpl implements VoiceUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(VoiceUploadServiceImpl.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionStore sessionStore;
+    private final VoiceSampleStore sampleStore;
+    private final VoiceCloneService voiceCloneService;
+    private final long maxUploadBytes;
+    private final int chunkSizeBytes;
+    private final Duration sessionTtl;
+    private final ClusterRouter router;
+
+    public VoiceUploadServiceImpl(UploadSessionStore sessionStore,
+                                  VoiceSampleStore sampleStore,
+                                  VoiceCloneService voiceCloneService,
+                                  @Value("${virtual-presenter.voices.max-upload-bytes:26214400}") long maxUploadBytes,
+                                  @Value("${virtual-presenter.voices.chunk-size-bytes:1048576}") int chunkSizeBytes,
+                                  @Value("${virtual-presenter.voices.upload-ttl-minutes:60}") long sessionTtlMinutes,
+                                  ClusterRouter router) {
+        this.sessionStore = sessionStore;
+        this.sampleStore = sampleStore;
+        this.voiceCloneService = voiceCloneService;
+        this.maxUploadBytes = maxUploadBytes;
+        this.chunkSizeBytes = chunkSizeBytes;
+        this.sessionTtl = Duration.ofMinutes(sessionTtlMinutes);
+        this.router = router;
+    }
+
+    @Override
+    public UploadSession createSession(String fileName, long sizeBytes, String label) throws IOException {
+        if (sizeBytes < 1) {
+            throw new IllegalArgumentException("Upload size must be positive");
+        }
+        if (sizeBytes > maxUploadBytes) {
+            throw new IllegalArgumentException("Upload exceeds " + maxUploadBytes + " bytes");
+        }
+        String uploadId = router.newLocalId("upload-");
+        Path partFile = sampleStore.uploadsDirectory().resolve(uploadId + ".part");
+        try (RandomAccessFile file = new RandomAccessFile(partFile.toFile(), "rw")) {
+            file.setLength(sizeBytes);
+        }
+        UploadSession session = new UploadSession(uploadId, fileName, label, sizeBytes, partFile);
+        sessionStore.save(session);
+        return session;
+    }
+
+    @Override
+    public UploadSession getSession(String uploadId) {
+        return sessionStore.findById(uploadId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown upload: " + uploadId));
+    }
+
+    @Override
+    public UploadSession appendChunk(String uploadId, long offset, long length, InputStream body) throws IOException {
+        UploadSession session = getSession(uploadId);
+        if (offset < 0 || length <= 0 || offset + length > session.getSizeBytes()) {
+            throw new IllegalArgumentException("Chunk " + offset + "+" + length + " is outside the declared size");
+        }
+        synchronized (session) {
+            long received = session.getReceivedBytes();
+            if (offset + length <= received) {
+                return session;
+            }
+            if (offset != received) {
+                throw new IllegalStateException("Expected chunk at offset " + received + " but got " + offset);
+            }
+            long written = 0;
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, length));
+            try (ReadableByteChannel source = Channels.newChannel(body);
+                 FileChannel target = FileChannel.open(session.getPartFile(), StandardOpenOption.WRITE)) {
+                target.position(offset);
+                while (written < length) {
+                    buffer.limit((int) Math.min(buffer.capacity(), length - written));
+                    int read = source.read(buffer);
+                    if (read == -1) {
+                        break;
+                    }
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    written += read;
+                    buffer.clear();
+                }
+            } finally {
+                // Bytes that reached the file stay valid even if the client dropped mid-chunk.
+                session.advance(written);
+            }
+            return session;
+        }
+    }
+
+    @Override
+    public VoiceProfile complete(String uploadId) throws IOException {
+        UploadSession session = getSession(uploadId);
+        synchronized (session) {
+            if (!session.isComplete()) {
+                throw new IllegalStateException("Upload has " + session.getReceivedBytes() + " of "
+                        + session.getSizeBytes() + " bytes");
+            }
+            // The session and its part file outlive a failed clone, so the client can retry without re-uploading.
+            VoiceProfile profile = voiceCloneService.cloneVoice(
+                    session.getPartFile(), session.getFileName(), session.getLabel());
+            sessionStore.remove(uploadId);
+            return profile;
+        }
+    }
+
+    @Override
+    public int getChunkSizeBytes() {
+        return chunkSizeBytes;
+    }
+
+    @Scheduled(fixedDelayString = "${virtual-presenter.voices.upload-sweep-interval-ms:600000}")
+    public void expireIdleSessions() {
+        for (UploadSession session : sessionStore.findIdleSince(Instant.now().minus(sessionTtl))) {
+            synchronized (session) {
+                sessionStore.remove(session.getUploadId());
+                try {
+                    Files.deleteIfExists(session.getPartFile());
+                } catch (IOException ex) {
+                    log.warn("Failed to delete abandoned upload {}", session.getPartFile(), ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Off-heap storage for finished jobs in {@link CompactJobCodec} form, so retaining a job costs the heap only its
+ * address. Records are appended to direct buffers ("segments") and addressed by segment and offset.
+ * <p>
+ * Freed records are not reused individually; a segment is released once every record in it has been freed.
+ * Finished jobs expire in roughly the order they were stored, so segments drain from the oldest.
+ */
+final class CompactJobArena {
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private final int segmentBytes;
+    private final Map<Integer, Segment> segments = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment current;
+    private int nextSegmentId;
+    private long reservedBytes;
+
+    CompactJobArena(int segmentBytes) {
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Stores {@code job} without its script.
+     *
+     * @return the address to {@link #read(long)} or {@link #free(long)} it with
+     */
+    long store(GenerationJob job) {
+        byte[] record = CompactJobCodec.encode(job, false);
+        int size = LENGTH_BYTES + record.length;
+        lock.writeLock().lock();
+        try {
+            if (current == null || current.buffer.remaining() < size) {
+                current = allocate(Math.max(segmentBytes, size));
+            }
+            int offset = current.buffer.position();
+            current.buffer.putInt(record.length).put(record);
+            current.liveRecords++;
+            return (long) current.id << 32 | offset;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Decodes the job at {@code address}, or returns {@code null} if its segment has been released.
+     */
+    GenerationJob read(long address) {
+        byte[] record;
+        lock.readLock().lock();
+        try {
+            Segment segment = segments.get(segmentId(address));
+            if (segment == null) {
+                return null;
+            }
+            int offset = offset(address);
+            record = new byte[segment.buffer.getInt(offset)];
+            segment.buffer.get(offset + LENGTH_BYTES, record);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return CompactJobCodec.decode(record);
+    }
+
+    void free(long address) {
+        lock.writeLock().lock();
+        try {
+            Segment segment = segments.get(segmentId(address));
+            if (segment != null && --segment.liveRecords == 0 && segment != current) {
+                segments.remove(segment.id);
+                reservedBytes -= segment.buffer.capacity();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long reservedBytes() {
+        lock.readLock().lock();
+        try {
+            return reservedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Segment allocate(int capacity) {
+        if (current != null && current.liveRecords == 0) {
+            segments.remove(current.id);
+            reservedBytes -= current.buffer.capacity();
+        }
+        Segment segment = new Segment(nextSegmentId++, ByteBuffer.allocateDirect(capacity));
+        segments.put(segment.id, segment);
+        reservedBytes += capacity;
+        return segment;
+    }
+
+    private static int segmentId(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    private static final class Segment {
+
+        private final int id;
+        private final ByteBuffer buffer;
+        private int liveRecords;
+
+        Segment(int id, ByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobSnapshot;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.model.StageTiming;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Binary form of a job: enums as ordinals, integers as varints and strings as length-prefixed UTF-8. The script
+ * is optional, and a finished job without it takes a few hundred bytes with every stage checkpointed.
+ */
+final class CompactJobCodec {
+
+    private static final JobState[] STATES = JobState.values();
+    private static final GenerationMode[] MODES = GenerationMode.values();
+
+    private CompactJobCodec() {
+    }
+
+    static byte[] encode(GenerationJob job, boolean withScript) {
+        return encode(job, job.snapshot(), withScript);
+    }
+
+    /**
+     * Encodes {@code job} at {@code snapshot}, which may be older than its current one.
+     */
+    static byte[] encode(GenerationJob job, JobSnapshot snapshot, boolean withScript) {
+        Map<JobState, StageTiming> timings = job.getStageTimings();
+        Map<JobState, String> artifacts = job.getStageArtifacts();
+        Writer out = new Writer();
+        out.string(job.getJobId());
+        out.write(job.getMode().ordinal());
+        out.string(job.getVoiceId());
+        out.string(withScript ? job.getScript() : null);
+        out.instant(job.getCreatedAt());
+        out.write(snapshot.state().ordinal());
+        out.write(snapshot.progress());
+        out.string(snapshot.message());
+        out.string(snapshot.downloadUrl());
+        out.varLong(snapshot.version());
+        out.write(timings.size());
+        timings.forEach((stage, timing) -> {
+            out.write(stage.ordinal());
+            out.instant(timing.startedAt());
+            out.instant(timing.finishedAt());
+        });
+        out.write(artifacts.size());
+        artifacts.forEach((stage, artifact) -> {
+            out.write(stage.ordinal());
+            out.string(artifact);
+        });
+        return out.toByteArray();
+    }
+
+    static GenerationJob decode(byte[] record) {
+        Reader in = new Reader(record);
+        GenerationJob job = new GenerationJob(in.string(), MODES[in.read()], in.string(), in.string(), in.instant(),
+                STATES[in.read()], in.read(), in.string(), in.string(), in.varLong());
+        for (int i = in.read(); i > 0; i--) {
+            job.recordStageTiming(STATES[in.read()], new StageTiming(in.instant(), in.instant()));
+        }
+        for (int i = in.read(); i > 0; i--) {
+            job.recordStageArtifact(STATES[in.read()], in.string());
+        }
+        return job;
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(128);
+        }
+
+        void varLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void instant(Instant instant) {
+            varLong(instant.getEpochSecond());
+            varLong(instant.getNano());
+        }
+
+        /**
+         * Writes the byte length plus one, so that {@code 0} can stand for {@code null}.
+         */
+        void string(String value) {
+            if (value == null) {
+                write(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varLong(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] record;
+        private int position;
+
+        Reader(byte[] record) {
+            this.record = record;
+        }
+
+        int read() {
+            return record[position++] & 0xFF;
+        }
+
+        long varLong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int next = read();
+                value |= (long) (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        Instant instant() {
+            return Instant.ofEpochSecond(varLong(), varLong());
+        }
+
+        String string() {
+            int length = (int) varLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(record, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.ai.virtualpresenter.store;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * LRU cache of speaker embeddings bounded by the bytes their vectors hold. Concurrent misses for the same
+ * reference share one load.
+ */
+@Component
+public class EmbeddingCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, float[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<float[]>> loading = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long sizeBytes;
+
+    public EmbeddingCache(MeterRegistry meterRegistry,
+                          @Value("${virtual-presenter.voices.embedding-cache-max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.hits = Counter.builder("voices.embedding.cache")
+                .tag("result", "hit")
+                .description("Embedding lookups served from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("voices.embedding.cache")
+                .tag("result", "miss")
+                .description("Embedding lookups that had to load the vector")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("voices.embedding.cache.evictions")
+                .description("Embeddings evicted to stay within the byte budget")
+                .register(meterRegistry);
+        Gauge.builder("voices.embedding.cache.bytes", this, EmbeddingCache::getSizeBytes)
+                .description("Bytes held by cached embedding vectors")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The returned array is shared with other callers and must not be modified.
+     */
+    public float[] get(String embeddingReference, Function<String, float[]> loader) {
+        float[] cached = lookup(embeddingReference);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        CompletableFuture<float[]> pending = new CompletableFuture<>();
+        CompletableFuture<float[]> inFlight = loading.putIfAbsent(embeddingReference, pending);
+        if (inFlight != null) {
+            hits.increment();
+            return await(inFlight);
+        }
+        try {
+            float[] vector = lookup(embeddingReference);
+            if (vector != null) {
+                // Another caller finished loading between our lookup and claiming the load.
+                hits.increment();
+                pending.complete(vector);
+                return vector;
+            }
+            misses.increment();
+            vector = loader.apply(embeddingReference);
+            put(embeddingReference, vector);
+            pending.complete(vector);
+            return vector;
+        } catch (RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(embeddingReference, pending);
+        }
+    }
+
+    public void invalidate(String embeddingReference) {
+        synchronized (entries) {
+            float[] removed = entries.remove(embeddingReference);
+            if (removed != null) {
+                sizeBytes -= bytesOf(removed);
+            }
+        }
+    }
+
+    public long getSizeBytes() {
+        synchronized (entries) {
+            return sizeBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private float[] lookup(String embeddingReference) {
+        synchronized (entries) {
+            return entries.get(embeddingReference);
+        }
+    }
+
+    private void put(String embeddingReference, float[] vector) {
+        long bytes = bytesOf(vector);
+        if (bytes > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            float[] previous = entries.put(embeddingReference, vector);
+            sizeBytes += bytes - (previous == null ? 0 : bytesOf(previous));
+            Iterator<float[]> eldest = entries.values().iterator();
+            while (sizeBytes > maxBytes) {
+                sizeBytes -= bytesOf(eldest.next());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static float[] await(CompletableFuture<float[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static long bytesOf(float[] vector) {
+        return (long) vector.length * Float.BYTES;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ai.virtualpresenter.store;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Row-major matrix of unit-length embeddings in one contiguous {@code float[]}, so a full scan walks memory
+ * sequentially and each row can be fed to SIMD loads without copying. Not thread-safe.
+ */
+final class EmbeddingMatrix {
+
+    private final int dimensions;
+    private final VectorOps ops;
+    private float[] data;
+    private int rows;
+
+    EmbeddingMatrix(int dimensions, VectorOps ops) {
+        this(dimensions, ops, new float[16 * dimensions], 0);
+    }
+
+    private EmbeddingMatrix(int dimensions, VectorOps ops, float[] data, int rows) {
+        this.dimensions = dimensions;
+        this.ops = ops;
+        this.data = data;
+        this.rows = rows;
+    }
+
+    int add(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions but got " + vector.length);
+        }
+        if ((rows + 1) * dimensions > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        int offset = rows * dimensions;
+        float norm = (float) Math.sqrt(ops.dot(vector, 0, vector, 0, dimensions));
+        float scale = norm == 0 ? 0 : 1 / norm;
+        for (int i = 0; i < dimensions; i++) {
+            data[offset + i] = vector[i] * scale;
+        }
+        return rows++;
+    }
+
+    float similarity(float[] query, int row) {
+        return ops.dot(query, 0, data, row * dimensions, dimensions);
+    }
+
+    float similarity(int row, int other) {
+        return ops.dot(data, row * dimensions, data, other * dimensions, dimensions);
+    }
+
+    float[] row(int row) {
+        return Arrays.copyOfRange(data, row * dimensions, (row + 1) * dimensions);
+    }
+
+    int[] scan(float[] query, int k, float[] scores) {
+        return scan(query, k, scores, new BitSet());
+    }
+
+    /**
+     * Exact top-{@code k} by scanning every row not set in {@code excluded}.
+     *
+     * @return row ids ordered by descending similarity, with their scores in {@code scores}
+     */
+    int[] scan(float[] query, int k, float[] scores, BitSet excluded) {
+        int limit = Math.min(k, rows);
+        int[] best = new int[limit];
+        if (limit == 0) {
+            return best;
+        }
+        int found = 0;
+        for (int row = excluded.nextClearBit(0); row < rows; row = excluded.nextClearBit(row + 1)) {
+            float score = similarity(query, row);
+            if (found == limit && score <= scores[limit - 1]) {
+                continue;
+            }
+            // Insertion into the small sorted top-k window; k is a handful, so this beats a heap.
+            int position = found < limit ? found++ : limit - 1;
+            while (position > 0 && scores[position - 1] < score) {
+                scores[position] = scores[position - 1];
+                best[position] = best[position - 1];
+                position--;
+            }
+            scores[position] = score;
+            best[position] = row;
+        }
+        return found == limit ? best : Arrays.copyOf(best, found);
+    }
+
+    /**
+     * An independent copy of the rows added so far, which another thread may read while this matrix grows.
+     */
+    EmbeddingMatrix copy() {
+        return new EmbeddingMatrix(dimensions, ops, Arrays.copyOf(data, Math.max(rows, 1) * dimensions), rows);
+    }
+
+    int size() {
+        return rows;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+}
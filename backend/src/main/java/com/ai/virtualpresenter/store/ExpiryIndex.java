@@ -0,0 +1,59 @@
+package com.ai.virtualpresenter.store;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keys ordered by the instant they fall due, so a sweep touches only what has expired.
+ */
+final class ExpiryIndex {
+
+    private static final Comparator<Entry> BY_DUE_AT = Comparator.comparing(Entry::dueAt).thenComparing(Entry::key);
+
+    private final TreeSet<Entry> entries = new TreeSet<>(BY_DUE_AT);
+    private final Map<String, Instant> dueAtByKey = new HashMap<>();
+
+    /**
+     * Schedules {@code key} for {@code dueAt}, replacing any earlier schedule for it.
+     */
+    synchronized void schedule(String key, Instant dueAt) {
+        Instant previous = dueAtByKey.put(key, dueAt);
+        if (previous != null) {
+            entries.remove(new Entry(previous, key));
+        }
+        entries.add(new Entry(dueAt, key));
+    }
+
+    synchronized boolean contains(String key) {
+        return dueAtByKey.containsKey(key);
+    }
+
+    synchronized void remove(String key) {
+        Instant dueAt = dueAtByKey.remove(key);
+        if (dueAt != null) {
+            entries.remove(new Entry(dueAt, key));
+        }
+    }
+
+    synchronized List<String> pollDue(Instant now) {
+        List<String> due = new ArrayList<>();
+        while (!entries.isEmpty() && !entries.first().dueAt().isAfter(now)) {
+            Entry entry = entries.pollFirst();
+            dueAtByKey.remove(entry.key());
+            due.add(entry.key());
+        }
+        return due;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(Instant dueAt, String key) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.ai.virtualpresenter.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Hierarchical navigable small-world graph over the rows of an {@link EmbeddingMatrix}, for approximate
+ * nearest-neighbour search. Not thread-safe.
+ */
+final class HnswGraph {
+
+    private static final Comparator<Candidate> BY_SIMILARITY = Comparator.comparingDouble(Candidate::similarity);
+
+    private EmbeddingMatrix matrix;
+    private final int m;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final List<int[][]> links = new ArrayList<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswGraph(EmbeddingMatrix matrix, int m, int efConstruction, long seed) {
+        this.matrix = matrix;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Links {@code row}, which must be the next row of the matrix not yet in the graph.
+     */
+    void insert(int row) {
+        if (row != links.size()) {
+            throw new IllegalStateException("Rows must be inserted in order; expected " + links.size() + " but got " + row);
+        }
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        int[][] layers = new int[level + 1][];
+        Arrays.fill(layers, new int[0]);
+        links.add(layers);
+        if (entryPoint < 0) {
+            entryPoint = row;
+            maxLevel = level;
+            return;
+        }
+        float[] query = matrix.row(row);
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            List<Candidate> candidates = searchLayer(query, current, efConstruction, layer);
+            int[] neighbours = closest(candidates, maxLinks(layer));
+            layers[layer] = neighbours;
+            for (int neighbour : neighbours) {
+                connect(neighbour, row, layer);
+            }
+            current = candidates.get(0).row();
+        }
+        if (level > maxLevel) {
+            entryPoint = row;
+            maxLevel = level;
+        }
+    }
+
+    /**
+     * Reads vectors from {@code matrix} from now on; its first {@link #size()} rows must be the ones already linked.
+     */
+    void rebind(EmbeddingMatrix matrix) {
+        this.matrix = matrix;
+    }
+
+    /**
+     * Approximate top-{@code k}; {@code ef} bounds the base-layer beam and trades recall for speed.
+     */
+    List<Candidate> search(float[] query, int k, int ef) {
+        if (entryPoint < 0) {
+            return List.of();
+        }
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        List<Candidate> found = searchLayer(query, current, Math.max(ef, k), 0);
+        return found.subList(0, Math.min(k, found.size()));
+    }
+
+    int size() {
+        return links.size();
+    }
+
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        float best = matrix.similarity(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int neighbour : links.get(current)[layer]) {
+                float similarity = matrix.similarity(query, neighbour);
+                if (similarity > best) {
+                    best = similarity;
+                    current = neighbour;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private List<Candidate> searchLayer(float[] query, int start, int ef, int layer) {
+        BitSet visited = new BitSet(links.size());
+        visited.set(start);
+        Candidate first = new Candidate(start, matrix.similarity(query, start));
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(BY_SIMILARITY.reversed());
+        PriorityQueue<Candidate> results = new PriorityQueue<>(BY_SIMILARITY);
+        frontier.add(first);
+        results.add(first);
+        while (!frontier.isEmpty()) {
+            Candidate candidate = frontier.poll();
+            if (results.size() >= ef && candidate.similarity() < results.peek().similarity()) {
+                break;
+            }
+            for (int neighbour : links.get(candidate.row())[layer]) {
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float similarity = matrix.similarity(query, neighbour);
+                if (results.size() < ef || similarity > results.peek().similarity()) {
+                    Candidate next = new Candidate(neighbour, similarity);
+                    frontier.add(next);
+                    results.add(next);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        List<Candidate> ordered = new ArrayList<>(results);
+        ordered.sort(BY_SIMILARITY.reversed());
+        return ordered;
+    }
+
+    private void connect(int node, int row, int layer) {
+        int[][] layers = links.get(node);
+        int[] current = layers[layer];
+        int[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = row;
+        if (grown.length <= maxLinks(layer)) {
+            layers[layer] = grown;
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>(grown.length);
+        for (int neighbour : grown) {
+            candidates.add(new Candidate(neighbour, matrix.similarity(node, neighbour)));
+        }
+        candidates.sort(BY_SIMILARITY.reversed());
+        layers[layer] = closest(candidates, maxLinks(layer));
+    }
+
+    private int maxLinks(int layer) {
+        return layer == 0 ? 2 * m : m;
+    }
+
+    private static int[] closest(List<Candidate> ordered, int limit) {
+        int[] rows = new int[Math.min(limit, ordered.size())];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = ordered.get(i).row();
+        }
+        return rows;
+    }
+
+    record Candidate(int row, float similarity) {
+    }
+}
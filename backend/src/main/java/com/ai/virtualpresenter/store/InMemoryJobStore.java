@@ -0,0 +1,142 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Heap-backed {@link JobStore}. A finished job moves without its script to a {@link CompactJobArena} after
+ * {@code compactAfter} and is evicted after {@code ttl}, both counted from when it was first saved as terminal.
+ */
+@Component
+@Profile("!redis")
+public class InMemoryJobStore implements JobStore {
+
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    private final JobIndex index = new JobIndex();
+    private final Duration compactAfter;
+    private final Duration ttl;
+    private final ExpiryIndex compactions = new ExpiryIndex();
+    private final ExpiryIndex evictions = new ExpiryIndex();
+    private final CompactJobArena arena;
+    private final Map<String, Long> compacted = new ConcurrentHashMap<>();
+
+    public InMemoryJobStore(@Value("${virtual-presenter.jobs.retention.compact-after-minutes:60}") long compactAfterMinutes,
+                            @Value("${virtual-presenter.jobs.retention.ttl-minutes:1440}") long ttlMinutes,
+                            @Value("${virtual-presenter.jobs.retention.arena-segment-bytes:1048576}") int arenaSegmentBytes,
+                            MeterRegistry meterRegistry) {
+        this.compactAfter = Duration.ofMinutes(compactAfterMinutes);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.arena = new CompactJobArena(arenaSegmentBytes);
+        Gauge.builder("jobs.store.live", jobs, Map::size)
+                .description("Stored jobs held in full")
+                .register(meterRegistry);
+        Gauge.builder("jobs.store.compacted", compacted, Map::size)
+                .description("Finished jobs reduced to a summary without their script")
+                .register(meterRegistry);
+        Gauge.builder("jobs.store.arena.bytes", arena, CompactJobArena::reservedBytes)
+                .description("Off-heap bytes reserved for compacted jobs")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void save(GenerationJob job) {
+        String jobId = job.getJobId();
+        if (compacted.containsKey(jobId)) {
+            // Terminal jobs no longer change; keep the compact copy.
+            return;
+        }
+        jobs.put(jobId, job);
+        index.index(job);
+        if (job.getState().isTerminal() && !evictions.contains(jobId)) {
+            Instant now = Instant.now();
+            compactions.schedule(jobId, now.plus(compactAfter));
+            evictions.schedule(jobId, now.plus(ttl));
+        }
+    }
+
+    @Override
+    public Optional<GenerationJob> findById(String jobId) {
+        return Optional.ofNullable(lookup(jobId));
+    }
+
+    @Override
+    public List<GenerationJob> findAllById(List<String> jobIds) {
+        List<GenerationJob> found = new ArrayList<>(jobIds.size());
+        for (String jobId : jobIds) {
+            GenerationJob job = lookup(jobId);
+            if (job != null) {
+                found.add(job);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public JobPage list(JobQuery query) {
+        List<GenerationJob> page = new ArrayList<>(query.limit());
+        for (JobCursor key : index.candidates(query)) {
+            if (JobIndex.isBefore(key, query.createdFrom())) {
+                break;
+            }
+            GenerationJob job = lookup(key.jobId());
+            if (job != null && query.matches(job)) {
+                page.add(job);
+                if (page.size() == query.limit()) {
+                    return new JobPage(page, key);
+                }
+            }
+        }
+        return new JobPage(page, null);
+    }
+
+    @Scheduled(fixedDelayString = "${virtual-presenter.jobs.retention.sweep-interval-ms:60000}")
+    public void sweep() {
+        sweep(Instant.now());
+    }
+
+    void sweep(Instant now) {
+        for (String jobId : evictions.pollDue(now)) {
+            GenerationJob evicted = jobs.remove(jobId);
+            Long address = compacted.remove(jobId);
+            if (address != null) {
+                evicted = arena.read(address);
+                arena.free(address);
+            }
+            if (evicted != null) {
+                index.remove(evicted);
+            }
+            compactions.remove(jobId);
+        }
+        for (String jobId : compactions.pollDue(now)) {
+            GenerationJob job = jobs.get(jobId);
+            if (job != null) {
+                // Publish the compact copy before dropping the full one so readers always find the job.
+                compacted.put(jobId, arena.store(job));
+                jobs.remove(jobId, job);
+            }
+        }
+    }
+
+    private GenerationJob lookup(String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job != null) {
+            return job;
+        }
+        Long address = compacted.get(jobId);
+        return address == null ? null : arena.read(address);
+    }
+}
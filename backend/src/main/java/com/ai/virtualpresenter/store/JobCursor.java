@@ -0,0 +1,42 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Position in the newest-first job listing. Jobs are ordered by {@code createdAt} truncated to milliseconds,
+ * then by descending {@code jobId}, which matches Redis' reverse score/member order for sorted sets.
+ */
+public record JobCursor(Instant createdAt, String jobId) {
+
+    public static final Comparator<JobCursor> NEWEST_FIRST =
+            Comparator.comparing(JobCursor::createdAt).thenComparing(JobCursor::jobId).reversed();
+
+    public static JobCursor of(GenerationJob job) {
+        return new JobCursor(job.getCreatedAt().truncatedTo(ChronoUnit.MILLIS), job.getJobId());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static JobCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new JobCursor(Instant.ofEpochMilli(Long.parseLong(decoded.substring(0, separator))),
+                    decoded.substring(separator + 1));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + ":" + jobId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
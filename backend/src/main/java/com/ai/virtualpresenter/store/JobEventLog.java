@@ -0,0 +1,324 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.JobSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of job status transitions in memory-mapped segment files, replayed into the {@link JobStore} on
+ * startup. Concurrent transitions may be recorded out of version order; a replay keeps the highest version.
+ * <p>
+ * Appends survive a crash of the process; {@link #commit()} forces them to the device as a group commit, so a
+ * power loss costs at most {@code commit-interval-ms}. Records are
+ * {@code [length][crc32c][recordedAt millis][CompactJobCodec record]}, and a replay stops at a segment's first torn
+ * record. The directory must belong to one process: every job found there is restored on startup.
+ */
+@Component
+public class JobEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(JobEventLog.class);
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final boolean enabled;
+    private final Path dir;
+    private final int segmentBytes;
+    private final Duration ttl;
+    private final JobStore jobStore;
+    private final Counter records;
+    private final Counter commits;
+    private final Map<String, Long> appendedVersions = new ConcurrentHashMap<>();
+    private final Deque<SealedSegment> sealed = new ArrayDeque<>();
+    private Segment current;
+    private long nextSegment;
+
+    public JobEventLog(@Value("${virtual-presenter.jobs.event-log.enabled:false}") boolean enabled,
+                       @Value("${virtual-presenter.jobs.event-log.dir:data/job-events}") Path dir,
+                       @Value("${virtual-presenter.jobs.event-log.segment-bytes:16777216}") int segmentBytes,
+                       @Value("${virtual-presenter.jobs.retention.ttl-minutes:1440}") long ttlMinutes,
+                       JobStore jobStore,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.jobStore = jobStore;
+        this.records = Counter.builder("jobs.eventlog.records")
+                .description("Job status changes appended to the event log")
+                .register(meterRegistry);
+        this.commits = Counter.builder("jobs.eventlog.commits")
+                .description("Group commits forcing appended records to the device")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            List<Path> segments;
+            try (Stream<Path> files = Files.list(dir)) {
+                segments = files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                        .sorted(Comparator.comparing(Path::getFileName))
+                        .toList();
+            }
+            Path emptyTail = replay(segments);
+            if (!segments.isEmpty()) {
+                nextSegment = segmentNumber(segments.get(segments.size() - 1)) + 1;
+            }
+            current = emptyTail != null ? reuse(emptyTail) : map(nextSegment++, segmentBytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open job event log in " + dir, ex);
+        }
+    }
+
+    /**
+     * Skips {@code snapshot} if it is the version recorded last. The script is written with the first record of a
+     * running job, so a resumed job has it after a restart.
+     */
+    public void append(GenerationJob job, JobSnapshot snapshot) {
+        if (!enabled) {
+            return;
+        }
+        // A transition that lost the race with the job finishing; its record must not reopen the job's entry.
+        boolean straggler = !snapshot.state().isTerminal() && job.getState().isTerminal();
+        Long previous = appendedVersions.get(job.getJobId());
+        if (previous != null && previous == snapshot.version()) {
+            return;
+        }
+        boolean withScript = previous == null && !straggler && !snapshot.state().isTerminal();
+        byte[] record = CompactJobCodec.encode(job, snapshot, withScript);
+        long recordedAt = System.currentTimeMillis();
+        synchronized (this) {
+            Long latest = appendedVersions.get(job.getJobId());
+            if (current == null || latest != null && latest == snapshot.version()) {
+                return;
+            }
+            write(record, recordedAt);
+            if (snapshot.state().isTerminal()) {
+                appendedVersions.remove(job.getJobId());
+            } else if (!straggler) {
+                appendedVersions.put(job.getJobId(), snapshot.version());
+            }
+        }
+        records.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${virtual-presenter.jobs.event-log.commit-interval-ms:10}")
+    public void commit() {
+        Segment segment;
+        int from;
+        int to;
+        synchronized (this) {
+            segment = current;
+            if (segment == null || segment.committed == segment.buffer.position()) {
+                return;
+            }
+            from = segment.committed;
+            to = segment.buffer.position();
+            segment.committed = to;
+        }
+        segment.buffer.force(from, to - from);
+        commits.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${virtual-presenter.jobs.retention.sweep-interval-ms:60000}")
+    public void sweep() {
+        sweep(Instant.now());
+    }
+
+    synchronized void sweep(Instant now) {
+        long horizon = now.minus(ttl).toEpochMilli();
+        while (!sealed.isEmpty() && sealed.peekFirst().lastRecordedAt() < horizon) {
+            Path file = sealed.pollFirst().file();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("Failed to delete job event log segment {}", file, ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        commit();
+        current = null;
+    }
+
+    private void write(byte[] record, long recordedAt) {
+        int size = HEADER_BYTES + Long.BYTES + record.length;
+        // Leave room for the zero length that ends the segment.
+        if (current.buffer.remaining() < size + Integer.BYTES) {
+            roll(size + Integer.BYTES);
+        }
+        ByteBuffer buffer = current.buffer;
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES).putLong(recordedAt).put(record);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + HEADER_BYTES, size - HEADER_BYTES));
+        // The length goes in last, so a record torn mid-write reads as the end of the segment.
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(start, size - HEADER_BYTES);
+        current.lastRecordedAt = recordedAt;
+    }
+
+    private void roll(int minimumBytes) {
+        Segment full = current;
+        full.buffer.force(full.committed, full.buffer.position() - full.committed);
+        try {
+            if (full.lastRecordedAt > 0) {
+                sealed.addLast(new SealedSegment(full.file, full.lastRecordedAt));
+            } else {
+                Files.deleteIfExists(full.file);
+            }
+            current = map(nextSegment++, Math.max(segmentBytes, minimumBytes));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to roll job event log in " + dir, ex);
+        }
+    }
+
+    /**
+     * @return the last segment if it holds no records and is large enough to be written to again
+     */
+    private Path replay(List<Path> segments) throws IOException {
+        Path emptyTail = null;
+        Map<String, GenerationJob> latest = new HashMap<>();
+        Map<String, Long> recordedAt = new HashMap<>();
+        Map<String, String> scripts = new HashMap<>();
+        int count = 0;
+        for (Path file : segments) {
+            long lastRecordedAt = 0;
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < Long.BYTES || length > buffer.remaining()) {
+                    break;
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(buffer.slice(buffer.position(), length));
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Torn record in job event log segment {}, ignoring the rest of it", file);
+                    break;
+                }
+                long at = buffer.getLong();
+                byte[] record = new byte[length - Long.BYTES];
+                buffer.get(record);
+                GenerationJob job = CompactJobCodec.decode(record);
+                if (job.getScript() != null) {
+                    scripts.put(job.getJobId(), job.getScript());
+                }
+                GenerationJob previous = latest.get(job.getJobId());
+                if (previous == null || job.getVersion() >= previous.getVersion()) {
+                    latest.put(job.getJobId(), job);
+                    recordedAt.put(job.getJobId(), at);
+                }
+                lastRecordedAt = at;
+                count++;
+            }
+            if (lastRecordedAt > 0) {
+                sealed.addLast(new SealedSegment(file, lastRecordedAt));
+            } else if (file.equals(segments.get(segments.size() - 1)) && buffer.capacity() >= segmentBytes) {
+                emptyTail = file;
+            } else {
+                Files.deleteIfExists(file);
+            }
+        }
+        long horizon = Instant.now().minus(ttl).toEpochMilli();
+        int restored = 0;
+        for (GenerationJob job : latest.values()) {
+            if (job.getState().isTerminal() && recordedAt.get(job.getJobId()) < horizon) {
+                continue;
+            }
+            GenerationJob stored = jobStore.findById(job.getJobId()).orElse(null);
+            if (stored != null && stored.getVersion() >= job.getVersion()) {
+                continue;
+            }
+            String script = scripts.get(job.getJobId());
+            if (job.getScript() == null && script != null) {
+                job = job.withScript(script);
+            } else if (job.getScript() == null && !job.getState().isTerminal()) {
+                // Its first record was pruned, so it cannot be run again.
+                job.markFailed("Interrupted by a restart");
+            }
+            jobStore.save(job);
+            restored++;
+        }
+        if (count > 0) {
+            log.info("Replayed {} job event(s) from {} segment(s), restored {} job(s)", count, segments.size(), restored);
+        }
+        return emptyTail;
+    }
+
+    private Segment map(long number, int capacity) throws IOException {
+        Path file = dir.resolve(String.format("%020d%s", number, SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    /**
+     * Maps a segment without records for writing from its start. Any torn record left in it is overwritten or
+     * fails its checksum on replay.
+     */
+    private static Segment reuse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(file, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static final class Segment {
+
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int committed;
+        private long lastRecordedAt;
+
+        Segment(Path file, MappedByteBuffer buffer) {
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    private record SealedSegment(Path file, long lastRecordedAt) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary indexes for listing jobs without scanning the whole store: one newest-first skip list over
+ * every job, plus one per state, mode and voice. Only the state index changes after a job is created, until the
+ * job is evicted.
+ */
+final class JobIndex {
+
+    private final NavigableSet<JobCursor> all = newIndex();
+    private final Map<JobState, NavigableSet<JobCursor>> byState = new EnumMap<>(JobState.class);
+    private final Map<GenerationMode, NavigableSet<JobCursor>> byMode = new EnumMap<>(GenerationMode.class);
+    private final Map<String, NavigableSet<JobCursor>> byVoice = new ConcurrentHashMap<>();
+    private final Map<String, JobState> indexedStates = new ConcurrentHashMap<>();
+
+    JobIndex() {
+        for (JobState state : JobState.values()) {
+            byState.put(state, newIndex());
+        }
+        for (GenerationMode mode : GenerationMode.values()) {
+            byMode.put(mode, newIndex());
+        }
+    }
+
+    void index(GenerationJob job) {
+        JobCursor key = JobCursor.of(job);
+        JobState state = job.getState();
+        indexedStates.compute(job.getJobId(), (jobId, previous) -> {
+            if (previous == null) {
+                all.add(key);
+                byMode.get(job.getMode()).add(key);
+                byVoice.computeIfAbsent(job.getVoiceId(), voiceId -> newIndex()).add(key);
+            } else if (previous != state) {
+                byState.get(previous).remove(key);
+            }
+            byState.get(state).add(key);
+            return state;
+        });
+    }
+
+    void remove(GenerationJob job) {
+        JobCursor key = JobCursor.of(job);
+        indexedStates.computeIfPresent(job.getJobId(), (jobId, state) -> {
+            all.remove(key);
+            byMode.get(job.getMode()).remove(key);
+            byState.get(state).remove(key);
+            NavigableSet<JobCursor> voiceIndex = byVoice.get(job.getVoiceId());
+            if (voiceIndex != null) {
+                voiceIndex.remove(key);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns the narrowest index for {@code query}, positioned after its cursor and {@code createdTo} bound.
+     * Callers stop iterating once {@code createdAt} drops below {@code createdFrom}.
+     */
+    NavigableSet<JobCursor> candidates(JobQuery query) {
+        NavigableSet<JobCursor> index;
+        if (query.voiceId() != null) {
+            index = byVoice.getOrDefault(query.voiceId(), newIndex());
+        } else if (query.state() != null) {
+            index = byState.get(query.state());
+        } else if (query.mode() != null) {
+            index = byMode.get(query.mode());
+        } else {
+            index = all;
+        }
+        JobCursor start = query.after();
+        if (query.createdTo() != null) {
+            // Sorts before every job created in the same millisecond as createdTo; matches() drops those.
+            JobCursor upper = new JobCursor(query.createdTo().truncatedTo(ChronoUnit.MILLIS).plusMillis(1), "");
+            if (start == null || JobCursor.NEWEST_FIRST.compare(upper, start) > 0) {
+                start = upper;
+            }
+        }
+        return start == null ? index : index.tailSet(start, false);
+    }
+
+    static boolean isBefore(JobCursor key, Instant createdFrom) {
+        return createdFrom != null && key.createdAt().isBefore(createdFrom.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    private static NavigableSet<JobCursor> newIndex() {
+        return new ConcurrentSkipListSet<>(JobCursor.NEWEST_FIRST);
+    }
+}
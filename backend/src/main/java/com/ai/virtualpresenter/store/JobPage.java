@@ -0,0 +1,14 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+
+import java.util.List;
+
+/**
+ * One page of a job listing, newest first. {@code next} is {@code null} when no more jobs can match.
+ */
+public record JobPage(
+        List<GenerationJob> jobs,
+        JobCursor next
+) {
+}
@@ -0,0 +1,30 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+
+import java.time.Instant;
+
+/**
+ * Filters for a job listing page. Every filter is optional; {@code createdFrom} is inclusive and
+ * {@code createdTo} exclusive. {@code after} continues from a previous page.
+ */
+public record JobQuery(
+        JobState state,
+        GenerationMode mode,
+        String voiceId,
+        Instant createdFrom,
+        Instant createdTo,
+        JobCursor after,
+        int limit
+) {
+
+    public boolean matches(GenerationJob job) {
+        return (state == null || job.getState() == state)
+                && (mode == null || job.getMode() == mode)
+                && (voiceId == null || voiceId.equals(job.getVoiceId()))
+                && (createdFrom == null || !job.getCreatedAt().isBefore(createdFrom))
+                && (createdTo == null || job.getCreatedAt().isBefore(createdTo));
+    }
+}
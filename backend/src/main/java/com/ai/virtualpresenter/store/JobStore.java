@@ -1,22 +1,30 @@
 package com.ai.virtualpresenter.store;
 
 import com.ai.virtualpresenter.model.GenerationJob;
-import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
-@Component
-public class JobStore {
+public interface JobStore {
 
-    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    void save(GenerationJob job);
 
-    public void save(GenerationJob job) {
-        jobs.put(job.getJobId(), job);
-    }
+    Optional<GenerationJob> findById(String jobId);
+
+    /**
+     * Returns the stored jobs among {@code jobIds}, in request order; unknown ids are skipped.
+     */
+    List<GenerationJob> findAllById(List<String> jobIds);
+
+    /**
+     * Newest first. Cost grows with the page size rather than with the number of stored jobs.
+     */
+    JobPage list(JobQuery query);
 
-    public Optional<GenerationJob> findById(String jobId) {
-        return Optional.ofNullable(jobs.get(jobId));
+    /**
+     * Whether every node reads the same jobs, so a job can be looked up here while its owner is down.
+     */
+    default boolean isShared() {
+        return false;
     }
 }
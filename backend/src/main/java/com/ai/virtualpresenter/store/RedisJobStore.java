@@ -0,0 +1,469 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobSnapshot;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.model.StageTiming;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable {@link JobStore} backed by Redis hashes, with sorted sets by {@code createdAt} for listing and retention.
+ * <p>
+ * {@link #save(GenerationJob)} only marks the job dirty; a scheduled flush writes the latest snapshot of every dirty
+ * job in one pipeline. Unfinished jobs saved here stay in memory, so a cancel or long-poll always reaches the
+ * instance the pipeline updates.
+ */
+@Component
+@Profile("redis")
+public class RedisJobStore implements JobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisJobStore.class);
+
+    private static final String FIELD_MODE = "mode";
+    private static final String FIELD_VOICE_ID = "voiceId";
+    private static final String FIELD_SCRIPT = "script";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_STATE = "state";
+    private static final String FIELD_PROGRESS = "progress";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_DOWNLOAD_URL = "downloadUrl";
+    private static final String FIELD_STAGE_TIMINGS = "stageTimings";
+    private static final String FIELD_VERSION = "version";
+    private static final String FIELD_ARTIFACT_PREFIX = "artifact:";
+    private static final int MIN_LIST_BATCH = 32;
+    private static final int SWEEP_BATCH = 1000;
+    private static final String COMPACT_INDEX = "retention:compact";
+    private static final String EVICT_INDEX = "retention:evict";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Map<String, GenerationJob> pendingWrites = new ConcurrentHashMap<>();
+    private final Map<String, GenerationJob> unfinishedJobs = new ConcurrentHashMap<>();
+    private final Map<String, GenerationJob> hotCache;
+    private final Duration compactAfter;
+    private final Duration ttl;
+    private final AtomicLong liveJobs = new AtomicLong();
+    private final AtomicLong compactedJobs = new AtomicLong();
+
+    public RedisJobStore(StringRedisTemplate redisTemplate,
+                         @Value("${virtual-presenter.jobs.redis.key-prefix:vp:job:}") String keyPrefix,
+                         @Value("${virtual-presenter.jobs.redis.hot-cache-size:1024}") int hotCacheSize,
+                         @Value("${virtual-presenter.jobs.retention.compact-after-minutes:60}") long compactAfterMinutes,
+                         @Value("${virtual-presenter.jobs.retention.ttl-minutes:1440}") long ttlMinutes,
+                         MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.compactAfter = Duration.ofMinutes(compactAfterMinutes);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        // Refreshed by each sweep rather than queried from Redis on every scrape.
+        Gauge.builder("jobs.store.live", liveJobs, AtomicLong::get)
+                .description("Stored jobs held in full")
+                .register(meterRegistry);
+        Gauge.builder("jobs.store.compacted", compactedJobs, AtomicLong::get)
+                .description("Finished jobs reduced to a summary without their script")
+                .register(meterRegistry);
+        this.hotCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, GenerationJob> eldest) {
+                return size() > hotCacheSize;
+            }
+        });
+    }
+
+    @Override
+    public void save(GenerationJob job) {
+        if (job.getState().isTerminal()) {
+            hotCache.put(job.getJobId(), job);
+            unfinishedJobs.remove(job.getJobId());
+        } else {
+            unfinishedJobs.put(job.getJobId(), job);
+            hotCache.remove(job.getJobId());
+        }
+        pendingWrites.put(job.getJobId(), job);
+    }
+
+    @Override
+    public Optional<GenerationJob> findById(String jobId) {
+        GenerationJob pending = pendingWrites.get(jobId);
+        if (pending != null) {
+            return Optional.of(pending);
+        }
+        GenerationJob cached = cached(jobId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Map<Object, Object> hash = redisTemplate.opsForHash().entries(key(jobId));
+        if (hash.isEmpty()) {
+            return Optional.empty();
+        }
+        GenerationJob job = decode(jobId, hash);
+        GenerationJob unfinished = unfinishedJobs.get(jobId);
+        if (unfinished != null) {
+            // Saved while it was being read.
+            return Optional.of(unfinished);
+        }
+        if (!job.getState().isTerminal()) {
+            // Unfinished but not saved here, so another node is running it and it may still move; not cached.
+            return Optional.of(job);
+        }
+        GenerationJob raced = hotCache.putIfAbsent(jobId, job);
+        return Optional.of(raced != null ? raced : job);
+    }
+
+    @Scheduled(fixedDelayString = "${virtual-presenter.jobs.redis.flush-interval-ms:250}")
+    public void flush() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+        List<GenerationJob> batch = new ArrayList<>(pendingWrites.size());
+        Iterator<Map.Entry<String, GenerationJob>> iterator = pendingWrites.entrySet().iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next().getValue());
+            iterator.remove();
+        }
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (GenerationJob job : batch) {
+                    stringConnection.hMSet(key(job.getJobId()), encode(job));
+                    writeIndexes(stringConnection, job);
+                    if (job.getState().isTerminal()) {
+                        // NX keeps the time the job was first seen finished.
+                        stringConnection.zAdd(indexKey(COMPACT_INDEX), now + compactAfter.toMillis(), job.getJobId(),
+                                RedisZSetCommands.ZAddArgs.ifNotExists());
+                        stringConnection.zAdd(indexKey(EVICT_INDEX), now + ttl.toMillis(), job.getJobId(),
+                                RedisZSetCommands.ZAddArgs.ifNotExists());
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Failed to flush {} job(s) to Redis, retrying on next tick", batch.size(), ex);
+            batch.forEach(job -> pendingWrites.putIfAbsent(job.getJobId(), job));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${virtual-presenter.jobs.retention.sweep-interval-ms:60000}")
+    public void sweep() {
+        try {
+            sweep(Instant.now());
+        } catch (RuntimeException ex) {
+            log.warn("Job retention sweep failed, retrying on next tick", ex);
+        }
+    }
+
+    void sweep(Instant now) {
+        flush();
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+        double due = now.toEpochMilli();
+        Set<String> toCompact = zSet.rangeByScore(indexKey(COMPACT_INDEX), Double.NEGATIVE_INFINITY, due, 0, SWEEP_BATCH);
+        if (toCompact != null && !toCompact.isEmpty()) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (String jobId : toCompact) {
+                    stringConnection.hDel(key(jobId), FIELD_SCRIPT);
+                }
+                stringConnection.zRem(indexKey(COMPACT_INDEX), toCompact.toArray(String[]::new));
+                return null;
+            });
+            toCompact.forEach(jobId -> hotCache.computeIfPresent(jobId, (id, job) -> job.withoutScript()));
+        }
+        Set<String> toEvict = zSet.rangeByScore(indexKey(EVICT_INDEX), Double.NEGATIVE_INFINITY, due, 0, SWEEP_BATCH);
+        if (toEvict != null && !toEvict.isEmpty()) {
+            List<GenerationJob> expired = findAllById(new ArrayList<>(toEvict));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (GenerationJob job : expired) {
+                    stringConnection.del(key(job.getJobId()));
+                    removeIndexes(stringConnection, job);
+                }
+                String[] jobIds = toEvict.toArray(String[]::new);
+                stringConnection.zRem(indexKey(EVICT_INDEX), jobIds);
+                stringConnection.zRem(indexKey(COMPACT_INDEX), jobIds);
+                return null;
+            });
+            toEvict.forEach(jobId -> {
+                hotCache.remove(jobId);
+                unfinishedJobs.remove(jobId);
+                pendingWrites.remove(jobId);
+            });
+        }
+        Long finished = zSet.zCard(indexKey(EVICT_INDEX));
+        Long uncompacted = zSet.zCard(indexKey(COMPACT_INDEX));
+        Long stored = zSet.zCard(indexKey("all"));
+        long compacted = Math.max(0, (finished == null ? 0 : finished) - (uncompacted == null ? 0 : uncompacted));
+        compactedJobs.set(compacted);
+        liveJobs.set(Math.max(0, (stored == null ? 0 : stored) - compacted));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Walks the narrowest sorted-set index in score order. Jobs saved since the last flush are merged into the
+     * page from memory in place of their indexed entries, so listing never forces a write.
+     */
+    @Override
+    public JobPage list(JobQuery query) {
+        JobCursor after = query.after();
+        List<GenerationJob> pending = pendingWrites.values().stream()
+                .filter(query::matches)
+                .filter(job -> after == null || JobCursor.NEWEST_FIRST.compare(JobCursor.of(job), after) > 0)
+                .sorted(Comparator.comparing(JobCursor::of, JobCursor.NEWEST_FIRST))
+                .toList();
+        Set<String> pendingIds = new HashSet<>();
+        pending.forEach(job -> pendingIds.add(job.getJobId()));
+        String index = indexFor(query);
+        double max = query.createdTo() == null ? Double.POSITIVE_INFINITY : query.createdTo().toEpochMilli();
+        if (after != null) {
+            max = Math.min(max, after.createdAt().toEpochMilli());
+        }
+        double min = query.createdFrom() == null ? Double.NEGATIVE_INFINITY : query.createdFrom().toEpochMilli();
+        int batchSize = Math.max(MIN_LIST_BATCH, query.limit() * 2);
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+        List<GenerationJob> page = new ArrayList<>(query.limit());
+        int nextPending = 0;
+        long offset = 0;
+        while (true) {
+            Set<ZSetOperations.TypedTuple<String>> tuples = zSet.reverseRangeByScoreWithScores(index, min, max, offset, batchSize);
+            if (tuples == null || tuples.isEmpty()) {
+                break;
+            }
+            offset += tuples.size();
+            List<String> jobIds = new ArrayList<>(tuples.size());
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                // Members sharing the cursor's millisecond are returned in reverse lexical order; skip up to it.
+                if ((after == null || tuple.getScore() < after.createdAt().toEpochMilli()
+                        || tuple.getValue().compareTo(after.jobId()) < 0) && !pendingIds.contains(tuple.getValue())) {
+                    jobIds.add(tuple.getValue());
+                }
+            }
+            for (GenerationJob job : findAllById(jobIds)) {
+                if (!query.matches(job)) {
+                    continue;
+                }
+                JobCursor position = JobCursor.of(job);
+                while (nextPending < pending.size()
+                        && JobCursor.NEWEST_FIRST.compare(JobCursor.of(pending.get(nextPending)), position) < 0) {
+                    if (addToPage(page, pending.get(nextPending++), query.limit())) {
+                        return new JobPage(page, JobCursor.of(page.get(page.size() - 1)));
+                    }
+                }
+                if (addToPage(page, job, query.limit())) {
+                    return new JobPage(page, position);
+                }
+            }
+            if (tuples.size() < batchSize) {
+                break;
+            }
+        }
+        while (nextPending < pending.size()) {
+            if (addToPage(page, pending.get(nextPending++), query.limit())) {
+                return new JobPage(page, JobCursor.of(page.get(page.size() - 1)));
+            }
+        }
+        return new JobPage(page, null);
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    /**
+     * @return whether the page is now full
+     */
+    private static boolean addToPage(List<GenerationJob> page, GenerationJob job, int limit) {
+        page.add(job);
+        return page.size() == limit;
+    }
+
+    @Override
+    public List<GenerationJob> findAllById(List<String> jobIds) {
+        GenerationJob[] loaded = new GenerationJob[jobIds.size()];
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < loaded.length; i++) {
+            String jobId = jobIds.get(i);
+            GenerationJob pending = pendingWrites.get(jobId);
+            loaded[i] = pending != null ? pending : cached(jobId);
+            if (loaded[i] == null) {
+                misses.add(i);
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (int miss : misses) {
+                    stringConnection.hGetAll(key(jobIds.get(miss)));
+                }
+                return null;
+            });
+            for (int i = 0; i < misses.size(); i++) {
+                Map<?, ?> hash = (Map<?, ?>) hashes.get(i);
+                if (hash != null && !hash.isEmpty()) {
+                    loaded[misses.get(i)] = decode(jobIds.get(misses.get(i)), hash);
+                }
+            }
+        }
+        List<GenerationJob> jobs = new ArrayList<>(loaded.length);
+        for (GenerationJob job : loaded) {
+            if (job != null) {
+                jobs.add(job);
+            }
+        }
+        return jobs;
+    }
+
+    private GenerationJob cached(String jobId) {
+        GenerationJob unfinished = unfinishedJobs.get(jobId);
+        return unfinished != null ? unfinished : hotCache.get(jobId);
+    }
+
+    private void writeIndexes(StringRedisConnection connection, GenerationJob job) {
+        double score = job.getCreatedAt().toEpochMilli();
+        String jobId = job.getJobId();
+        connection.zAdd(indexKey("all"), score, jobId);
+        connection.zAdd(indexKey("mode:" + job.getMode().name()), score, jobId);
+        connection.zAdd(indexKey("voice:" + job.getVoiceId()), score, jobId);
+        for (JobState state : JobState.values()) {
+            if (state == job.getState()) {
+                connection.zAdd(indexKey("state:" + state.name()), score, jobId);
+            } else {
+                connection.zRem(indexKey("state:" + state.name()), jobId);
+            }
+        }
+    }
+
+    private void removeIndexes(StringRedisConnection connection, GenerationJob job) {
+        String jobId = job.getJobId();
+        connection.zRem(indexKey("all"), jobId);
+        connection.zRem(indexKey("mode:" + job.getMode().name()), jobId);
+        connection.zRem(indexKey("voice:" + job.getVoiceId()), jobId);
+        connection.zRem(indexKey("state:" + job.getState().name()), jobId);
+    }
+
+    private String indexFor(JobQuery query) {
+        if (query.voiceId() != null) {
+            return indexKey("voice:" + query.voiceId());
+        }
+        if (query.state() != null) {
+            return indexKey("state:" + query.state().name());
+        }
+        if (query.mode() != null) {
+            return indexKey("mode:" + query.mode().name());
+        }
+        return indexKey("all");
+    }
+
+    private String key(String jobId) {
+        return keyPrefix + jobId;
+    }
+
+    private String indexKey(String index) {
+        return keyPrefix + "index:" + index;
+    }
+
+    private static Map<String, String> encode(GenerationJob job) {
+        Map<String, String> hash = new HashMap<>();
+        hash.put(FIELD_MODE, job.getMode().name());
+        hash.put(FIELD_VOICE_ID, job.getVoiceId());
+        if (job.getScript() != null) {
+            hash.put(FIELD_SCRIPT, job.getScript());
+        }
+        hash.put(FIELD_CREATED_AT, job.getCreatedAt().toString());
+        JobSnapshot snapshot = job.snapshot();
+        hash.put(FIELD_STATE, snapshot.state().name());
+        hash.put(FIELD_PROGRESS, Integer.toString(snapshot.progress()));
+        hash.put(FIELD_MESSAGE, snapshot.message() == null ? "" : snapshot.message());
+        hash.put(FIELD_DOWNLOAD_URL, snapshot.downloadUrl() == null ? "" : snapshot.downloadUrl());
+        hash.put(FIELD_STAGE_TIMINGS, encodeStageTimings(job.getStageTimings()));
+        hash.put(FIELD_VERSION, Long.toString(snapshot.version()));
+        job.getStageArtifacts().forEach((stage, artifact) -> hash.put(FIELD_ARTIFACT_PREFIX + stage.name(), artifact));
+        return hash;
+    }
+
+    private static GenerationJob decode(String jobId, Map<?, ?> hash) {
+        String downloadUrl = (String) hash.get(FIELD_DOWNLOAD_URL);
+        String version = (String) hash.get(FIELD_VERSION);
+        GenerationJob job = new GenerationJob(
+                jobId,
+                GenerationMode.valueOf((String) hash.get(FIELD_MODE)),
+                (String) hash.get(FIELD_VOICE_ID),
+                (String) hash.get(FIELD_SCRIPT),
+                Instant.parse((String) hash.get(FIELD_CREATED_AT)),
+                JobState.valueOf((String) hash.get(FIELD_STATE)),
+                Integer.parseInt((String) hash.get(FIELD_PROGRESS)),
+                (String) hash.get(FIELD_MESSAGE),
+                downloadUrl == null || downloadUrl.isEmpty() ? null : downloadUrl,
+                version == null ? 0 : Long.parseLong(version)
+        );
+        decodeStageTimings((String) hash.get(FIELD_STAGE_TIMINGS)).forEach(job::recordStageTiming);
+        hash.forEach((field, value) -> {
+            String name = (String) field;
+            if (name.startsWith(FIELD_ARTIFACT_PREFIX)) {
+                job.recordStageArtifact(JobState.valueOf(name.substring(FIELD_ARTIFACT_PREFIX.length())), (String) value);
+            }
+        });
+        return job;
+    }
+
+    /**
+     * Encodes timings as {@code STATE=startMillis/finishMillis} pairs separated by {@code ;}.
+     */
+    private static String encodeStageTimings(Map<JobState, StageTiming> timings) {
+        StringJoiner joiner = new StringJoiner(";");
+        timings.forEach((stage, timing) -> joiner.add(stage.name() + "=" + timing.startedAt().toEpochMilli()
+                + "/" + timing.finishedAt().toEpochMilli()));
+        return joiner.toString();
+    }
+
+    private static Map<JobState, StageTiming> decodeStageTimings(String encoded) {
+        Map<JobState, StageTiming> timings = new EnumMap<>(JobState.class);
+        if (encoded == null || encoded.isEmpty()) {
+            return timings;
+        }
+        for (String entry : encoded.split(";")) {
+            int equals = entry.indexOf('=');
+            int slash = entry.indexOf('/', equals);
+            timings.put(JobState.valueOf(entry.substring(0, equals)), new StageTiming(
+                    Instant.ofEpochMilli(Long.parseLong(entry.substring(equals + 1, slash))),
+                    Instant.ofEpochMilli(Long.parseLong(entry.substring(slash + 1)))));
+        }
+        return timings;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ai.virtualpresenter.store;
+
+final class ScalarVectorOps implements VectorOps {
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ai.virtualpresenter.store;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Dot product on the widest vector shape the CPU supports, with a scalar tail for the remaining lanes.
+ */
+final class SimdVectorOps implements VectorOps {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector left = FloatVector.fromArray(SPECIES, a, aOffset + i);
+            FloatVector right = FloatVector.fromArray(SPECIES, b, bOffset + i);
+            sum = left.fma(right, sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            result += a[aOffset + i] * b[bOffset + i];
+        }
+        return result;
+    }
+}
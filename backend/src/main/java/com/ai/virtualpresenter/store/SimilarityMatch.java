@@ -0,0 +1,4 @@
+package com.ai.virtualpresenter.store;
+
+public record SimilarityMatch(String embeddingReference, float similarity) {
+}
@@ -0,0 +1,10 @@
+package com.ai.virtualpresenter.store;
+
+import java.nio.file.Path;
+
+public record StoredSample(
+        String sha256,
+        Path path,
+        long sizeBytes
+) {
+}
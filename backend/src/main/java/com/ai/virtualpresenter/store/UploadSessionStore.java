@@ -0,0 +1,34 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.UploadSession;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class UploadSessionStore {
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public void save(UploadSession session) {
+        sessions.put(session.getUploadId(), session);
+    }
+
+    public Optional<UploadSession> findById(String uploadId) {
+        return Optional.ofNullable(sessions.get(uploadId));
+    }
+
+    public void remove(String uploadId) {
+        sessions.remove(uploadId);
+    }
+
+    public List<UploadSession> findIdleSince(Instant cutoff) {
+        return sessions.values().stream()
+                .filter(session -> session.getLastActivityAt().isBefore(cutoff))
+                .toList();
+    }
+}
@@ -0,0 +1,21 @@
+package com.ai.virtualpresenter.store;
+
+interface VectorOps {
+
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * Returns the SIMD implementation when the JVM was started with {@code --add-modules jdk.incubator.vector},
+     * and the scalar loop otherwise.
+     */
+    static VectorOps best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new SimdVectorOps();
+            } catch (LinkageError ex) {
+                // Module present but unusable on this platform; fall through to the scalar loop.
+            }
+        }
+        return new ScalarVectorOps();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ai.virtualpresenter.store;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Content-addressed storage for voice samples. Each sample lives at {@code <root>/<ab>/<sha256>} where
+ * {@code ab} are the first two hex digits of its SHA-256, so identical uploads share one file.
+ */
+@Component
+public class VoiceSampleStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    public VoiceSampleStore(@Value("${virtual-presenter.voices.sample-dir:${java.io.tmpdir}/virtual-presenter/voices}") Path root) {
+        this.root = root;
+    }
+
+    public Path pathOf(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    /**
+     * Streams {@code input} to a private file under {@link #uploadsDirectory()} without filing it, for callers that
+     * transform a sample before it is stored. The caller owns the file and must {@link #adopt(Path)} or delete it.
+     */
+    public Path stage(InputStream input) throws IOException {
+        Path staged = Files.createTempFile(uploadsDirectory(), "upload-", ".part");
+        try {
+            Files.copy(input, staged, StandardCopyOption.REPLACE_EXISTING);
+            return staged;
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(staged);
+            throw ex;
+        }
+    }
+
+    /**
+     * The file is gone afterwards, or left untouched if this fails.
+     */
+    public StoredSample adopt(Path file) throws IOException {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        long size = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            int read;
+            while ((read = source.read(buffer)) != -1) {
+                digest.update(buffer.array(), 0, read);
+                size += read;
+                buffer.clear();
+            }
+        }
+        return file(file, Hex.encodeHexString(digest.digest()), size);
+    }
+
+    /**
+     * Trusts {@code sha256} from a caller that hashed the file while writing it.
+     */
+    public StoredSample adopt(Path file, String sha256) throws IOException {
+        return file(file, sha256, Files.size(file));
+    }
+
+    /**
+     * Directory for in-progress chunked uploads; kept under the same root so finished uploads can be moved
+     * into place atomically.
+     */
+    public Path uploadsDirectory() throws IOException {
+        return Files.createDirectories(root.resolve("uploads"));
+    }
+
+    private StoredSample file(Path source, String sha256, long size) throws IOException {
+        Path stored = pathOf(sha256);
+        if (!Files.exists(stored)) {
+            Files.createDirectories(stored.getParent());
+            try {
+                Files.move(source, stored, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                // Another upload of the same clip won the race; its copy is identical.
+            }
+        }
+        Files.deleteIfExists(source);
+        return new StoredSample(sha256, stored, size);
+    }
+}
@@ -0,0 +1,226 @@
+package com.ai.virtualpresenter.store;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cosine-similarity index over speaker embeddings. Searches scan the matrix exactly until an HNSW graph, built in
+ * the background over a copy once {@code hnsw-threshold} is passed, is swapped in. Removed rows are tombstoned and
+ * compacted away once they make up half the matrix.
+ */
+@Component
+public class VoiceSimilarityIndex {
+
+    private static final int HNSW_M = 16;
+    private static final int HNSW_EF_CONSTRUCTION = 100;
+    private static final int HNSW_EF_SEARCH = 64;
+    private static final long HNSW_SEED = 42;
+
+    private final int hnswThreshold;
+    private final List<String> references = new ArrayList<>();
+    private final Map<String, Integer> rowsByReference = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Executor builder;
+    private EmbeddingMatrix matrix;
+    private HnswGraph graph;
+    private boolean building;
+    private int generation;
+
+    @Autowired
+    public VoiceSimilarityIndex(@Value("${virtual-presenter.voices.embedding-dimensions:192}") int dimensions,
+                                @Value("${virtual-presenter.voices.similarity.hnsw-threshold:20000}") int hnswThreshold) {
+        this(dimensions, hnswThreshold, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "voice-index-build");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    VoiceSimilarityIndex(int dimensions, int hnswThreshold, Executor builder) {
+        this.matrix = new EmbeddingMatrix(dimensions, VectorOps.best());
+        this.hnswThreshold = hnswThreshold;
+        this.builder = builder;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (builder instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    /**
+     * Re-adding a reference is a no-op.
+     */
+    public void add(String embeddingReference, float[] embedding) {
+        Runnable build;
+        lock.writeLock().lock();
+        try {
+            if (rowsByReference.containsKey(embeddingReference)) {
+                return;
+            }
+            int row = matrix.add(embedding);
+            references.add(embeddingReference);
+            rowsByReference.put(embeddingReference, row);
+            if (graph != null) {
+                graph.insert(row);
+            }
+            build = startBuildIfDue();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (build != null) {
+            builder.execute(build);
+        }
+    }
+
+    /**
+     * Removing an unknown reference is a no-op.
+     */
+    public void remove(String embeddingReference) {
+        Runnable build = null;
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsByReference.remove(embeddingReference);
+            if (row == null) {
+                return;
+            }
+            removed.set(row);
+            if (removed.cardinality() * 2 >= matrix.size()) {
+                compact();
+                build = startBuildIfDue();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (build != null) {
+            builder.execute(build);
+        }
+    }
+
+    public Optional<float[]> find(String embeddingReference) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowsByReference.get(embeddingReference);
+            return row == null ? Optional.empty() : Optional.of(matrix.row(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@code query} must be unit length.
+     */
+    public List<SimilarityMatch> search(float[] query, int limit) {
+        lock.readLock().lock();
+        try {
+            List<SimilarityMatch> matches = new ArrayList<>(limit);
+            if (graph != null) {
+                // Tombstoned rows still route the search, so widen it until enough live rows come back.
+                for (int wanted = limit; matches.size() < limit; wanted *= 2) {
+                    matches.clear();
+                    for (HnswGraph.Candidate candidate : graph.search(query, wanted, HNSW_EF_SEARCH)) {
+                        if (!removed.get(candidate.row()) && matches.size() < limit) {
+                            matches.add(new SimilarityMatch(references.get(candidate.row()), candidate.similarity()));
+                        }
+                    }
+                    if (wanted >= graph.size()) {
+                        break;
+                    }
+                }
+                return matches;
+            }
+            float[] scores = new float[Math.min(limit, matrix.size())];
+            int[] rows = matrix.scan(query, limit, scores, removed);
+            for (int i = 0; i < rows.length; i++) {
+                matches.add(new SimilarityMatch(references.get(rows[i]), scores[i]));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsByReference.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Must hold the write lock; the returned build, if any, is to be run after releasing it.
+     */
+    private Runnable startBuildIfDue() {
+        if (graph != null || building || matrix.size() < hnswThreshold) {
+            return null;
+        }
+        building = true;
+        EmbeddingMatrix snapshot = matrix.copy();
+        int builtFor = generation;
+        return () -> install(build(snapshot), builtFor);
+    }
+
+    private static HnswGraph build(EmbeddingMatrix rows) {
+        HnswGraph built = new HnswGraph(rows, HNSW_M, HNSW_EF_CONSTRUCTION, HNSW_SEED);
+        for (int row = 0; row < rows.size(); row++) {
+            built.insert(row);
+        }
+        return built;
+    }
+
+    /**
+     * Links the rows added while {@code built} was being built, then switches searches over to it. A graph built
+     * before the matrix was compacted no longer matches its rows and is dropped.
+     */
+    private void install(HnswGraph built, int builtFor) {
+        lock.writeLock().lock();
+        try {
+            if (builtFor != generation) {
+                return;
+            }
+            built.rebind(matrix);
+            for (int row = built.size(); row < matrix.size(); row++) {
+                built.insert(row);
+            }
+            graph = built;
+            building = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compact() {
+        EmbeddingMatrix live = new EmbeddingMatrix(matrix.dimensions(), VectorOps.best());
+        List<String> kept = new ArrayList<>(rowsByReference.size());
+        for (int row = removed.nextClearBit(0); row < matrix.size(); row = removed.nextClearBit(row + 1)) {
+            String reference = references.get(row);
+            rowsByReference.put(reference, live.add(matrix.row(row)));
+            kept.add(reference);
+        }
+        references.clear();
+        references.addAll(kept);
+        removed.clear();
+        matrix = live;
+        graph = null;
+        building = false;
+        generation++;
+    }
+}
@@ -1,22 +1,123 @@
 package com.ai.virtualpresenter.store;
 
 import com.ai.virtualpresenter.model.VoiceProfile;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Voice profiles by id and by sample hash, evicted after {@code idleTtl} without being saved or looked up.
+ * Evicting the last voice cloned from a sample also drops it from the {@link VoiceSimilarityIndex}.
+ */
 @Component
 public class VoiceStore {
 
     private final Map<String, VoiceProfile> voices = new ConcurrentHashMap<>();
+    private final Map<String, String> voiceIdsByEmbedding = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> voiceIdsSharingEmbedding = new ConcurrentHashMap<>();
+    private final VoiceSimilarityIndex similarityIndex;
+    private final Duration idleTtl;
+    private final ExpiryIndex expiries = new ExpiryIndex();
+
+    public VoiceStore(@Value("${virtual-presenter.voices.idle-ttl-minutes:0}") long idleTtlMinutes,
+                      VoiceSimilarityIndex similarityIndex,
+                      MeterRegistry meterRegistry) {
+        this.similarityIndex = similarityIndex;
+        this.idleTtl = Duration.ofMinutes(idleTtlMinutes);
+        Gauge.builder("voices.store.live", voices, Map::size)
+                .description("Voice profiles held in memory")
+                .register(meterRegistry);
+    }
 
     public void save(VoiceProfile profile) {
         voices.put(profile.voiceId(), profile);
+        voiceIdsByEmbedding.putIfAbsent(profile.embeddingReference(), profile.voiceId());
+        share(profile);
+        touch(profile.voiceId());
+    }
+
+    /**
+     * Saves {@code profile} unless a voice for the same sample already exists, in which case the existing
+     * voice is returned and {@code profile} is discarded.
+     */
+    public VoiceProfile saveIfAbsent(VoiceProfile profile) {
+        voices.putIfAbsent(profile.voiceId(), profile);
+        String canonicalId = voiceIdsByEmbedding.putIfAbsent(profile.embeddingReference(), profile.voiceId());
+        if (canonicalId == null) {
+            share(profile);
+            touch(profile.voiceId());
+            return profile;
+        }
+        voices.remove(profile.voiceId(), profile);
+        touch(canonicalId);
+        return voices.get(canonicalId);
     }
 
     public Optional<VoiceProfile> findById(String voiceId) {
-        return Optional.ofNullable(voices.get(voiceId));
+        VoiceProfile profile = voices.get(voiceId);
+        if (profile != null) {
+            touch(voiceId);
+        }
+        return Optional.ofNullable(profile);
+    }
+
+    public Optional<VoiceProfile> findByEmbeddingReference(String embeddingReference) {
+        String voiceId = voiceIdsByEmbedding.get(embeddingReference);
+        return voiceId == null ? Optional.empty() : findById(voiceId);
+    }
+
+    @Scheduled(fixedDelayString = "${virtual-presenter.voices.sweep-interval-ms:60000}")
+    public void sweep() {
+        sweep(Instant.now());
+    }
+
+    void sweep(Instant now) {
+        for (String voiceId : expiries.pollDue(now)) {
+            VoiceProfile evicted = voices.remove(voiceId);
+            if (evicted != null) {
+                unshare(evicted);
+            }
+        }
+    }
+
+    private void share(VoiceProfile profile) {
+        voiceIdsSharingEmbedding.compute(profile.embeddingReference(), (reference, voiceIds) -> {
+            Set<String> sharing = voiceIds == null ? new HashSet<>() : voiceIds;
+            sharing.add(profile.voiceId());
+            return sharing;
+        });
+    }
+
+    /**
+     * Hands the sample of {@code evicted} to one of its aliases, or drops it from the similarity index when none
+     * is left. Runs under the sample's map entry, so it cannot interleave with a new voice claiming the sample.
+     */
+    private void unshare(VoiceProfile evicted) {
+        voiceIdsSharingEmbedding.computeIfPresent(evicted.embeddingReference(), (reference, voiceIds) -> {
+            voiceIds.remove(evicted.voiceId());
+            if (voiceIds.isEmpty()) {
+                voiceIdsByEmbedding.remove(reference, evicted.voiceId());
+                similarityIndex.remove(reference);
+                return null;
+            }
+            voiceIdsByEmbedding.replace(reference, evicted.voiceId(), voiceIds.iterator().next());
+            return voiceIds;
+        });
+    }
+
+    private void touch(String voiceId) {
+        if (!idleTtl.isZero()) {
+            expiries.schedule(voiceId, Instant.now().plus(idleTtl));
+        }
     }
 }
@@ -0,0 +1,15 @@
+package com.ai.virtualpresenter.workflow;
+
+public class CircuitOpenException extends RuntimeException {
+
+    private final String adapter;
+
+    public CircuitOpenException(String adapter) {
+        super("Circuit open for " + adapter + ", failing fast");
+        this.adapter = adapter;
+    }
+
+    public String getAdapter() {
+        return adapter;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parks long-poll requests until the job they watch changes. Waiters hold no thread: each is a future
+ * completed by {@link #signal(GenerationJob)} from whichever thread published the update.
+ */
+@Component
+public class JobChangeWaiters {
+
+    private final Map<String, Set<CompletableFuture<Void>>> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * Cancelling the returned future unregisters it.
+     */
+    public CompletableFuture<Void> awaitChange(GenerationJob job, long sinceVersion) {
+        String jobId = job.getJobId();
+        CompletableFuture<Void> change = new CompletableFuture<>();
+        waiters.compute(jobId, (id, registered) -> {
+            Set<CompletableFuture<Void>> futures = registered != null ? registered : ConcurrentHashMap.newKeySet();
+            futures.add(change);
+            return futures;
+        });
+        change.whenComplete((ignored, error) -> remove(jobId, change));
+        // Re-check after registering so an update published in between is not missed.
+        if (job.getVersion() > sinceVersion) {
+            change.complete(null);
+        }
+        return change;
+    }
+
+    public void signal(GenerationJob job) {
+        Set<CompletableFuture<Void>> futures = waiters.remove(job.getJobId());
+        if (futures != null) {
+            futures.forEach(change -> change.complete(null));
+        }
+    }
+
+    public int size() {
+        return waiters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void remove(String jobId, CompletableFuture<Void> change) {
+        waiters.computeIfPresent(jobId, (id, futures) -> {
+            futures.remove(change);
+            return futures.isEmpty() ? null : futures;
+        });
+    }
+}
@@ -0,0 +1,394 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.dto.JobStatusResponse;
+import com.ai.virtualpresenter.model.JobState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Server-Sent Events fan-out of job status. A small per-job ring buffer lets a client reconnecting with
+ * {@code Last-Event-ID} ({@code jobId:version}) receive only what it missed.
+ * <p>
+ * All subscriber and buffer state is confined to a single thread, which never writes to a client: frames go into
+ * a bounded per-subscriber outbox that a virtual thread drains. A subscriber whose outbox overflows is completed
+ * and has to reconnect.
+ */
+@Component
+public class JobEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(JobEventStream.class);
+    private static final String EVENT_NAME = "status";
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event()
+            .comment("heartbeat")
+            .build();
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long heartbeatMillis;
+    private final long timeoutMillis;
+    private final int sendBacklog;
+    private final Map<String, Channel> channels = new HashMap<>();
+    private final Set<Subscriber> subscribers = new HashSet<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-event-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("job-event-writer-", 0).factory());
+    private final AtomicInteger activeWriters = new AtomicInteger();
+
+    public JobEventStream(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${virtual-presenter.sse.buffer-size:16}") int bufferSize,
+                          @Value("${virtual-presenter.sse.heartbeat-ms:15000}") long heartbeatMillis,
+                          @Value("${virtual-presenter.sse.timeout-ms:1800000}") long timeoutMillis,
+                          @Value("${virtual-presenter.sse.send-backlog:64}") int sendBacklog) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.heartbeatMillis = heartbeatMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.sendBacklog = sendBacklog;
+        // Read off the stream thread, so the size may be momentarily stale.
+        Gauge.builder("jobs.sse.subscribers", subscribers, Set::size)
+                .description("Open job status SSE streams")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        submit(() -> new ArrayList<>(subscribers).forEach(subscriber -> subscriber.finish(null)));
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+        writers.shutdown();
+    }
+
+    public SseEmitter subscribe(List<String> jobIds, String lastEventId, Function<String, JobStatusResponse> currentStatus) {
+        return subscribe(jobIds, lastEventId, currentStatus, () -> { });
+    }
+
+    /**
+     * A job whose {@code currentStatus} is still {@code null} starts with its next published update instead.
+     */
+    public SseEmitter subscribe(List<String> jobIds,
+                                String lastEventId,
+                                Function<String, JobStatusResponse> currentStatus,
+                                Runnable onClose) {
+        return subscribe(new SseEmitter(timeoutMillis), jobIds, lastEventId, currentStatus, onClose);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter,
+                         List<String> jobIds,
+                         String lastEventId,
+                         Function<String, JobStatusResponse> currentStatus) {
+        return subscribe(emitter, jobIds, lastEventId, currentStatus, () -> { });
+    }
+
+    private SseEmitter subscribe(SseEmitter emitter,
+                                 List<String> jobIds,
+                                 String lastEventId,
+                                 Function<String, JobStatusResponse> currentStatus,
+                                 Runnable onClose) {
+        Subscriber subscriber = new Subscriber(emitter, jobIds, onClose, sendBacklog);
+        Runnable remove = () -> submit(() -> unsubscribe(subscriber));
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        submit(() -> open(subscriber, lastEventId, currentStatus));
+        return emitter;
+    }
+
+    public void publish(JobStatusResponse status) {
+        submit(() -> {
+            Channel channel = channels.get(status.jobId());
+            if (channel == null) {
+                return;
+            }
+            Event event = toEvent(status);
+            channel.append(event, bufferSize);
+            for (Subscriber subscriber : new ArrayList<>(channel.subscribers)) {
+                deliver(subscriber, event);
+            }
+            if (event.terminal() && channel.subscribers.isEmpty()) {
+                channels.remove(status.jobId());
+            }
+        });
+    }
+
+    void awaitIdle() throws Exception {
+        do {
+            executor.submit(() -> { }).get();
+            while (activeWriters.get() > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        } while (!executor.submit(() -> activeWriters.get() == 0).get());
+    }
+
+    int subscriberCount() throws Exception {
+        return executor.submit(subscribers::size).get();
+    }
+
+    private void submit(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            log.debug("Job event stream is shut down, dropping task");
+        }
+    }
+
+    private void open(Subscriber subscriber, String lastEventId, Function<String, JobStatusResponse> currentStatus) {
+        try {
+            String resumeJobId = null;
+            long resumeVersion = -1;
+            if (lastEventId != null) {
+                int separator = lastEventId.lastIndexOf(':');
+                try {
+                    resumeVersion = Long.parseLong(lastEventId.substring(separator + 1));
+                    resumeJobId = lastEventId.substring(0, Math.max(separator, 0));
+                } catch (NumberFormatException ex) {
+                    // Not one of our ids; start from the current status instead.
+                }
+            }
+            subscribers.add(subscriber);
+            for (String jobId : subscriber.pending()) {
+                if (!subscribers.contains(subscriber)) {
+                    return;
+                }
+                Channel channel = channels.computeIfAbsent(jobId, id -> new Channel());
+                channel.subscribers.add(subscriber);
+                long since = jobId.equals(resumeJobId) ? resumeVersion : -1;
+                if (since >= 0 && channel.covers(since)) {
+                    subscriber.sentVersions.put(jobId, since);
+                    for (Event event : new ArrayList<>(channel.recent)) {
+                        deliver(subscriber, event);
+                    }
+                } else {
+                    JobStatusResponse current = currentStatus.apply(jobId);
+                    if (current != null) {
+                        deliver(subscriber, toEvent(current));
+                    }
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to open job event stream for {}", subscriber.sentVersions.keySet(), ex);
+            subscriber.finish(ex);
+            unsubscribe(subscriber);
+        }
+    }
+
+    private void deliver(Subscriber subscriber, Event event) {
+        Long sent = subscriber.sentVersions.get(event.jobId());
+        if (sent != null && sent >= event.version() || !subscribers.contains(subscriber)) {
+            return;
+        }
+        if (!enqueue(subscriber, event.frame())) {
+            return;
+        }
+        subscriber.sentVersions.put(event.jobId(), event.version());
+        if (event.terminal()) {
+            subscriber.remaining.remove(event.jobId());
+            if (subscriber.remaining.isEmpty()) {
+                subscriber.finish(null);
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Hands {@code frame} to the subscriber's writer, dropping the subscriber instead if its outbox is full.
+     */
+    private boolean enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (!subscriber.outbox.offer(frame)) {
+            log.debug("Job event stream for {} fell {} frames behind; closing it", subscriber.remaining, sendBacklog);
+            subscriber.outbox.clear();
+            subscriber.finish(null);
+            unsubscribe(subscriber);
+            return false;
+        }
+        subscriber.scheduleDrain();
+        return true;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        try {
+            subscriber.onClose.run();
+        } catch (RuntimeException ex) {
+            log.warn("Job event stream close callback failed", ex);
+        }
+        for (String jobId : subscriber.sentVersions.keySet()) {
+            Channel channel = channels.get(jobId);
+            if (channel != null) {
+                channel.subscribers.remove(subscriber);
+                if (channel.subscribers.isEmpty() && (channel.recent.isEmpty() || channel.isTerminal())) {
+                    channels.remove(jobId);
+                }
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : new ArrayList<>(subscribers)) {
+            if (subscriber.outbox.isEmpty()) {
+                enqueue(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    private Event toEvent(JobStatusResponse status) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(status);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialise status of " + status.jobId(), ex);
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                .id(status.jobId() + ":" + status.version())
+                .name(EVENT_NAME)
+                .data(json)
+                .build();
+        boolean terminal = JobState.valueOf(status.status()).isTerminal();
+        return new Event(status.jobId(), status.version(), terminal, frame);
+    }
+
+    private record Event(String jobId, long version, boolean terminal, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+    }
+
+    private static final class Channel {
+
+        private final ArrayDeque<Event> recent = new ArrayDeque<>();
+        private final Set<Subscriber> subscribers = new HashSet<>();
+
+        void append(Event event, int capacity) {
+            if (recent.size() == capacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(event);
+        }
+
+        boolean covers(long version) {
+            return !recent.isEmpty() && recent.peekFirst().version() <= version;
+        }
+
+        boolean isTerminal() {
+            return !recent.isEmpty() && recent.peekLast().terminal();
+        }
+    }
+
+    /**
+     * One open stream. The version bookkeeping belongs to the stream thread; the outbox is the only state shared
+     * with the writer, which owns every call on the emitter.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Map<String, Long> sentVersions = new LinkedHashMap<>();
+        private final Set<String> remaining;
+        private final Runnable onClose;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> outbox;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean finishing;
+        private volatile Throwable failure;
+
+        Subscriber(SseEmitter emitter, List<String> jobIds, Runnable onClose, int sendBacklog) {
+            this.emitter = emitter;
+            this.remaining = new HashSet<>(jobIds);
+            this.onClose = onClose;
+            this.outbox = new ArrayBlockingQueue<>(sendBacklog);
+            jobIds.forEach(jobId -> sentVersions.put(jobId, null));
+        }
+
+        List<String> pending() {
+            return new ArrayList<>(sentVersions.keySet());
+        }
+
+        void finish(Throwable failure) {
+            this.failure = failure;
+            finishing = true;
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            activeWriters.incrementAndGet();
+            try {
+                writers.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                activeWriters.decrementAndGet();
+                log.debug("Job event writers are shut down, dropping frames");
+            }
+        }
+
+        /**
+         * Writes queued frames until the outbox is empty. A drain that completes the emitter keeps {@code draining}
+         * set, so nothing is written after it.
+         */
+        private void drain() {
+            try {
+                do {
+                    Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                    while ((frame = outbox.poll()) != null) {
+                        try {
+                            emitter.send(frame);
+                        } catch (IOException | IllegalStateException ex) {
+                            outbox.clear();
+                            submit(() -> unsubscribe(this));
+                            return;
+                        }
+                    }
+                    if (finishing) {
+                        if (failure != null) {
+                            emitter.completeWithError(failure);
+                        } else {
+                            emitter.complete();
+                        }
+                        return;
+                    }
+                    draining.set(false);
+                } while ((!outbox.isEmpty() || finishing) && draining.compareAndSet(false, true));
+            } finally {
+                activeWriters.decrementAndGet();
+            }
+        }
+    }
+}
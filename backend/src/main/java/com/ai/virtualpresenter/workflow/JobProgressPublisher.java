@@ -0,0 +1,120 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.dto.JobStatusMapper;
+import com.ai.virtualpresenter.dto.JobStatusResponse;
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.JobState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes job status to STOMP and {@link JobEventStream} off the worker thread, sending only the latest status
+ * of a job per coalescing window. Terminal states are flushed immediately and never dropped; long-poll waiters
+ * are woken on every update.
+ */
+@Component
+public class JobProgressPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(JobProgressPublisher.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final JobChangeWaiters changeWaiters;
+    private final JobEventStream eventStream;
+    private final long windowMillis;
+    private final Map<String, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-progress-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter published;
+    private final Counter merged;
+    private final Counter dropped;
+
+    public JobProgressPublisher(SimpMessagingTemplate messagingTemplate,
+                                JobChangeWaiters changeWaiters,
+                                JobEventStream eventStream,
+                                MeterRegistry meterRegistry,
+                                @Value("${virtual-presenter.progress.window-ms:200}") long windowMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.changeWaiters = changeWaiters;
+        this.eventStream = eventStream;
+        this.windowMillis = windowMillis;
+        this.published = Counter.builder("jobs.progress.published")
+                .description("Job status messages sent to STOMP subscribers")
+                .register(meterRegistry);
+        this.merged = Counter.builder("jobs.progress.merged")
+                .description("Progress updates folded into a pending message for the same state")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("jobs.progress.dropped")
+                .description("Intermediate states superseded before they were sent")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        flush();
+    }
+
+    public void publish(GenerationJob job) {
+        changeWaiters.signal(job);
+        JobState state = job.getState();
+        PendingUpdate previous = pending.put(job.getJobId(), new PendingUpdate(job, state));
+        if (previous != null) {
+            if (previous.state() == state) {
+                merged.increment();
+            } else {
+                dropped.increment();
+            }
+        }
+        if (state.isTerminal()) {
+            flusher.execute(() -> send(job.getJobId()));
+        }
+    }
+
+    public void flush() {
+        List<String> jobIds = new ArrayList<>(pending.keySet());
+        for (String jobId : jobIds) {
+            send(jobId);
+        }
+    }
+
+    private void send(String jobId) {
+        PendingUpdate update = pending.remove(jobId);
+        if (update == null) {
+            return;
+        }
+        try {
+            JobStatusResponse status = JobStatusMapper.fromJob(update.job());
+            messagingTemplate.convertAndSend("/topic/jobs/" + jobId, status);
+            eventStream.publish(status);
+            published.increment();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to publish progress for {}", jobId, ex);
+        }
+    }
+
+    private record PendingUpdate(GenerationJob job, JobState state) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.ai.virtualpresenter.workflow;
+
+import java.time.Duration;
+
+public class JobQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public JobQueueFullException(int capacity, Duration retryAfter) {
+        super("Job queue is full (" + capacity + " jobs waiting), retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,214 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.config.ExecutorMode;
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Admits generation jobs into a bounded queue. Each {@link GenerationMode} has its own lane of worker slots, and
+ * within a lane voices are served round-robin.
+ * <p>
+ * A worker slot is held until the task's future completes, not while a thread runs it. In
+ * {@link ExecutorMode#VIRTUAL} mode a lane has as many slots as the queue, so {@code max-queued-jobs} bounds
+ * concurrency.
+ */
+@Component
+public class JobScheduler {
+
+    private final int maxQueuedJobs;
+    private final Duration retryAfter;
+    private final Executor executor;
+    private final Map<GenerationMode, Lane> lanes = new EnumMap<>(GenerationMode.class);
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+
+    public JobScheduler(@Value("${virtual-presenter.scheduler.max-queued-jobs:100}") int maxQueuedJobs,
+                        @Value("${virtual-presenter.scheduler.retry-after-seconds:5}") long retryAfterSeconds,
+                        @Value("${virtual-presenter.scheduler.creative-workers:2}") int creativeWorkers,
+                        @Value("${virtual-presenter.scheduler.broadcast-workers:2}") int broadcastWorkers,
+                        @Value("${virtual-presenter.executor.mode:PLATFORM}") ExecutorMode executorMode,
+                        @Qualifier("schedulerExecutor") Executor executor,
+                        MeterRegistry meterRegistry) {
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.retryAfter = Duration.ofSeconds(retryAfterSeconds);
+        this.lanes.put(GenerationMode.CREATIVE, new Lane(laneWorkers(executorMode, creativeWorkers, maxQueuedJobs)));
+        this.lanes.put(GenerationMode.BROADCAST, new Lane(laneWorkers(executorMode, broadcastWorkers, maxQueuedJobs)));
+        this.executor = executor;
+        Gauge.builder("jobs.scheduler.queued", queuedJobs, AtomicInteger::get)
+                .description("Jobs admitted and waiting for a worker")
+                .register(meterRegistry);
+        lanes.forEach((mode, lane) -> Gauge.builder("jobs.scheduler.running", lane, Lane::running)
+                .description("Jobs currently running, per lane")
+                .tag("mode", mode.name())
+                .register(meterRegistry));
+    }
+
+    /**
+     * @throws JobQueueFullException if the admission queue is already at capacity
+     */
+    public void submitAsync(GenerationJob job, Supplier<? extends CompletionStage<?>> task) {
+        if (queuedJobs.incrementAndGet() > maxQueuedJobs) {
+            queuedJobs.decrementAndGet();
+            throw new JobQueueFullException(maxQueuedJobs, retryAfter);
+        }
+        Lane lane = lanes.get(job.getMode());
+        lane.enqueue(new QueuedJob(job.getJobId(), job.getVoiceId(), task));
+        lane.dispatch();
+    }
+
+    /**
+     * 1-based position at which {@code jobId} will be dispatched within its lane, or empty if it is not waiting.
+     */
+    public OptionalInt queuePosition(String jobId) {
+        for (Lane lane : lanes.values()) {
+            OptionalInt position = lane.positionOf(jobId);
+            if (position.isPresent()) {
+                return position;
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * @return whether the job was still waiting and has been removed
+     */
+    public boolean cancel(String jobId) {
+        for (Lane lane : lanes.values()) {
+            if (lane.remove(jobId)) {
+                queuedJobs.decrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getQueuedJobs() {
+        return queuedJobs.get();
+    }
+
+    private static int laneWorkers(ExecutorMode mode, int configuredWorkers, int maxQueuedJobs) {
+        return mode == ExecutorMode.VIRTUAL ? Math.max(configuredWorkers, maxQueuedJobs) : configuredWorkers;
+    }
+
+    private final class Lane {
+
+        private final int workers;
+        private final LinkedHashMap<String, ArrayDeque<QueuedJob>> queuesByVoice = new LinkedHashMap<>();
+        private int running;
+
+        private Lane(int workers) {
+            this.workers = workers;
+        }
+
+        private synchronized void enqueue(QueuedJob queuedJob) {
+            queuesByVoice.computeIfAbsent(queuedJob.voiceId(), key -> new ArrayDeque<>()).addLast(queuedJob);
+        }
+
+        private synchronized void dispatch() {
+            while (running < workers && !queuesByVoice.isEmpty()) {
+                QueuedJob next = pollNext();
+                running++;
+                queuedJobs.decrementAndGet();
+                executor.execute(() -> start(next));
+            }
+        }
+
+        private void start(QueuedJob queuedJob) {
+            CompletionStage<?> completion;
+            try {
+                completion = queuedJob.task().get();
+            } catch (RuntimeException | Error ex) {
+                onFinished();
+                throw ex;
+            }
+            completion.whenComplete((ignored, error) -> onFinished());
+        }
+
+        private synchronized boolean remove(String jobId) {
+            Iterator<ArrayDeque<QueuedJob>> queues = queuesByVoice.values().iterator();
+            while (queues.hasNext()) {
+                ArrayDeque<QueuedJob> queue = queues.next();
+                if (queue.removeIf(queuedJob -> queuedJob.jobId().equals(jobId))) {
+                    if (queue.isEmpty()) {
+                        queues.remove();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized int running() {
+            return running;
+        }
+
+        private synchronized void onFinished() {
+            running--;
+            dispatch();
+        }
+
+        private QueuedJob pollNext() {
+            Iterator<Map.Entry<String, ArrayDeque<QueuedJob>>> iterator = queuesByVoice.entrySet().iterator();
+            Map.Entry<String, ArrayDeque<QueuedJob>> first = iterator.next();
+            iterator.remove();
+            QueuedJob next = first.getValue().pollFirst();
+            if (!first.getValue().isEmpty()) {
+                queuesByVoice.put(first.getKey(), first.getValue());
+            }
+            return next;
+        }
+
+        /**
+         * Computes the round-robin dispatch order without materialising it: a job at index {@code i} of the
+         * {@code k}-th voice queue is preceded by up to {@code i + 1} jobs of every earlier voice and up to
+         * {@code i} jobs of every later voice.
+         */
+        private synchronized OptionalInt positionOf(String jobId) {
+            int voiceIndex = 0;
+            for (ArrayDeque<QueuedJob> queue : queuesByVoice.values()) {
+                int index = 0;
+                for (QueuedJob queuedJob : queue) {
+                    if (queuedJob.jobId().equals(jobId)) {
+                        return OptionalInt.of(countAhead(voiceIndex, index) + 1);
+                    }
+                    index++;
+                }
+                voiceIndex++;
+            }
+            return OptionalInt.empty();
+        }
+
+        private int countAhead(int voiceIndex, int index) {
+            int ahead = index;
+            int current = 0;
+            for (ArrayDeque<QueuedJob> queue : queuesByVoice.values()) {
+                if (current < voiceIndex) {
+                    ahead += Math.min(queue.size(), index + 1);
+                } else if (current > voiceIndex) {
+                    ahead += Math.min(queue.size(), index);
+                }
+                current++;
+            }
+            return ahead;
+        }
+    }
+
+    private record QueuedJob(String jobId, String voiceId, Supplier<? extends CompletionStage<?>> task) {
+    }
+}
@@ -1,91 +1,235 @@
 package com.ai.virtualpresenter.workflow;
 
-import com.ai.virtualpresenter.dto.JobStatusMapper;
+import com.ai.virtualpresenter.cluster.ClusterRouter;
+import com.ai.virtualpresenter.cluster.JobLeaseLostEvent;
+import com.ai.virtualpresenter.cluster.JobLeases;
 import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.JobSnapshot;
 import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.store.JobCursor;
+import com.ai.virtualpresenter.store.JobEventLog;
+import com.ai.virtualpresenter.store.JobPage;
+import com.ai.virtualpresenter.store.JobQuery;
 import com.ai.virtualpresenter.store.JobStore;
-import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JobWorkflowOrchestrator {
 
     private static final Logger log = LoggerFactory.getLogger(JobWorkflowOrchestrator.class);
+    private static final int RESUME_PAGE_SIZE = 100;
 
     private final JobStore jobStore;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final ThreadPoolTaskExecutor executor;
+    private final JobEventLog eventLog;
+    private final JobProgressPublisher progressPublisher;
+    private final JobScheduler scheduler;
+    private final PipelineEngine pipelineEngine;
+    private final ClusterRouter router;
+    private final JobLeases leases;
+    private final boolean resumeOnStartup;
+    private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+    private final Set<String> leaseLost = ConcurrentHashMap.newKeySet();
 
-    public JobWorkflowOrchestrator(JobStore jobStore, SimpMessagingTemplate messagingTemplate) {
+    public JobWorkflowOrchestrator(JobStore jobStore,
+                                   JobEventLog eventLog,
+                                   JobProgressPublisher progressPublisher,
+                                   JobScheduler scheduler,
+                                   PipelineEngine pipelineEngine,
+                                   ClusterRouter router,
+                                   JobLeases leases,
+                                   @Value("${virtual-presenter.jobs.resume-on-startup:true}") boolean resumeOnStartup) {
         this.jobStore = jobStore;
-        this.messagingTemplate = messagingTemplate;
-        this.executor = new ThreadPoolTaskExecutor();
-        this.executor.setCorePoolSize(2);
-        this.executor.setMaxPoolSize(4);
-        this.executor.setThreadNamePrefix("job-sim-");
+        this.eventLog = eventLog;
+        this.progressPublisher = progressPublisher;
+        this.scheduler = scheduler;
+        this.pipelineEngine = pipelineEngine;
+        this.router = router;
+        this.leases = leases;
+        this.resumeOnStartup = resumeOnStartup;
     }
 
-    @PostConstruct
-    public void init() {
-        executor.initialize();
+    /**
+     * The job is not persisted here; callers save it once admission succeeds.
+     *
+     * @throws JobQueueFullException if the scheduler cannot accept more work
+     * @throws IllegalStateException if the job is already leased
+     */
+    public void startSyntheticRun(GenerationJob job) {
+        if (!leases.acquire(job.getJobId())) {
+            throw new IllegalStateException("Job is already running: " + job.getJobId());
+        }
+        admit(job);
+    }
+
+    /**
+     * The cancelled state is recorded and published before this returns.
+     *
+     * @throws IllegalStateException if the job has already finished
+     */
+    public void cancel(GenerationJob job) {
+        if (!job.markCancelled()) {
+            throw new IllegalStateException("Job already " + job.getState() + ": " + job.getJobId());
+        }
+        if (scheduler.cancel(job.getJobId())) {
+            admitted.remove(job.getJobId());
+            leases.release(job.getJobId());
+        } else {
+            pipelineEngine.cancel(job.getJobId());
+        }
+        // Terminal snapshots are final, so the current one is the cancellation itself.
+        publishProgress(job, job.snapshot());
     }
 
-    public void startSyntheticRun(String jobId) {
-        GenerationJob job = jobStore.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Unknown job: " + jobId));
-        broadcast(job);
-        simulateJob(job);
+    /**
+     * Another node may have taken the job over, so nothing more is saved or published for it from here.
+     */
+    @EventListener
+    public void onLeaseLost(JobLeaseLostEvent event) {
+        String jobId = event.jobId();
+        leaseLost.add(jobId);
+        // Checked after the add: a run that ends in between has either dropped the entry or is seen as gone here.
+        if (!admitted.contains(jobId) || scheduler.cancel(jobId)) {
+            admitted.remove(jobId);
+            leaseLost.remove(jobId);
+        } else {
+            pipelineEngine.cancel(jobId);
+        }
     }
 
-    protected void simulateJob(GenerationJob job) {
-        CompletableFuture.runAsync(() -> {
-            List<JobStep> steps = List.of(
-                    new JobStep(JobState.PREPROCESSING, 10, Duration.ofSeconds(2)),
-                    new JobStep(JobState.CLONING_VOICE, 25, Duration.ofSeconds(2)),
-                    new JobStep(JobState.GENERATING_SCRIPT, 45, Duration.ofSeconds(3)),
-                    new JobStep(JobState.GENERATING_ASSETS, 70, Duration.ofSeconds(4)),
-                    new JobStep(JobState.RENDERING, 95, Duration.ofSeconds(3))
-            );
-            for (JobStep step : steps) {
-                updateJob(job, step);
+    /**
+     * Only jobs this node owns and can lease are resumed, so with a shared store every job is resumed once.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        List<GenerationJob> unfinished = new ArrayList<>();
+        for (JobState state : JobState.values()) {
+            if (!state.isTerminal()) {
+                unfinished.addAll(listAll(state));
             }
-            job.markCompleted("/media/jobs/" + job.getJobId() + "/render.mp4");
-            jobStore.save(job);
-            broadcast(job);
-        }, executor).exceptionally(error -> {
-            log.error("Job simulation failed for {}", job.getJobId(), error);
-            job.markFailed("Internal processing error");
+        }
+        unfinished.sort(Comparator.comparing(GenerationJob::getCreatedAt));
+        for (GenerationJob job : unfinished) {
+            if (!router.isLocal(job.getJobId()) || !leases.acquire(job.getJobId())) {
+                continue;
+            }
+            // Registers the instance this run updates, so lookups during the run resolve to it.
             jobStore.save(job);
-            broadcast(job);
+            try {
+                admit(job);
+                log.info("Resuming job {} after {} checkpointed stage(s)", job.getJobId(), job.getStageTimings().size());
+            } catch (JobQueueFullException ex) {
+                log.warn("No scheduler capacity to resume job {}", job.getJobId());
+                job.markFailed("Interrupted by a restart").ifPresent(failed -> publishProgress(job, failed));
+            }
+        }
+    }
+
+    private void admit(GenerationJob job) {
+        admitted.add(job.getJobId());
+        try {
+            scheduler.submitAsync(job, () -> runPipeline(job));
+        } catch (JobQueueFullException ex) {
+            admitted.remove(job.getJobId());
+            leases.release(job.getJobId());
+            throw ex;
+        }
+    }
+
+    private List<GenerationJob> listAll(JobState state) {
+        List<GenerationJob> jobs = new ArrayList<>();
+        JobCursor after = null;
+        do {
+            JobPage page = jobStore.list(new JobQuery(state, null, null, null, null, after, RESUME_PAGE_SIZE));
+            jobs.addAll(page.jobs());
+            after = page.next();
+        } while (after != null);
+        return jobs;
+    }
+
+    /**
+     * Returns once the stages are dispatched, freeing the scheduler's thread; the future completes once the outcome
+     * has been recorded.
+     */
+    protected CompletableFuture<Void> runPipeline(GenerationJob job) {
+        if (leaseLost.remove(job.getJobId())) {
+            // Lost the lease between dispatch and start.
+            admitted.remove(job.getJobId());
+            return CompletableFuture.completedFuture(null);
+        }
+        if (job.getState().isTerminal()) {
+            // Cancelled between dispatch and start.
+            admitted.remove(job.getJobId());
+            leases.release(job.getJobId());
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> run;
+        try {
+            run = pipelineEngine.execute(job, this::publishProgress);
+        } catch (RuntimeException error) {
+            run = CompletableFuture.failedFuture(error);
+        }
+        return run.handle((ignored, error) -> {
+            admitted.remove(job.getJobId());
+            if (leaseLost.remove(job.getJobId())) {
+                log.warn("Stopped job {} after losing its lease", job.getJobId());
+                return null;
+            }
+            try {
+                finish(job, error);
+            } finally {
+                leases.release(job.getJobId());
+            }
             return null;
         });
     }
 
-    private void updateJob(GenerationJob job, JobStep step) {
-        try {
-            TimeUnit.MILLISECONDS.sleep(step.delay().toMillis());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private void finish(GenerationJob job, Throwable error) {
+        Optional<JobSnapshot> outcome;
+        if (error == null) {
+            outcome = job.markCompleted("/media/jobs/" + job.getJobId() + "/render.mp4");
+        } else if (job.getState() == JobState.CANCELLED) {
+            log.info("Job pipeline cancelled for {}", job.getJobId());
+            return;
+        } else if (rootCause(error) instanceof CircuitOpenException circuitOpen) {
+            log.warn("Job {} failed fast: {}", job.getJobId(), circuitOpen.getMessage());
+            outcome = job.markFailed("Provider " + circuitOpen.getAdapter() + " is unavailable, try again later");
+        } else {
+            log.error("Job pipeline failed for {}", job.getJobId(), error);
+            outcome = job.markFailed("Internal processing error");
         }
-        job.update(step.state(), step.progress(), JobStatusMapper.describe(step.state()));
-        jobStore.save(job);
-        broadcast(job);
+        outcome.ifPresent(finished -> publishProgress(job, finished));
     }
 
-    private void broadcast(GenerationJob job) {
-        messagingTemplate.convertAndSend("/topic/jobs/" + job.getJobId(), JobStatusMapper.fromJob(job));
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 
-    private record JobStep(JobState state, int progress, Duration delay) {
+    private void publishProgress(GenerationJob job, JobSnapshot snapshot) {
+        if (leaseLost.contains(job.getJobId())) {
+            return;
+        }
+        jobStore.save(job);
+        eventLog.append(job, snapshot);
+        progressPublisher.publish(job);
     }
 }
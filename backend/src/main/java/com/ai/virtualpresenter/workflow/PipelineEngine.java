@@ -0,0 +1,236 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.dto.JobStatusMapper;
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.JobSnapshot;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.model.StageTiming;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs the registered {@link Stage}s of a job as a dependency graph, skipping stages the job already has a
+ * checkpoint for.
+ */
+@Component
+public class PipelineEngine {
+
+    private static final int MAX_RUNNING_PROGRESS = 95;
+
+    private final List<Stage> stages;
+    private final Executor executor;
+    private final Semaphore cpuPermits;
+    private final StageRunner stageRunner;
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+
+    /**
+     * @param cpuPermits how many {@link Stage#cpuBound() CPU-bound} stages may run at once across all jobs;
+     *                   {@code 0} or less means one per available processor
+     */
+    public PipelineEngine(List<Stage> stages,
+                          @Qualifier("stageExecutor") Executor executor,
+                          @Value("${virtual-presenter.executor.cpu-permits:0}") int cpuPermits,
+                          StageRunner stageRunner) {
+        this.stages = topologicalOrder(stages);
+        this.executor = executor;
+        this.cpuPermits = new Semaphore(cpuPermits > 0 ? cpuPermits : Runtime.getRuntime().availableProcessors(), true);
+        this.stageRunner = stageRunner;
+    }
+
+    /**
+     * {@code onProgress} gets the snapshot of each stage start and finish, even when a concurrent stage has moved
+     * the job on since. The future fails with the first stage failure, or after {@link #cancel(String)} with a
+     * {@link CancellationException} or the interruption of a running stage.
+     */
+    public CompletableFuture<Void> execute(GenerationJob job, BiConsumer<GenerationJob, JobSnapshot> onProgress) {
+        Run run = new Run();
+        if (runs.putIfAbsent(job.getJobId(), run) != null) {
+            throw new IllegalStateException("Job is already running: " + job.getJobId());
+        }
+        if (job.getState().isTerminal()) {
+            // Cancelled before the run was registered, so cancel(String) could not reach it.
+            run.cancel();
+        }
+        Map<JobState, CompletableFuture<Void>> futures = new EnumMap<>(JobState.class);
+        Set<JobState> checkpointed = job.getStageTimings().keySet();
+        AtomicInteger completed = new AtomicInteger();
+        for (Stage stage : stages) {
+            if (checkpointed.contains(stage.state())) {
+                completed.incrementAndGet();
+                futures.put(stage.state(), CompletableFuture.completedFuture(null));
+                continue;
+            }
+            CompletableFuture<?>[] dependencies = stage.dependsOn().stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+            futures.put(stage.state(), CompletableFuture.allOf(dependencies)
+                    .thenRunAsync(() -> runStage(job, run, stage, completed, onProgress), executor));
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new));
+        all.whenComplete((ignored, error) -> runs.remove(job.getJobId(), run));
+        return all;
+    }
+
+    /**
+     * Pending stages are skipped and the threads of running ones interrupted.
+     *
+     * @return whether the job was running here
+     */
+    public boolean cancel(String jobId) {
+        Run run = runs.get(jobId);
+        if (run == null) {
+            return false;
+        }
+        run.cancel();
+        return true;
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    private void runStage(GenerationJob job,
+                          Run run,
+                          Stage stage,
+                          AtomicInteger completed,
+                          BiConsumer<GenerationJob, JobSnapshot> onProgress) {
+        if (!run.enter()) {
+            throw new CancellationException("Job cancelled before " + stage.state());
+        }
+        Instant startedAt = Instant.now();
+        try {
+            job.update(stage.state(), progress(completed.get()), JobStatusMapper.describe(stage.state()))
+                    .ifPresent(started -> onProgress.accept(job, started));
+            stageRunner.run(stage, () -> {
+                if (stage.cpuBound()) {
+                    executeCpuBound(stage, job);
+                } else {
+                    stage.execute(job);
+                }
+            });
+        } catch (InterruptedException e) {
+            if (!run.isCancelled()) {
+                Thread.currentThread().interrupt();
+            }
+            throw new CompletionException(e);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            run.exit();
+        }
+        if (run.isCancelled()) {
+            throw new CancellationException("Job cancelled during " + stage.state());
+        }
+        job.recordStageTiming(stage.state(), new StageTiming(startedAt, Instant.now()));
+        job.updateProgress(progress(completed.incrementAndGet()))
+                .ifPresent(finished -> onProgress.accept(job, finished));
+    }
+
+    /**
+     * Holds a CPU permit for one attempt only, so a stage waiting out a retry backoff does not block others.
+     */
+    private void executeCpuBound(Stage stage, GenerationJob job) throws Exception {
+        cpuPermits.acquire();
+        try {
+            stage.execute(job);
+        } finally {
+            cpuPermits.release();
+        }
+    }
+
+    private int progress(int completedStages) {
+        return completedStages * MAX_RUNNING_PROGRESS / stages.size();
+    }
+
+    /**
+     * Tracks which threads are running stages of one job, so cancellation can interrupt exactly those.
+     */
+    private static final class Run {
+
+        private final Set<Thread> threads = new HashSet<>();
+        private boolean cancelled;
+
+        synchronized boolean enter() {
+            if (cancelled) {
+                return false;
+            }
+            threads.add(Thread.currentThread());
+            return true;
+        }
+
+        /**
+         * Deregisters the current thread and clears an interrupt left by {@link #cancel()}, so it does not leak
+         * into whatever the pooled thread runs next.
+         */
+        synchronized void exit() {
+            threads.remove(Thread.currentThread());
+            if (cancelled) {
+                Thread.interrupted();
+            }
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            threads.forEach(Thread::interrupt);
+        }
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static List<Stage> topologicalOrder(List<Stage> stages) {
+        Map<JobState, Stage> byState = new EnumMap<>(JobState.class);
+        for (Stage stage : stages) {
+            if (byState.put(stage.state(), stage) != null) {
+                throw new IllegalStateException("Duplicate pipeline stage: " + stage.state());
+            }
+        }
+        List<Stage> ordered = new ArrayList<>(stages.size());
+        Map<JobState, Boolean> visiting = new EnumMap<>(JobState.class);
+        for (Stage stage : stages) {
+            visit(stage, byState, visiting, ordered);
+        }
+        return List.copyOf(ordered);
+    }
+
+    private static void visit(Stage stage,
+                              Map<JobState, Stage> byState,
+                              Map<JobState, Boolean> visiting,
+                              List<Stage> ordered) {
+        Boolean inProgress = visiting.get(stage.state());
+        if (Boolean.TRUE.equals(inProgress)) {
+            throw new IllegalStateException("Pipeline stages form a cycle at " + stage.state());
+        }
+        if (inProgress != null) {
+            return;
+        }
+        visiting.put(stage.state(), true);
+        for (JobState dependency : stage.dependsOn()) {
+            Stage dependencyStage = byState.get(dependency);
+            if (dependencyStage == null) {
+                throw new IllegalStateException(stage.state() + " depends on unregistered stage " + dependency);
+            }
+            visit(dependencyStage, byState, visiting, ordered);
+        }
+        visiting.put(stage.state(), false);
+        ordered.add(stage);
+    }
+}
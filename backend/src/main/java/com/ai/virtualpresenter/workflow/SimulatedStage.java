@@ -0,0 +1,25 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.JobState;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in stage that only sleeps, used until real model adapters are wired in.
+ */
+public record SimulatedStage(
+        JobState state,
+        Set<JobState> dependsOn,
+        Duration delay,
+        boolean cpuBound
+) implements Stage {
+
+    @Override
+    public void execute(GenerationJob job) throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(delay.toMillis());
+        job.recordStageArtifact(state, "/media/jobs/" + job.getJobId() + "/" + state.name().toLowerCase());
+    }
+}
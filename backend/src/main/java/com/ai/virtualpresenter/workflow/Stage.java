@@ -0,0 +1,45 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.JobState;
+
+import java.util.Set;
+
+/**
+ * A single step of the generation pipeline. Stages run as soon as every stage they depend on has finished,
+ * so stages without a path between them execute concurrently.
+ * <p>
+ * A stage that finished is checkpointed and not run again when the job is resumed, so its output must outlive
+ * the process: record where it is with {@link GenerationJob#recordStageArtifact} and read dependencies' outputs
+ * the same way rather than from memory.
+ */
+public interface Stage {
+
+    JobState state();
+
+    Set<JobState> dependsOn();
+
+    /**
+     * Whether the stage keeps a core busy (e.g. encoding) rather than waiting on I/O. CPU-bound stages share a
+     * bounded number of permits so that running many jobs on virtual threads cannot oversubscribe the CPU.
+     */
+    default boolean cpuBound() {
+        return false;
+    }
+
+    /**
+     * Name of the external provider the stage calls. Stages naming the same adapter share one circuit breaker,
+     * so a provider outage is detected across all of them.
+     */
+    default String adapter() {
+        return state().name().toLowerCase();
+    }
+
+    /**
+     * Runs the stage. Cancelling the job interrupts the calling thread: implementations must let
+     * {@link InterruptedException} propagate (or check {@link Thread#isInterrupted()} between steps) and destroy
+     * any child process they started before returning. Throw {@link TransientStageException} for failures
+     * worth retrying.
+     */
+    void execute(GenerationJob job) throws Exception;
+}
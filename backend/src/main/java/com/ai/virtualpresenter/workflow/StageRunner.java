@@ -0,0 +1,115 @@
+package com.ai.virtualpresenter.workflow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs stage attempts with retries and a circuit breaker per {@link Stage#adapter() adapter}. Only a
+ * {@link TransientStageException} or {@link IOException} is retried, and only those count against the breaker.
+ */
+@Component
+public class StageRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StageRunner.class);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> retries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public StageRunner(@Value("${virtual-presenter.pipeline.retry.max-attempts:3}") int maxAttempts,
+                       @Value("${virtual-presenter.pipeline.retry.initial-backoff-ms:200}") long initialBackoffMillis,
+                       @Value("${virtual-presenter.pipeline.retry.max-backoff-ms:5000}") long maxBackoffMillis,
+                       @Value("${virtual-presenter.pipeline.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                       @Value("${virtual-presenter.pipeline.circuit-breaker.open-ms:30000}") long openMillis,
+                       MeterRegistry meterRegistry) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Duration.ofMillis(openMillis);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @FunctionalInterface
+    public interface Attempt {
+        void run() throws Exception;
+    }
+
+    /**
+     * Backoff sleeps are interruptible, so cancelling the job also ends its retries.
+     */
+    public void run(Stage stage, Attempt attempt) throws Exception {
+        String adapter = stage.adapter();
+        CircuitBreaker breaker = breakers.computeIfAbsent(adapter, this::newBreaker);
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            if (!breaker.tryAcquire()) {
+                rejections.computeIfAbsent(adapter, key -> Counter.builder("pipeline.adapter.rejected")
+                        .description("Stage attempts rejected by an open circuit breaker")
+                        .tag("adapter", key)
+                        .register(meterRegistry)).increment();
+                throw new CircuitOpenException(adapter);
+            }
+            try {
+                attempt.run();
+                breaker.onSuccess();
+                return;
+            } catch (TransientStageException | IOException error) {
+                breaker.onFailure();
+                if (attemptNumber >= maxAttempts) {
+                    throw error;
+                }
+                long backoff = backoffMillis(attemptNumber);
+                log.debug("Stage {} attempt {} failed, retrying in {} ms", stage.state(), attemptNumber, backoff, error);
+                retries.computeIfAbsent(stage.state().name(), key -> Counter.builder("pipeline.stage.retries")
+                        .description("Stage attempts retried after a transient failure")
+                        .tag("stage", key)
+                        .register(meterRegistry)).increment();
+                TimeUnit.MILLISECONDS.sleep(backoff);
+            } catch (Throwable error) {
+                // Errors too, or a half-open trial would stay in flight and the adapter be rejected forever.
+                breaker.onIgnored();
+                throw error;
+            }
+        }
+    }
+
+    CircuitBreaker.State circuitState(String adapter) {
+        CircuitBreaker breaker = breakers.get(adapter);
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    /**
+     * Full jitter: a uniform delay up to the exponentially growing cap, so retries from many jobs spread out.
+     */
+    private long backoffMillis(int attemptNumber) {
+        long cap = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attemptNumber - 1, 30));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private CircuitBreaker newBreaker(String adapter) {
+        CircuitBreaker breaker = new CircuitBreaker(failureThreshold, openDuration, System::nanoTime);
+        Gauge.builder("pipeline.adapter.circuit.state", breaker, value -> value.state().ordinal())
+                .description("Circuit breaker state per stage adapter: 0 closed, 1 half-open, 2 open")
+                .tag("adapter", adapter)
+                .register(meterRegistry);
+        return breaker;
+    }
+}
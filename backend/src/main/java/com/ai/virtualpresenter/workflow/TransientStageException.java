@@ -0,0 +1,16 @@
+package com.ai.virtualpresenter.workflow;
+
+/**
+ * Thrown by a {@link Stage} for a failure worth retrying, such as a provider timeout or a 503. Any other
+ * exception fails the stage straight away.
+ */
+public class TransientStageException extends Exception {
+
+    public TransientStageException(String message) {
+        super(message);
+    }
+
+    public TransientStageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,212 @@
+package com.ai.virtualpresenter.audio;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AudioPreprocessorTest {
+
+    private static final int TARGET_RATE = 16000;
+
+    @TempDir
+    Path dir;
+
+    private final AudioPreprocessor preprocessor = new AudioPreprocessor(TARGET_RATE, -20, -50);
+
+    @Test
+    void producesTrimmedNormalisedMonoAtModelRate() throws IOException {
+        float[] tone = withSilence(tone(44100, 440, 0.05f, 1.0), 44100 / 2);
+        byte[] stereo = wav(44100, 2, 16, tone);
+        Path target = dir.resolve("out.wav");
+        MessageDigest digest = DigestUtils.getSha256Digest();
+
+        long samples = preprocessor.preprocess(new ByteArrayInputStream(stereo), target, digest);
+
+        short[] pcm = readPcm(target);
+        assertThat(pcm).hasSize((int) samples);
+        assertThat(samples).isBetween(TARGET_RATE - 320L, TARGET_RATE + 320L);
+        assertThat(rmsDbfs(pcm)).isBetween(-20.5, -19.5);
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(target)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(header.getShort(22)).isEqualTo((short) 1);
+        assertThat(header.getInt(24)).isEqualTo(TARGET_RATE);
+        assertThat(Hex.encodeHexString(digest.digest())).isEqualTo(DigestUtils.sha256Hex(Files.readAllBytes(target)));
+    }
+
+    @Test
+    void reEncodingsOfSameAudioAreByteIdentical() throws IOException {
+        float[] tone = withSilence(tone(22050, 220, 0.3f, 0.5), 2000);
+        Path pcm16 = dir.resolve("pcm16.wav");
+        Path float32 = dir.resolve("float32.wav");
+
+        preprocessor.preprocess(new ByteArrayInputStream(wav(22050, 1, 16, tone)), pcm16);
+        preprocessor.preprocess(new ByteArrayInputStream(wav(22050, 2, 32, quantise16(tone))), float32);
+
+        assertThat(Files.readAllBytes(float32)).isEqualTo(Files.readAllBytes(pcm16));
+    }
+
+    @Test
+    void rejectsSilentClip() {
+        byte[] silence = wav(16000, 1, 16, new float[16000]);
+
+        assertThatThrownBy(() -> preprocessor.preprocess(new ByteArrayInputStream(silence), dir.resolve("out.wav")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsNonWavInput() {
+        assertThatThrownBy(() -> preprocessor.preprocess(new ByteArrayInputStream(new byte[]{1, 2, 3}), dir.resolve("out.wav")))
+                .isInstanceOf(UnsupportedAudioFormatException.class);
+    }
+
+    /**
+     * Streams a ten-minute 48 kHz stereo clip through the pipeline without ever holding it in memory. Its speed is
+     * measured by {@code AudioPreprocessorBenchmark}.
+     */
+    @Test
+    void longClipIsStreamedToTheExpectedLength() throws IOException {
+        int rate = 48000;
+        long frames = 10L * 60 * rate;
+        Path target = dir.resolve("long.wav");
+
+        long samples = preprocessor.preprocess(new SyntheticWavStream(rate, frames), target);
+
+        assertThat(samples).isBetween(600L * TARGET_RATE - 10, 600L * TARGET_RATE);
+        assertThat(Files.size(target)).isEqualTo(44 + samples * 2);
+    }
+
+    private static float[] tone(int rate, double frequency, float amplitude, double seconds) {
+        float[] samples = new float[(int) (rate * seconds)];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (float) (amplitude * Math.sin(2 * Math.PI * frequency * i / rate));
+        }
+        return samples;
+    }
+
+    private static float[] withSilence(float[] audio, int padding) {
+        float[] padded = new float[audio.length + 2 * padding];
+        System.arraycopy(audio, 0, padded, padding, audio.length);
+        return padded;
+    }
+
+    private static float[] quantise16(float[] audio) {
+        float[] quantised = new float[audio.length];
+        for (int i = 0; i < audio.length; i++) {
+            quantised[i] = toPcm16(audio[i]) / 32768f;
+        }
+        return quantised;
+    }
+
+    private static short toPcm16(float sample) {
+        return (short) Math.round(sample * 32767);
+    }
+
+    /**
+     * Encodes {@code mono} with every channel carrying the same signal; 32-bit output uses IEEE float.
+     */
+    private static byte[] wav(int rate, int channels, int bits, float[] mono) {
+        int bytesPerSample = bits / 8;
+        int dataBytes = mono.length * channels * bytesPerSample;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + dataBytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(header(rate, channels, bits, dataBytes));
+        for (float sample : mono) {
+            for (int channel = 0; channel < channels; channel++) {
+                if (bits == 32) {
+                    buffer.putFloat(sample);
+                } else {
+                    buffer.putShort(toPcm16(sample));
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    private static byte[] header(int rate, int channels, int bits, long dataBytes) {
+        ByteBuffer header = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes()).putInt((int) (dataBytes + 36)).put("WAVE".getBytes());
+        header.put("fmt ".getBytes()).putInt(16).putShort((short) (bits == 32 ? 3 : 1)).putShort((short) channels);
+        header.putInt(rate).putInt(rate * channels * bits / 8).putShort((short) (channels * bits / 8)).putShort((short) bits);
+        header.put("data".getBytes()).putInt((int) dataBytes);
+        return header.array();
+    }
+
+    private static short[] readPcm(Path wav) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(wav)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(44);
+        short[] pcm = new short[buffer.remaining() / 2];
+        buffer.asShortBuffer().get(pcm);
+        return pcm;
+    }
+
+    private static double rmsDbfs(short[] pcm) {
+        double energy = 0;
+        for (short sample : pcm) {
+            double value = sample / 32768.0;
+            energy += value * value;
+        }
+        return 20 * Math.log10(Math.sqrt(energy / pcm.length));
+    }
+
+    /**
+     * Generates a 16-bit stereo WAV of a slowly varying tone on the fly.
+     */
+    private static final class SyntheticWavStream extends InputStream {
+
+        private final int rate;
+        private final long frames;
+        private final byte[] header;
+        private long position;
+        private long cachedFrame = -1;
+        private short cachedSample;
+
+        private SyntheticWavStream(int rate, long frames) {
+            this.rate = rate;
+            this.frames = frames;
+            this.header = header(rate, 2, 16, frames * 4);
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            long total = header.length + frames * 4;
+            if (position >= total) {
+                return -1;
+            }
+            int count = (int) Math.min(length, total - position);
+            for (int i = 0; i < count; i++, position++) {
+                bytes[offset + i] = byteAt(position);
+            }
+            return count;
+        }
+
+        private byte byteAt(long index) {
+            if (index < header.length) {
+                return header[(int) index];
+            }
+            long dataIndex = index - header.length;
+            long frame = dataIndex / 4;
+            if (frame != cachedFrame) {
+                cachedFrame = frame;
+                cachedSample = (short) (8000 * Math.sin(2 * Math.PI * (200 + frame % rate / 100.0) * frame / rate));
+            }
+            return (byte) ((dataIndex & 1) == 0 ? cachedSample : cachedSample >> 8);
+        }
+    }
+}
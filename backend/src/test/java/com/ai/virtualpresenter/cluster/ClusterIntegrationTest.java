@@ -0,0 +1,290 @@
+package com.ai.virtualpresenter.cluster;
+
+import com.ai.virtualpresenter.VirtualPresenterApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs three in-process nodes with in-memory stores and checks that any node can serve any job.
+ */
+class ClusterIntegrationTest {
+
+    private static final int NODES = 3;
+    private static final int WORKER_THREADS = 4;
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final HttpClient HTTP = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @TempDir
+    static Path dir;
+
+    private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private static final List<String> urls = new ArrayList<>();
+    private static List<String> members;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        List<Integer> ports = new ArrayList<>();
+        members = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                ports.add(socket.getLocalPort());
+            }
+            urls.add("http://localhost:" + ports.get(i));
+            members.add("node-" + i + "=" + urls.get(i));
+        }
+        for (int i = 0; i < NODES; i++) {
+            contexts.add(new SpringApplicationBuilder(VirtualPresenterApplication.class).run(
+                    "--server.port=" + ports.get(i),
+                    "--spring.main.banner-mode=off",
+                    "--server.tomcat.threads.max=" + WORKER_THREADS,
+                    "--virtual-presenter.cluster.node-id=node-" + i,
+                    "--virtual-presenter.cluster.nodes=" + String.join(",", members),
+                    "--virtual-presenter.voices.sample-dir=" + dir.resolve("voices-" + i)));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void everyNodeServesJobsOwnedByAnother() throws Exception {
+        String voiceId = uploadVoice(urls.get(0));
+        ClusterRouter router = new ClusterRouter("node-0", members, 128);
+        assertThat(router.ownerOf(voiceId).id()).isEqualTo("node-0");
+
+        String jobId = submitStory(urls.get(1), voiceId);
+        assertThat(router.ownerOf(jobId).id()).isEqualTo("node-0");
+
+        for (String url : urls) {
+            HttpResponse<String> status = send(HttpRequest.newBuilder(URI.create(url + "/api/v1/jobs/" + jobId)));
+            assertThat(status.statusCode()).isEqualTo(200);
+            assertThat(JSON.readTree(status.body()).get("jobId").asText()).isEqualTo(jobId);
+        }
+
+        HttpResponse<Stream<String>> events = HTTP.send(HttpRequest.newBuilder(URI.create(urls.get(2) + "/api/v1/jobs/" + jobId + "/events"))
+                .timeout(Duration.ofSeconds(30))
+                .build(), HttpResponse.BodyHandlers.ofLines());
+        Iterator<String> lines = events.body().iterator();
+        assertThat(nextStatus(lines).get("jobId").asText()).isEqualTo(jobId);
+
+        HttpResponse<String> cancelled = send(HttpRequest.newBuilder(URI.create(urls.get(1) + "/api/v1/jobs/" + jobId))
+                .DELETE());
+        assertThat(cancelled.statusCode()).isEqualTo(200);
+        assertThat(JSON.readTree(cancelled.body()).get("status").asText()).isEqualTo("CANCELLED");
+
+        JsonNode last;
+        do {
+            last = nextStatus(lines);
+        } while (!last.get("status").asText().equals("CANCELLED"));
+        assertThat(last.get("jobId").asText()).isEqualTo(jobId);
+    }
+
+    @Test
+    void forwardedStreamsDoNotHoldWorkerThreads() throws Exception {
+        String jobId = submitStory(urls.get(0), uploadVoice(urls.get(0)));
+        List<HttpResponse<Stream<String>>> streams = new ArrayList<>();
+        try {
+            for (int i = 0; i < WORKER_THREADS * 2; i++) {
+                HttpResponse<Stream<String>> events = HTTP.send(HttpRequest.newBuilder(URI.create(urls.get(1)
+                                + "/api/v1/jobs/" + jobId + "/events"))
+                        .timeout(Duration.ofSeconds(3))
+                        .build(), HttpResponse.BodyHandlers.ofLines());
+                streams.add(events);
+                assertThat(nextStatus(events.body().iterator()).get("jobId").asText()).isEqualTo(jobId);
+            }
+
+            // Well before the job would finish and release a blocking relay's threads.
+            HttpResponse<String> status = HTTP.send(HttpRequest.newBuilder(
+                            URI.create(urls.get(1) + "/api/v1/jobs/" + jobId))
+                    .timeout(Duration.ofSeconds(3))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            assertThat(status.statusCode()).isEqualTo(200);
+        } finally {
+            streams.forEach(events -> events.body().close());
+            send(HttpRequest.newBuilder(URI.create(urls.get(0) + "/api/v1/jobs/" + jobId)).DELETE());
+        }
+    }
+
+    @Test
+    void listingBatchStatusAndMultiJobStreamsCoverEveryNode() throws Exception {
+        List<String> jobIds = new ArrayList<>();
+        for (String url : urls) {
+            jobIds.add(submitStory(url, uploadVoice(url)));
+        }
+
+        List<String> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            HttpResponse<String> page = send(HttpRequest.newBuilder(URI.create(urls.get(1) + "/api/v1/jobs?limit=1"
+                    + (cursor == null ? "" : "&cursor=" + cursor))));
+            assertThat(page.statusCode()).isEqualTo(200);
+            JsonNode body = JSON.readTree(page.body());
+            assertThat(body.get("jobs")).hasSizeLessThanOrEqualTo(1);
+            body.get("jobs").forEach(job -> listed.add(job.get("jobId").asText()));
+            cursor = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+        } while (cursor != null);
+        assertThat(listed).containsAll(jobIds).doesNotHaveDuplicates();
+
+        HttpResponse<String> batch = send(HttpRequest.newBuilder(URI.create(urls.get(0) + "/api/v1/jobs/status:batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"jobs\":[{\"jobId\":\"" + jobIds.get(0) + "\"},"
+                        + "{\"jobId\":\"" + jobIds.get(1) + "\"},{\"jobId\":\"" + jobIds.get(2) + "\"},"
+                        + "{\"jobId\":\"job-missing\"}]}")));
+        assertThat(batch.statusCode()).isEqualTo(200);
+        JsonNode statuses = JSON.readTree(batch.body());
+        assertThat(statuses.get("jobs").findValuesAsText("jobId")).containsExactlyInAnyOrderElementsOf(jobIds);
+        assertThat(statuses.get("unknownJobIds").get(0).asText()).isEqualTo("job-missing");
+
+        HttpResponse<Stream<String>> events = HTTP.send(HttpRequest.newBuilder(URI.create(urls.get(0)
+                        + "/api/v1/jobs/events?jobId=" + String.join("&jobId=", jobIds)))
+                .timeout(Duration.ofSeconds(30))
+                .build(), HttpResponse.BodyHandlers.ofLines());
+        Iterator<String> lines = events.body().iterator();
+        Map<String, String> seen = new HashMap<>();
+        while (seen.size() < jobIds.size()) {
+            JsonNode status = nextStatus(lines);
+            seen.put(status.get("jobId").asText(), status.get("status").asText());
+        }
+        for (String jobId : jobIds) {
+            assertThat(send(HttpRequest.newBuilder(URI.create(urls.get(2) + "/api/v1/jobs/" + jobId)).DELETE())
+                    .statusCode()).isEqualTo(200);
+        }
+        while (seen.values().stream().anyMatch(status -> !status.equals("CANCELLED"))) {
+            JsonNode status = nextStatus(lines);
+            seen.put(status.get("jobId").asText(), status.get("status").asText());
+        }
+        assertThat(seen).containsOnlyKeys(jobIds);
+    }
+
+    @Test
+    void stompSubscribersOnAnyNodeReceiveTheOwnersProgress() throws Exception {
+        String jobId = submitStory(urls.get(0), uploadVoice(urls.get(0)));
+        WebSocketStompClient stomp = new WebSocketStompClient(new StandardWebSocketClient());
+        stomp.setMessageConverter(new MappingJackson2MessageConverter());
+        StompSession session = stomp.connectAsync(urls.get(2).replace("http", "ws") + "/ws",
+                new StompSessionHandlerAdapter() { }).get(10, TimeUnit.SECONDS);
+        try {
+            BlockingQueue<JsonNode> received = new LinkedBlockingQueue<>();
+            session.subscribe("/topic/jobs/" + jobId, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return JsonNode.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    received.add((JsonNode) payload);
+                }
+            });
+            JsonNode first = received.poll(10, TimeUnit.SECONDS);
+            assertThat(first).isNotNull();
+            assertThat(first.get("jobId").asText()).isEqualTo(jobId);
+
+            assertThat(send(HttpRequest.newBuilder(URI.create(urls.get(1) + "/api/v1/jobs/" + jobId)).DELETE())
+                    .statusCode()).isEqualTo(200);
+            JsonNode last;
+            do {
+                last = received.poll(10, TimeUnit.SECONDS);
+                assertThat(last).isNotNull();
+            } while (!last.get("status").asText().equals("CANCELLED"));
+        } finally {
+            session.disconnect();
+            stomp.stop();
+        }
+    }
+
+    private static String submitStory(String url, String voiceId) throws Exception {
+        HttpResponse<String> submitted = send(HttpRequest.newBuilder(URI.create(url + "/api/v1/stories"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"voiceId\":\"" + voiceId + "\",\"mode\":\"CREATIVE\",\"script\":\"Once upon a time\"}")));
+        assertThat(submitted.statusCode()).isEqualTo(200);
+        return JSON.readTree(submitted.body()).get("jobId").asText();
+    }
+
+    private static JsonNode nextStatus(Iterator<String> lines) throws IOException {
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.startsWith("data:")) {
+                return JSON.readTree(line.substring("data:".length()));
+            }
+        }
+        throw new AssertionError("Event stream ended");
+    }
+
+    private static String uploadVoice(String url) throws Exception {
+        String boundary = "----cluster-test";
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"sample.wav\"\r\n"
+                + "Content-Type: audio/wav\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(wav());
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(url + "/api/v1/voices"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())));
+        assertThat(response.statusCode()).isEqualTo(200);
+        return JSON.readTree(response.body()).get("voiceId").asText();
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return HTTP.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * One second of a 440 Hz tone as 16 kHz mono 16-bit PCM.
+     */
+    private static byte[] wav() {
+        int samples = 16_000;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + samples * 2)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(16_000).putInt(32_000).putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples * 2);
+        for (int i = 0; i < samples; i++) {
+            buffer.putShort((short) (8000 * Math.sin(2 * Math.PI * 440 * i / 16_000)));
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,59 @@
+package com.ai.virtualpresenter.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void spreadsKeysEvenlyAcrossNodes() {
+        HashRing ring = new HashRing(nodes(3), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf("job-" + i).id(), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 3 * 8 / 10, KEYS / 3 * 12 / 10));
+    }
+
+    @Test
+    void addingANodeOnlyMovesKeysToIt() {
+        HashRing before = new HashRing(nodes(3), 128);
+        HashRing after = new HashRing(nodes(4), 128);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            ClusterNode owner = after.ownerOf("job-" + i);
+            if (!owner.equals(before.ownerOf("job-" + i))) {
+                assertThat(owner.id()).isEqualTo("node-3");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 4 * 7 / 10, KEYS / 4 * 13 / 10);
+    }
+
+    @Test
+    void mintsIdsOwnedByTheLocalNode() {
+        ClusterRouter router = new ClusterRouter("node-1",
+                List.of("node-0=http://a:8080", "node-1=http://b:8080", "node-2=http://c:8080"), 128);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(router.ownerOf(router.newLocalId("job-")).id()).isEqualTo("node-1");
+        }
+    }
+
+    private static List<ClusterNode> nodes(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ClusterNode("node-" + i, "http://node-" + i + ":8080"))
+                .toList();
+    }
+}
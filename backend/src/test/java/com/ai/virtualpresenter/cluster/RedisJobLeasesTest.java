@@ -0,0 +1,102 @@
+package com.ai.virtualpresenter.cluster;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisJobLeasesTest {
+
+    private static final List<String> NODES = List.of("node-a=http://a:8080", "node-b=http://b:8080");
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void onlyOneNodeHoldsALeaseUntilItIsReleased() {
+        RedisJobLeases nodeA = leases("node-a", 30_000);
+        RedisJobLeases nodeB = leases("node-b", 30_000);
+
+        assertThat(nodeA.acquire("job-1")).isTrue();
+        assertThat(nodeB.acquire("job-1")).isFalse();
+        assertThat(nodeA.acquire("job-1")).isFalse();
+        nodeB.release("job-1");
+        assertThat(nodeB.acquire("job-1")).isFalse();
+        nodeA.release("job-1");
+
+        assertThat(nodeB.acquire("job-1")).isTrue();
+    }
+
+    @Test
+    void anExpiredLeaseCanBeTakenOverAndIsNotRenewedByItsFormerHolder() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<Object> events = new ArrayList<>();
+        RedisJobLeases nodeA = new RedisJobLeases(redisTemplate, "test:job:",
+                new ClusterRouter("node-a", NODES, 16), 50, events::add, meterRegistry);
+        RedisJobLeases nodeB = leases("node-b", 30_000);
+        assertThat(nodeA.acquire("job-1")).isTrue();
+
+        Thread.sleep(150);
+        assertThat(nodeB.acquire("job-1")).isTrue();
+        nodeA.renew();
+
+        assertThat(redisTemplate.opsForValue().get("test:job:lease:job-1")).isEqualTo("node-b");
+        assertThat(meterRegistry.get("cluster.leases.lost").counter().count()).isEqualTo(1);
+        assertThat(events).containsExactly(new JobLeaseLostEvent("job-1"));
+    }
+
+    @Test
+    void aLapsedLeaseNobodyClaimedIsTakenBackOnRenewal() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        List<Object> events = new ArrayList<>();
+        RedisJobLeases nodeA = new RedisJobLeases(redisTemplate, "test:job:",
+                new ClusterRouter("node-a", NODES, 16), 30_000, events::add, meterRegistry);
+        assertThat(nodeA.acquire("job-1")).isTrue();
+
+        redisTemplate.delete("test:job:lease:job-1");
+        nodeA.renew();
+
+        assertThat(redisTemplate.opsForValue().get("test:job:lease:job-1")).isEqualTo("node-a");
+        assertThat(redisTemplate.getExpire("test:job:lease:job-1")).isPositive();
+        assertThat(meterRegistry.get("cluster.leases.lost").counter().count()).isZero();
+        assertThat(events).isEmpty();
+        assertThat(leases("node-b", 30_000).acquire("job-1")).isFalse();
+    }
+
+    private RedisJobLeases leases(String nodeId, long ttlMillis) {
+        return new RedisJobLeases(redisTemplate, "test:job:", new ClusterRouter(nodeId, NODES, 16), ttlMillis,
+                event -> { }, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,202 @@
+package com.ai.virtualpresenter.controller;
+
+import com.ai.virtualpresenter.cluster.ClusterClient;
+import com.ai.virtualpresenter.cluster.ClusterNode;
+import com.ai.virtualpresenter.cluster.ClusterRouter;
+import com.ai.virtualpresenter.cluster.JobProgressRelay;
+import com.ai.virtualpresenter.cluster.NodeUnavailableException;
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.service.StoryWorkflowService;
+import com.ai.virtualpresenter.store.JobPage;
+import com.ai.virtualpresenter.workflow.JobEventStream;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class JobControllerTest {
+
+    private final StoryWorkflowService workflowService = mock(StoryWorkflowService.class);
+    private final ClusterClient clusterClient = mock(ClusterClient.class);
+    private final ClusterRouter clusteredRouter = new ClusterRouter("node-a",
+            List.of("node-a=http://a:8080", "node-b=http://b:8080"), 128);
+    private final GenerationJob job = new GenerationJob("job-1", GenerationMode.CREATIVE, "voice-1", "script",
+            JobState.RECEIVED);
+    private MockMvc mockMvc;
+    private MockMvc clusteredMockMvc;
+
+    @BeforeEach
+    void setUp() {
+        JobController controller = new JobController(workflowService, mock(JobEventStream.class),
+                new ClusterRouter("local", List.of(), 128), mock(ClusterClient.class), mock(JobProgressRelay.class),
+                30_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        clusteredMockMvc = MockMvcBuilders.standaloneSetup(new JobController(workflowService,
+                mock(JobEventStream.class), clusteredRouter, clusterClient, mock(JobProgressRelay.class), 30_000))
+                .build();
+        job.update(JobState.RENDERING, 40, "Rendering");
+        when(workflowService.getJob("job-1")).thenReturn(job);
+        when(workflowService.getQueuePosition("job-1")).thenReturn(OptionalInt.empty());
+    }
+
+    @Test
+    void matchingEtagIsAnsweredWithNotModified() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/jobs/job-1").header(HttpHeaders.IF_NONE_MATCH, etag()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag()));
+        verify(workflowService, never()).awaitJobChange(anyString(), anyLong());
+    }
+
+    @Test
+    void longPollIsAnsweredOnceTheJobChanges() throws Exception {
+        CompletableFuture<Void> change = new CompletableFuture<>();
+        when(workflowService.awaitJobChange("job-1", job.getVersion())).thenReturn(change);
+        String parkedAt = etag();
+        MvcResult started = mockMvc.perform(get("/api/v1/jobs/job-1")
+                        .param("waitMs", "5000")
+                        .header(HttpHeaders.IF_NONE_MATCH, parkedAt))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThatThrownBy(() -> started.getAsyncResult(50)).isInstanceOf(IllegalStateException.class);
+
+        job.update(JobState.RENDERING, 80, "Rendering");
+        change.complete(null);
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag()))
+                .andExpect(jsonPath("$.progress").value(80));
+    }
+
+    @Test
+    void longPollTimesOutWithNotModified() throws Exception {
+        CompletableFuture<Void> change = new CompletableFuture<>();
+        when(workflowService.awaitJobChange("job-1", job.getVersion())).thenReturn(change);
+        MvcResult started = mockMvc.perform(get("/api/v1/jobs/job-1")
+                        .param("waitMs", "100")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        timeOut(started);
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag()));
+        assertThat(change).isCancelled();
+    }
+
+    @Test
+    void rejectsWaitsOutsideTheAllowedRange() throws Exception {
+        mockMvc.perform(get("/api/v1/jobs/job-1").param("waitMs", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/jobs/job-1").param("waitMs", "30001"))
+                .andExpect(status().isBadRequest());
+        verify(workflowService, never()).getJob(anyString());
+    }
+
+    @Test
+    void batchStatusReadsAnUnreachableOwnersJobsFromASharedStore() throws Exception {
+        String remoteJobId = remoteJobId();
+        GenerationJob remoteJob = new GenerationJob(remoteJobId, GenerationMode.CREATIVE, "voice-1", "script",
+                JobState.RECEIVED);
+        ClusterNode owner = clusteredRouter.ownerOf(remoteJobId);
+        when(clusterClient.post(eq(owner), anyString(), any(), any())).thenReturn(
+                CompletableFuture.failedFuture(new NodeUnavailableException(owner, "did not answer", null)));
+        when(workflowService.getJobs(List.of(remoteJobId))).thenReturn(List.of(remoteJob));
+        when(workflowService.getQueuePosition(remoteJobId)).thenReturn(OptionalInt.empty());
+        String body = "{\"jobs\":[{\"jobId\":\"" + remoteJobId + "\"}]}";
+
+        clusteredMockMvc.perform(post("/api/v1/jobs/status:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobs.length()").value(0))
+                .andExpect(jsonPath("$.unknownJobIds.length()").value(0));
+
+        when(workflowService.sharesJobs()).thenReturn(true);
+        clusteredMockMvc.perform(post("/api/v1/jobs/status:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobs[0].jobId").value(remoteJobId));
+    }
+
+    @Test
+    void listingLeavesOutAnUnreachableNode() throws Exception {
+        ClusterNode peer = clusteredRouter.peers().get(0);
+        when(clusterClient.get(eq(peer), anyString(), any())).thenReturn(
+                CompletableFuture.failedFuture(new NodeUnavailableException(peer, "did not answer", null)));
+        when(workflowService.listJobs(any())).thenReturn(new JobPage(List.of(job), null));
+
+        clusteredMockMvc.perform(get("/api/v1/jobs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobs.length()").value(1))
+                .andExpect(jsonPath("$.jobs[0].jobId").value("job-1"));
+    }
+
+    @Test
+    void sharedStoreIsListedWithoutAskingPeers() throws Exception {
+        when(workflowService.sharesJobs()).thenReturn(true);
+        when(workflowService.listJobs(any())).thenReturn(new JobPage(List.of(job), null));
+
+        clusteredMockMvc.perform(get("/api/v1/jobs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jobs.length()").value(1));
+        verify(clusterClient, never()).get(any(), anyString(), any());
+    }
+
+    private String remoteJobId() {
+        for (int i = 0; ; i++) {
+            if (!clusteredRouter.isLocal("job-" + i)) {
+                return "job-" + i;
+            }
+        }
+    }
+
+    private String etag() {
+        return "\"" + job.getVersion() + "\"";
+    }
+
+    private static void timeOut(MvcResult started) throws IOException {
+        MockAsyncContext context = (MockAsyncContext) started.getRequest().getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onTimeout(new AsyncEvent(context));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ai.virtualpresenter.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenerationJobTest {
+
+    @Test
+    void readersNeverSeeATornSnapshot() throws Exception {
+        GenerationJob job = new GenerationJob("job-1", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < 2; writer++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int progress = 0; progress < 90; progress++) {
+                        job.update(JobState.RENDERING, progress, "Compositing final video");
+                        job.updateProgress(progress);
+                    }
+                    job.markCompleted("/media/jobs/job-1/render.mp4");
+                    return null;
+                }));
+            }
+            Future<Long> reader = executor.submit(() -> {
+                start.await();
+                long previousVersion = -1;
+                JobSnapshot snapshot;
+                do {
+                    snapshot = job.snapshot();
+                    assertThat(snapshot.version()).isGreaterThanOrEqualTo(previousVersion);
+                    if (snapshot.state() == JobState.COMPLETED) {
+                        assertThat(snapshot.progress()).isEqualTo(100);
+                        assertThat(snapshot.downloadUrl()).isNotNull();
+                    }
+                    previousVersion = snapshot.version();
+                } while (!snapshot.state().isTerminal());
+                return previousVersion;
+            });
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+
+            assertThat(reader.get(10, TimeUnit.SECONDS)).isEqualTo(job.getVersion());
+            assertThat(job.getDownloadUrl()).contains("/media/jobs/job-1/render.mp4");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void terminalSnapshotIsFinal() {
+        GenerationJob job = new GenerationJob("job-1", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+        job.update(JobState.RENDERING, 40, "Compositing final video");
+
+        assertThat(job.markCancelled()).isTrue();
+        JobSnapshot cancelled = job.snapshot();
+        job.updateProgress(90);
+        job.markCompleted("/media/jobs/job-1/render.mp4");
+
+        assertThat(job.markCancelled()).isFalse();
+        assertThat(job.snapshot()).isSameAs(cancelled);
+        assertThat(cancelled.progress()).isEqualTo(40);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ai.virtualpresenter.service.impl;
+
+import com.ai.virtualpresenter.audio.AudioPreprocessor;
+import com.ai.virtualpresenter.cluster.ClusterRouter;
+import com.ai.virtualpresenter.model.VoiceProfile;
+import com.ai.virtualpresenter.service.VoiceSimilarityService;
+import com.ai.virtualpresenter.store.VoiceSampleStore;
+import com.ai.virtualpresenter.store.VoiceSimilarityIndex;
+import com.ai.virtualpresenter.store.VoiceStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class VoiceCloneServiceImplTest {
+
+    @TempDir
+    Path sampleDir;
+
+    @Test
+    void duplicateUploadReturnsExistingVoice() throws IOException {
+        VoiceSampleStore sampleStore = new VoiceSampleStore(sampleDir);
+        VoiceCloneServiceImpl service = new VoiceCloneServiceImpl(new VoiceStore(0, mock(VoiceSimilarityIndex.class), new SimpleMeterRegistry()), sampleStore, new AudioPreprocessor(16000, -20, -50),
+                mock(VoiceSimilarityService.class), new ClusterRouter("local", List.of(), 128));
+        byte[] clip = {1, 2, 3, 4, 5};
+
+        VoiceProfile first = service.cloneVoice(new MockMultipartFile("file", "android.wav", "audio/wav", clip), "Narrator");
+        VoiceProfile second = service.cloneVoice(new MockMultipartFile("file", "dashboard.wav", "audio/wav", clip), "Narrator");
+
+        assertThat(second).isSameAs(first);
+        assertThat(sampleStore.pathOf(first.embeddingReference())).exists();
+    }
+
+    @Test
+    void duplicateUploadWithNewLabelCreatesAlias() throws IOException {
+        VoiceStore voiceStore = new VoiceStore(0, mock(VoiceSimilarityIndex.class), new SimpleMeterRegistry());
+        VoiceCloneServiceImpl service = new VoiceCloneServiceImpl(voiceStore, new VoiceSampleStore(sampleDir), new AudioPreprocessor(16000, -20, -50),
+                mock(VoiceSimilarityService.class), new ClusterRouter("local", List.of(), 128));
+        byte[] clip = {9, 8, 7};
+
+        VoiceProfile original = service.cloneVoice(new MockMultipartFile("file", "a.wav", "audio/wav", clip), "Narrator");
+        VoiceProfile alias = service.cloneVoice(new MockMultipartFile("file", "a.wav", "audio/wav", clip), "Anchor");
+
+        assertThat(alias.voiceId()).isNotEqualTo(original.voiceId());
+        assertThat(alias.label()).isEqualTo("Anchor");
+        assertThat(alias.embeddingReference()).isEqualTo(original.embeddingReference());
+        assertThat(voiceStore.findByEmbeddingReference(original.embeddingReference())).contains(original);
+        assertThat(voiceStore.findById(alias.voiceId())).contains(alias);
+    }
+
+    @Test
+    void keepsOnlyTheCanonicalSample() throws IOException {
+        VoiceSampleStore sampleStore = new VoiceSampleStore(sampleDir);
+        VoiceCloneServiceImpl service = new VoiceCloneServiceImpl(new VoiceStore(0, mock(VoiceSimilarityIndex.class), new SimpleMeterRegistry()), sampleStore, new AudioPreprocessor(16000, -20, -50),
+                mock(VoiceSimilarityService.class), new ClusterRouter("local", List.of(), 128));
+
+        VoiceProfile voice = service.cloneVoice(new MockMultipartFile("file", "tone.wav", "audio/wav", tone()), "Narrator");
+
+        try (Stream<Path> files = Files.walk(sampleDir)) {
+            assertThat(files.filter(Files::isRegularFile).toList())
+                    .containsExactly(sampleStore.pathOf(voice.embeddingReference()));
+        }
+        assertThat(DigestUtils.sha256Hex(Files.readAllBytes(sampleStore.pathOf(voice.embeddingReference()))))
+                .isEqualTo(voice.embeddingReference());
+    }
+
+    /**
+     * Half a second of a 440 Hz tone as 44.1 kHz mono 16-bit PCM, which preprocessing resamples.
+     */
+    private static byte[] tone() {
+        int samples = 22_050;
+        ByteBuffer buffer = ByteBuffer.allocate(44 + samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + samples * 2)
+                .put("WAVE".getBytes(StandardCharsets.US_ASCII))
+                .put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(44_100).putInt(88_200).putShort((short) 2).putShort((short) 16)
+                .put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples * 2);
+        for (int i = 0; i < samples; i++) {
+            buffer.putShort((short) (8000 * Math.sin(2 * Math.PI * 440 * i / 44_100)));
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ai.virtualpresenter.service.impl;
+
+import com.ai.virtualpresenter.audio.AudioPreprocessor;
+import com.ai.virtualpresenter.cluster.ClusterRouter;
+import com.ai.virtualpresenter.model.UploadSession;
+import com.ai.virtualpresenter.model.VoiceProfile;
+import com.ai.virtualpresenter.service.VoiceCloneService;
+import com.ai.virtualpresenter.service.VoiceSimilarityService;
+import com.ai.virtualpresenter.store.UploadSessionStore;
+import com.ai.virtualpresenter.store.VoiceSampleStore;
+import com.ai.virtualpresenter.store.VoiceSimilarityIndex;
+import com.ai.virtualpresenter.store.VoiceStore;
+import org.apache.commons.codec.digest.DigestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VoiceUploadServiceImplTest {
+
+    @TempDir
+    Path sampleDir;
+
+    private VoiceSampleStore sampleStore;
+    private VoiceUploadServiceImpl uploadService;
+
+    @BeforeEach
+    void setUp() {
+        sampleStore = new VoiceSampleStore(sampleDir);
+        VoiceCloneServiceImpl cloneService = new VoiceCloneServiceImpl(new VoiceStore(0, mock(VoiceSimilarityIndex.class), new SimpleMeterRegistry()), sampleStore, new AudioPreprocessor(16000, -20, -50),
+                mock(VoiceSimilarityService.class), new ClusterRouter("local", List.of(), 128));
+        uploadService = new VoiceUploadServiceImpl(new UploadSessionStore(), sampleStore, cloneService, 1 << 20, 1024, 60,
+                new ClusterRouter("local", List.of(), 128));
+    }
+
+    @Test
+    void resumesAfterInterruptedChunkAndFinalizes() throws IOException {
+        byte[] clip = new byte[2500];
+        new Random(7).nextBytes(clip);
+        UploadSession session = uploadService.createSession("long.wav", clip.length, "Narrator");
+        assertThat(Files.size(session.getPartFile())).isEqualTo(clip.length);
+
+        uploadService.appendChunk(session.getUploadId(), 0, 1024, chunk(clip, 0, 1024));
+        // The connection drops halfway through the second chunk.
+        uploadService.appendChunk(session.getUploadId(), 1024, 1024, chunk(clip, 1024, 1500));
+        assertThat(uploadService.getSession(session.getUploadId()).getReceivedBytes()).isEqualTo(1500);
+
+        long resumeAt = uploadService.getSession(session.getUploadId()).getReceivedBytes();
+        uploadService.appendChunk(session.getUploadId(), resumeAt, clip.length - resumeAt, chunk(clip, (int) resumeAt, clip.length));
+        VoiceProfile profile = uploadService.complete(session.getUploadId());
+
+        assertThat(profile.embeddingReference()).isEqualTo(DigestUtils.sha256Hex(clip));
+        assertThat(Files.readAllBytes(sampleStore.pathOf(profile.embeddingReference()))).isEqualTo(clip);
+        assertThat(Files.exists(session.getPartFile())).isFalse();
+    }
+
+    @Test
+    void acknowledgesRetriedChunkAndRejectsGaps() throws IOException {
+        byte[] clip = new byte[300];
+        UploadSession session = uploadService.createSession("short.wav", clip.length, null);
+        uploadService.appendChunk(session.getUploadId(), 0, 100, chunk(clip, 0, 100));
+
+        UploadSession retried = uploadService.appendChunk(session.getUploadId(), 0, 100, chunk(clip, 0, 100));
+        assertThat(retried.getReceivedBytes()).isEqualTo(100);
+        assertThatThrownBy(() -> uploadService.appendChunk(session.getUploadId(), 200, 100, chunk(clip, 200, 300)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("offset 100");
+        assertThatThrownBy(() -> uploadService.complete(session.getUploadId()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsEmptyAndNegativeSizes() {
+        assertThatThrownBy(() -> uploadService.createSession("empty.wav", 0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> uploadService.createSession("negative.wav", -1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void failedCloneKeepsTheUploadForARetry() throws IOException {
+        VoiceCloneService cloneService = mock(VoiceCloneService.class);
+        VoiceProfile cloned = new VoiceProfile("voice-1", "Narrator", "clip.wav", Instant.now(), "hash");
+        when(cloneService.cloneVoice(any(Path.class), any(), any()))
+                .thenThrow(new IOException("disk hiccup"))
+                .thenReturn(cloned);
+        uploadService = new VoiceUploadServiceImpl(new UploadSessionStore(), sampleStore, cloneService, 1 << 20, 1024, 60,
+                new ClusterRouter("local", List.of(), 128));
+        byte[] clip = new byte[100];
+        UploadSession session = uploadService.createSession("clip.wav", clip.length, "Narrator");
+        uploadService.appendChunk(session.getUploadId(), 0, clip.length, chunk(clip, 0, clip.length));
+
+        assertThatThrownBy(() -> uploadService.complete(session.getUploadId())).isInstanceOf(IOException.class);
+        assertThat(uploadService.getSession(session.getUploadId()).isComplete()).isTrue();
+        assertThat(session.getPartFile()).exists();
+
+        assertThat(uploadService.complete(session.getUploadId())).isSameAs(cloned);
+        assertThatThrownBy(() -> uploadService.getSession(session.getUploadId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteArrayInputStream chunk(byte[] clip, int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(clip, from, to));
+    }
+}
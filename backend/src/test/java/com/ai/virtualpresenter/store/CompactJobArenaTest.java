@@ -0,0 +1,56 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.model.StageTiming;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactJobArenaTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-01T00:00:00.123456789Z");
+
+    @Test
+    void roundTripsEverythingButTheScript() {
+        CompactJobArena arena = new CompactJobArena(4096);
+        GenerationJob job = new GenerationJob("job-1", GenerationMode.BROADCAST, "voice-1", "脚本", CREATED_AT,
+                JobState.RENDERING, 80, "渲染中", null, 6);
+        job.recordStageTiming(JobState.CLONING_VOICE, new StageTiming(CREATED_AT, CREATED_AT.plusMillis(1500)));
+        job.recordStageArtifact(JobState.CLONING_VOICE, "/media/jobs/job-1/cloning_voice");
+        job.markCompleted("/media/job-1.mp4");
+
+        GenerationJob decoded = arena.read(arena.store(job));
+
+        assertThat(decoded.getScript()).isNull();
+        assertThat(decoded.snapshot()).isEqualTo(job.snapshot());
+        assertThat(decoded).usingRecursiveComparison()
+                .comparingOnlyFields("jobId", "mode", "voiceId", "createdAt")
+                .isEqualTo(job);
+        assertThat(decoded.getStageTimings()).isEqualTo(job.getStageTimings());
+        assertThat(decoded.getStageArtifacts()).isEqualTo(job.getStageArtifacts());
+    }
+
+    @Test
+    void releasesSegmentsOnceAllTheirRecordsAreFreed() {
+        CompactJobArena arena = new CompactJobArena(256);
+        List<Long> addresses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            GenerationJob job = new GenerationJob("job-" + i, GenerationMode.CREATIVE, "voice-1", null, CREATED_AT,
+                    JobState.FAILED, 100, "x".repeat(i * 40), null, 1);
+            addresses.add(arena.store(job));
+        }
+        long reserved = arena.reservedBytes();
+
+        addresses.subList(0, 10).forEach(arena::free);
+
+        assertThat(arena.reservedBytes()).isLessThan(reserved);
+        assertThat(arena.read(addresses.get(0))).isNull();
+        assertThat(arena.read(addresses.get(19)).getMessage()).isEqualTo("x".repeat(19 * 40));
+    }
+}
@@ -0,0 +1,94 @@
+package com.ai.virtualpresenter.store;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void repeatedLookupsLoadOnce() {
+        EmbeddingCache cache = new EmbeddingCache(registry, 1024);
+        AtomicInteger loads = new AtomicInteger();
+
+        float[] first = cache.get("a", ref -> {
+            loads.incrementAndGet();
+            return new float[]{1f, 2f};
+        });
+        float[] second = cache.get("a", ref -> {
+            loads.incrementAndGet();
+            return new float[]{3f, 4f};
+        });
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(registry.counter("voices.embedding.cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(registry.counter("voices.embedding.cache", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverBudget() {
+        EmbeddingCache cache = new EmbeddingCache(registry, 3 * 4 * Float.BYTES);
+        cache.get("a", ref -> new float[4]);
+        cache.get("b", ref -> new float[4]);
+        cache.get("c", ref -> new float[4]);
+        cache.get("a", ref -> new float[4]);
+
+        cache.get("d", ref -> new float[4]);
+
+        AtomicInteger reloads = new AtomicInteger();
+        cache.get("a", ref -> {
+            reloads.incrementAndGet();
+            return new float[4];
+        });
+        cache.get("b", ref -> {
+            reloads.incrementAndGet();
+            return new float[4];
+        });
+        assertThat(reloads).hasValue(1);
+        assertThat(cache.getSizeBytes()).isEqualTo(3 * 4 * Float.BYTES);
+        assertThat(registry.counter("voices.embedding.cache.evictions").count()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        EmbeddingCache cache = new EmbeddingCache(registry, 1024);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] lookups = new Future<?>[4];
+            for (int i = 0; i < lookups.length; i++) {
+                lookups[i] = pool.submit(() -> cache.get("hot", ref -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new float[8];
+                }));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> lookup : lookups) {
+                lookup.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryJobStoreTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final InMemoryJobStore store = new InMemoryJobStore(60, 1440, 4096, new SimpleMeterRegistry());
+
+    @Test
+    void pagesNewestFirstWithCursor() {
+        for (int i = 0; i < 5; i++) {
+            store.save(job("job-" + i, GenerationMode.CREATIVE, "voice-1", i, JobState.RECEIVED));
+        }
+
+        JobPage first = store.list(new JobQuery(null, null, null, null, null, null, 2));
+        JobPage second = store.list(new JobQuery(null, null, null, null, null, first.next(), 2));
+        JobPage last = store.list(new JobQuery(null, null, null, null, null, second.next(), 2));
+
+        assertThat(first.jobs()).extracting(GenerationJob::getJobId).containsExactly("job-4", "job-3");
+        assertThat(second.jobs()).extracting(GenerationJob::getJobId).containsExactly("job-2", "job-1");
+        assertThat(last.jobs()).extracting(GenerationJob::getJobId).containsExactly("job-0");
+        assertThat(last.next()).isNull();
+    }
+
+    @Test
+    void stateIndexFollowsUpdates() {
+        GenerationJob job = job("job-1", GenerationMode.BROADCAST, "voice-1", 0, JobState.RECEIVED);
+        store.save(job);
+        job.update(JobState.COMPLETED, 100, "done");
+        store.save(job);
+
+        assertThat(store.list(new JobQuery(JobState.RECEIVED, null, null, null, null, null, 10)).jobs()).isEmpty();
+        assertThat(store.list(new JobQuery(JobState.COMPLETED, null, null, null, null, null, 10)).jobs())
+                .containsExactly(job);
+    }
+
+    @Test
+    void combinesFiltersAndCreatedAtRange() {
+        store.save(job("a", GenerationMode.CREATIVE, "voice-1", 0, JobState.RECEIVED));
+        store.save(job("b", GenerationMode.BROADCAST, "voice-1", 10, JobState.RECEIVED));
+        store.save(job("c", GenerationMode.CREATIVE, "voice-2", 20, JobState.RECEIVED));
+        store.save(job("d", GenerationMode.CREATIVE, "voice-1", 30, JobState.RECEIVED));
+
+        JobPage page = store.list(new JobQuery(null, GenerationMode.CREATIVE, "voice-1",
+                START, START.plusSeconds(30), null, 10));
+
+        assertThat(page.jobs()).extracting(GenerationJob::getJobId).containsExactly("a");
+    }
+
+    @Test
+    void versionAdvancesOnEveryStatusChange() {
+        GenerationJob job = job("job-1", GenerationMode.CREATIVE, "voice-1", 0, JobState.RECEIVED);
+        store.save(job);
+        job.update(JobState.RENDERING, 50, "Rendering");
+        job.markCompleted("/media/job-1.mp4");
+
+        assertThat(store.findAllById(List.of("job-1", "missing")))
+                .singleElement().extracting(GenerationJob::getVersion).isEqualTo(2L);
+    }
+
+    @Test
+    void compactsThenEvictsFinishedJobs() {
+        GenerationJob finished = job("done", GenerationMode.CREATIVE, "voice-1", 0, JobState.RECEIVED);
+        finished.markCompleted("/media/done.mp4");
+        store.save(finished);
+        store.save(job("running", GenerationMode.CREATIVE, "voice-1", 1, JobState.RENDERING));
+        Instant now = Instant.now();
+
+        store.sweep(now.plus(Duration.ofMinutes(61)));
+        GenerationJob compacted = store.findById("done").orElseThrow();
+        assertThat(compacted.getScript()).isNull();
+        assertThat(compacted.getDownloadUrl()).contains("/media/done.mp4");
+        assertThat(compacted.getVersion()).isEqualTo(finished.getVersion());
+        assertThat(compacted.getCreatedAt()).isEqualTo(finished.getCreatedAt());
+        store.save(finished);
+        assertThat(store.findById("done").orElseThrow().getScript()).isNull();
+        assertThat(store.list(new JobQuery(JobState.COMPLETED, null, null, null, null, null, 10)).jobs())
+                .extracting(GenerationJob::getJobId).containsExactly("done");
+
+        store.sweep(now.plus(Duration.ofDays(1)).plusSeconds(1));
+        assertThat(store.findById("done")).isEmpty();
+        assertThat(store.list(new JobQuery(JobState.COMPLETED, null, null, null, null, null, 10)).jobs()).isEmpty();
+        assertThat(store.list(new JobQuery(null, null, "voice-1", null, null, null, 10)).jobs())
+                .extracting(GenerationJob::getJobId).containsExactly("running");
+    }
+
+    @Test
+    void cursorRoundTripsThroughToken() {
+        JobCursor cursor = new JobCursor(START, "job-42");
+
+        assertThat(JobCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    private static GenerationJob job(String jobId, GenerationMode mode, String voiceId, int secondsAfterStart, JobState state) {
+        return new GenerationJob(jobId, mode, voiceId, "script", START.plusSeconds(secondsAfterStart), state, 0, "", null);
+    }
+}
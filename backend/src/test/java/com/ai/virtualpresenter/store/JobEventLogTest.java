@@ -0,0 +1,148 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobSnapshot;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.model.StageTiming;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobEventLogTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rebuildsTheStoreFromTheLatestRecordOfEachJob() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JobEventLog log = open(4096, newStore(), meterRegistry);
+        GenerationJob job = job();
+        log.append(job, job.snapshot());
+        job.update(JobState.RENDERING, 60, "Rendering");
+        job.recordStageTiming(JobState.CLONING_VOICE, new StageTiming(CREATED_AT, CREATED_AT.plusSeconds(3)));
+        job.recordStageArtifact(JobState.CLONING_VOICE, "/media/jobs/job-1/cloning_voice");
+        log.append(job, job.snapshot());
+        log.append(job, job.snapshot());
+        log.close();
+
+        InMemoryJobStore rebuilt = newStore();
+        open(4096, rebuilt, new SimpleMeterRegistry());
+
+        GenerationJob restored = rebuilt.findById("job-1").orElseThrow();
+        assertThat(restored.snapshot()).isEqualTo(job.snapshot());
+        assertThat(restored.getScript()).isEqualTo("script");
+        assertThat(restored.getStageTimings()).isEqualTo(job.getStageTimings());
+        assertThat(restored.getStageArtifacts()).isEqualTo(job.getStageArtifacts());
+        assertThat(meterRegistry.get("jobs.eventlog.records").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void recordsEveryTransitionEvenWhenAppendedOutOfOrder() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JobEventLog log = open(4096, newStore(), meterRegistry);
+        GenerationJob job = job();
+        log.append(job, job.snapshot());
+        JobSnapshot cloning = job.update(JobState.CLONING_VOICE, 20, "Cloning").orElseThrow();
+        JobSnapshot scripting = job.update(JobState.GENERATING_SCRIPT, 20, "Writing").orElseThrow();
+        log.append(job, scripting);
+        log.append(job, cloning);
+        log.close();
+
+        InMemoryJobStore rebuilt = newStore();
+        open(4096, rebuilt, new SimpleMeterRegistry());
+
+        assertThat(meterRegistry.get("jobs.eventlog.records").counter().count()).isEqualTo(3);
+        assertThat(rebuilt.findById("job-1").orElseThrow().snapshot()).isEqualTo(scripting);
+    }
+
+    @Test
+    void rollsSegmentsAndStopsReplayAtATornRecord() throws IOException {
+        JobEventLog log = open(64, newStore(), new SimpleMeterRegistry());
+        GenerationJob job = job();
+        log.append(job, job.snapshot());
+        job.update(JobState.CLONING_VOICE, 20, "Cloning");
+        log.append(job, job.snapshot());
+        job.update(JobState.RENDERING, 60, "Rendering");
+        log.append(job, job.snapshot());
+        log.close();
+        List<Path> segments = segments();
+        assertThat(segments).hasSizeGreaterThanOrEqualTo(3);
+        try (RandomAccessFile last = new RandomAccessFile(segments.get(segments.size() - 1).toFile(), "rw")) {
+            last.seek(20);
+            last.write(last.read() ^ 0xFF);
+        }
+
+        InMemoryJobStore rebuilt = newStore();
+        open(64, rebuilt, new SimpleMeterRegistry());
+
+        assertThat(rebuilt.findById("job-1").orElseThrow().getState()).isEqualTo(JobState.CLONING_VOICE);
+    }
+
+    @Test
+    void deletesSegmentsOlderThanTheTtl() throws IOException {
+        JobEventLog log = open(64, newStore(), new SimpleMeterRegistry());
+        GenerationJob job = job();
+        log.append(job, job.snapshot());
+        job.markCompleted("/media/job-1.mp4");
+        log.append(job, job.snapshot());
+
+        log.sweep(Instant.now().plus(Duration.ofDays(2)));
+
+        assertThat(segments()).hasSize(1);
+    }
+
+    @Test
+    void reusesAnEmptyLastSegmentOnRestart() throws IOException {
+        open(4096, newStore(), new SimpleMeterRegistry()).close();
+        List<Path> first = segments();
+        open(4096, newStore(), new SimpleMeterRegistry()).close();
+
+        assertThat(segments()).isEqualTo(first).hasSize(1);
+
+        JobEventLog log = open(4096, newStore(), new SimpleMeterRegistry());
+        GenerationJob job = job();
+        log.append(job, job.snapshot());
+        log.close();
+        InMemoryJobStore rebuilt = newStore();
+        open(4096, rebuilt, new SimpleMeterRegistry());
+
+        assertThat(rebuilt.findById("job-1")).isPresent();
+        assertThat(segments()).hasSize(2);
+    }
+
+    private JobEventLog open(int segmentBytes, InMemoryJobStore store, SimpleMeterRegistry meterRegistry) {
+        JobEventLog log = new JobEventLog(true, dir, segmentBytes, 1440, store, meterRegistry);
+        log.open();
+        return log;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static InMemoryJobStore newStore() {
+        return new InMemoryJobStore(60, 1440, 4096, new SimpleMeterRegistry());
+    }
+
+    private static GenerationJob job() {
+        return new GenerationJob("job-1", GenerationMode.CREATIVE, "voice-1", "script", CREATED_AT,
+                JobState.RECEIVED, 0, "Job accepted", null);
+    }
+}
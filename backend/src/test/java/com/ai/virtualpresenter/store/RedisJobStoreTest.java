@@ -0,0 +1,253 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.cluster.ClusterRouter;
+import com.ai.virtualpresenter.cluster.LocalJobLeases;
+import com.ai.virtualpresenter.config.ExecutorMode;
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.workflow.JobProgressPublisher;
+import com.ai.virtualpresenter.workflow.JobScheduler;
+import com.ai.virtualpresenter.workflow.JobWorkflowOrchestrator;
+import com.ai.virtualpresenter.workflow.PipelineEngine;
+import com.ai.virtualpresenter.workflow.Stage;
+import com.ai.virtualpresenter.workflow.StageRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RedisJobStoreTest {
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    private RedisJobStore store() {
+        return new RedisJobStore(redisTemplate, "test:job:", 16, 60, 1440, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void coalescesUpdatesUntilFlush() {
+        RedisJobStore store = store();
+        GenerationJob job = new GenerationJob("job-1", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+
+        store.save(job);
+        job.update(JobState.CLONING_VOICE, 25, "Cloning voice timbre");
+        store.save(job);
+        assertThat(redisTemplate.hasKey("test:job:job-1")).isFalse();
+
+        store.flush();
+        assertThat(redisTemplate.opsForHash().get("test:job:job-1", "state")).isEqualTo("CLONING_VOICE");
+        assertThat(redisTemplate.opsForHash().get("test:job:job-1", "progress")).isEqualTo("25");
+    }
+
+    @Test
+    void reloadsFlushedJobsInFreshStore() {
+        RedisJobStore store = store();
+        GenerationJob job = new GenerationJob("job-2", GenerationMode.BROADCAST, "voice-2", "script", JobState.RECEIVED);
+        job.recordStageArtifact(JobState.RENDERING, "/media/jobs/job-2/rendering");
+        job.markCompleted("/media/jobs/job-2/render.mp4");
+        store.save(job);
+        store.shutdown();
+
+        RedisJobStore restarted = store();
+        GenerationJob reloaded = restarted.findById("job-2").orElseThrow();
+        assertThat(reloaded.getState()).isEqualTo(JobState.COMPLETED);
+        assertThat(reloaded.getMode()).isEqualTo(GenerationMode.BROADCAST);
+        assertThat(reloaded.getCreatedAt()).isEqualTo(job.getCreatedAt());
+        assertThat(reloaded.getDownloadUrl()).contains("/media/jobs/job-2/render.mp4");
+        assertThat(reloaded.getVersion()).isEqualTo(job.getVersion()).isPositive();
+        assertThat(reloaded.getStageArtifacts()).containsExactly(Map.entry(JobState.RENDERING, "/media/jobs/job-2/rendering"));
+        assertThat(restarted.findById("missing")).isEmpty();
+    }
+
+    @Test
+    void listsFromSortedSetIndexesAcrossPages() {
+        RedisJobStore store = store();
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < 5; i++) {
+            // Same millisecond for every job, so paging relies on the jobId tie-break.
+            store.save(new GenerationJob("job-" + i, GenerationMode.CREATIVE, "voice-1", "script", createdAt,
+                    i % 2 == 0 ? JobState.COMPLETED : JobState.RECEIVED, 0, "", null));
+        }
+        store.shutdown();
+
+        RedisJobStore restarted = store();
+        JobPage first = restarted.list(new JobQuery(null, null, "voice-1", null, null, null, 3));
+        JobPage second = restarted.list(new JobQuery(null, null, "voice-1", null, null, first.next(), 3));
+        JobPage completed = restarted.list(new JobQuery(JobState.COMPLETED, null, null, null, null, null, 10));
+
+        assertThat(first.jobs()).extracting(GenerationJob::getJobId).containsExactly("job-4", "job-3", "job-2");
+        assertThat(second.jobs()).extracting(GenerationJob::getJobId).containsExactly("job-1", "job-0");
+        assertThat(second.next()).isNull();
+        assertThat(completed.jobs()).extracting(GenerationJob::getJobId).containsExactly("job-4", "job-2", "job-0");
+    }
+
+    @Test
+    void mergesUnflushedJobsIntoPagesWithoutWriting() {
+        RedisJobStore store = store();
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        List<GenerationJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            jobs.add(new GenerationJob("job-" + i, GenerationMode.CREATIVE, "voice-1", "script",
+                    createdAt.plusSeconds(i), i % 2 == 0 ? JobState.COMPLETED : JobState.RECEIVED, 0, "", null));
+        }
+        jobs.subList(0, 4).forEach(store::save);
+        store.flush();
+        jobs.get(1).markCompleted("/media/job-1.mp4");
+        store.save(jobs.get(1));
+        store.save(jobs.get(4));
+
+        JobQuery completed = new JobQuery(JobState.COMPLETED, null, null, null, null, null, 2);
+        JobPage first = store.list(completed);
+        JobPage second = store.list(new JobQuery(JobState.COMPLETED, null, null, null, null, first.next(), 2));
+        JobPage received = store.list(new JobQuery(JobState.RECEIVED, null, null, null, null, null, 10));
+
+        assertThat(first.jobs()).extracting(GenerationJob::getJobId).containsExactly("job-4", "job-2");
+        assertThat(second.jobs()).extracting(GenerationJob::getJobId).containsExactly("job-1", "job-0");
+        assertThat(received.jobs()).extracting(GenerationJob::getJobId).containsExactly("job-3");
+        assertThat(redisTemplate.hasKey("test:job:job-4")).isFalse();
+        assertThat(redisTemplate.opsForHash().get("test:job:job-1", "state")).isEqualTo("RECEIVED");
+    }
+
+    @Test
+    void compactsThenEvictsFinishedJobs() {
+        RedisJobStore store = store();
+        GenerationJob finished = new GenerationJob("job-done", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+        finished.markCompleted("/media/jobs/job-done/render.mp4");
+        store.save(finished);
+        store.save(new GenerationJob("job-running", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED));
+        store.flush();
+        Instant now = Instant.now();
+
+        store.sweep(now.plus(Duration.ofMinutes(61)));
+        RedisJobStore restarted = store();
+        assertThat(restarted.findById("job-done").orElseThrow().getScript()).isNull();
+        assertThat(restarted.findById("job-done").orElseThrow().getDownloadUrl()).isPresent();
+        assertThat(store.findById("job-done").orElseThrow().getScript()).isNull();
+
+        store.sweep(now.plus(Duration.ofDays(1)).plusSeconds(1));
+        assertThat(store.findById("job-done")).isEmpty();
+        assertThat(store().findById("job-done")).isEmpty();
+        assertThat(redisTemplate.opsForZSet().score("test:job:index:all", "job-done")).isNull();
+        assertThat(redisTemplate.opsForZSet().score("test:job:index:state:COMPLETED", "job-done")).isNull();
+        assertThat(store.findById("job-running").orElseThrow().getScript()).isEqualTo("script");
+    }
+
+    @Test
+    void batchLoadsMixOfCachedAndPersistedJobs() {
+        RedisJobStore store = store();
+        store.save(new GenerationJob("job-a", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED));
+        store.save(new GenerationJob("job-b", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED));
+        store.shutdown();
+
+        RedisJobStore restarted = store();
+        restarted.save(new GenerationJob("job-c", GenerationMode.BROADCAST, "voice-2", "script", JobState.RECEIVED));
+
+        assertThat(restarted.findAllById(List.of("job-c", "missing", "job-b", "job-a")))
+                .extracting(GenerationJob::getJobId).containsExactly("job-c", "job-b", "job-a");
+    }
+
+    @Test
+    void cancelReachesARunningJobAfterTheHotCacheEvictedIt() throws InterruptedException {
+        RedisJobStore store = store();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch stageStarted = new CountDownLatch(1);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        PipelineEngine engine = new PipelineEngine(List.of(new BlockingStage(stageStarted)), executor, 1,
+                new StageRunner(1, 0, 0, 5, 30_000, meterRegistry));
+        JobScheduler scheduler = new JobScheduler(10, 5, 1, 1, ExecutorMode.PLATFORM, executor, meterRegistry);
+        JobWorkflowOrchestrator orchestrator = new JobWorkflowOrchestrator(store, mock(JobEventLog.class),
+                mock(JobProgressPublisher.class), scheduler, engine,
+                new ClusterRouter("local", List.of(), 128), new LocalJobLeases(), false);
+        try {
+            GenerationJob running = new GenerationJob("job-running", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+            orchestrator.startSyntheticRun(running);
+            store.save(running);
+            assertThat(stageStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 32; i++) {
+                GenerationJob finished = new GenerationJob("job-" + i, GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+                finished.markCompleted("/media/job-" + i + ".mp4");
+                store.save(finished);
+                store.findById("job-" + i);
+            }
+            store.flush();
+
+            GenerationJob found = store.findById("job-running").orElseThrow();
+            orchestrator.cancel(found);
+
+            assertThat(found).isSameAs(running);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.get("jobs.scheduler.running").tag("mode", "CREATIVE").gauge().value() > 0) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.sleep(5);
+            }
+            store.flush();
+            assertThat(running.getState()).isEqualTo(JobState.CANCELLED);
+            assertThat(redisTemplate.opsForHash().get("test:job:job-running", "state")).isEqualTo("CANCELLED");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private record BlockingStage(CountDownLatch started) implements Stage {
+
+        @Override
+        public JobState state() {
+            return JobState.RENDERING;
+        }
+
+        @Override
+        public Set<JobState> dependsOn() {
+            return Set.of();
+        }
+
+        @Override
+        public void execute(GenerationJob job) throws InterruptedException {
+            started.countDown();
+            new CountDownLatch(1).await();
+        }
+    }
+}
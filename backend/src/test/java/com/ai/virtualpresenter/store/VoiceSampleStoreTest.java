@@ -0,0 +1,49 @@
+package com.ai.virtualpresenter.store;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoiceSampleStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void adoptFilesSampleUnderItsHash() throws IOException {
+        byte[] clip = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(clip);
+        VoiceSampleStore store = new VoiceSampleStore(root);
+        Path upload = Files.write(store.uploadsDirectory().resolve("upload.part"), clip);
+
+        StoredSample sample = store.adopt(upload);
+
+        assertThat(sample.sha256()).isEqualTo(DigestUtils.sha256Hex(clip));
+        assertThat(sample.sizeBytes()).isEqualTo(clip.length);
+        assertThat(sample.path()).isEqualTo(store.pathOf(sample.sha256()));
+        assertThat(Files.readAllBytes(sample.path())).isEqualTo(clip);
+        assertThat(upload).doesNotExist();
+    }
+
+    @Test
+    void duplicateSampleKeepsSingleCopy() throws IOException {
+        VoiceSampleStore store = new VoiceSampleStore(root);
+        byte[] clip = {1, 2, 3};
+
+        StoredSample first = store.adopt(Files.write(store.uploadsDirectory().resolve("first.part"), clip));
+        StoredSample second = store.adopt(Files.write(store.uploadsDirectory().resolve("second.part"), clip),
+                DigestUtils.sha256Hex(clip));
+
+        assertThat(second.path()).isEqualTo(first.path());
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(1);
+        }
+    }
+}
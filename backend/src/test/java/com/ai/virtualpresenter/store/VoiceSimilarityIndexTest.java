@@ -0,0 +1,133 @@
+package com.ai.virtualpresenter.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VoiceSimilarityIndexTest {
+
+    private static final int DIMENSIONS = 64;
+
+    @Test
+    void simdAndScalarDotProductsAgree() {
+        SplittableRandom random = new SplittableRandom(1);
+        float[] a = randomVector(random, 197);
+        float[] b = randomVector(random, 197);
+
+        float scalar = new ScalarVectorOps().dot(a, 0, b, 0, a.length);
+        float simd = new SimdVectorOps().dot(a, 0, b, 0, a.length);
+
+        assertThat(simd).isCloseTo(scalar, within(1e-4f));
+    }
+
+    @Test
+    void flatScanReturnsExactNearestFirst() {
+        VoiceSimilarityIndex index = new VoiceSimilarityIndex(3, 1000);
+        index.add("north", new float[]{0, 1, 0});
+        index.add("north-east", new float[]{1, 1, 0});
+        index.add("south", new float[]{0, -1, 0});
+
+        List<SimilarityMatch> matches = index.search(new float[]{0, 1, 0}, 2);
+
+        assertThat(matches).extracting(SimilarityMatch::embeddingReference).containsExactly("north", "north-east");
+        assertThat(matches.get(0).similarity()).isCloseTo(1f, within(1e-6f));
+        assertThat(matches.get(1).similarity()).isCloseTo((float) Math.sqrt(0.5), within(1e-6f));
+    }
+
+    @Test
+    void reAddingReferenceIsIgnored() {
+        VoiceSimilarityIndex index = new VoiceSimilarityIndex(3, 1000);
+        index.add("a", new float[]{1, 0, 0});
+        index.add("a", new float[]{0, 1, 0});
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.find("a")).hasValueSatisfying(vector -> assertThat(vector).containsExactly(1, 0, 0));
+    }
+
+    @Test
+    void hnswRecallStaysCloseToExactScan() {
+        int vectors = 3000;
+        SplittableRandom random = new SplittableRandom(3);
+        VoiceSimilarityIndex exact = new VoiceSimilarityIndex(DIMENSIONS, Integer.MAX_VALUE);
+        VoiceSimilarityIndex approximate = new VoiceSimilarityIndex(DIMENSIONS, 500, Runnable::run);
+        for (int i = 0; i < vectors; i++) {
+            float[] vector = randomVector(random, DIMENSIONS);
+            exact.add("v" + i, vector);
+            approximate.add("v" + i, vector);
+        }
+
+        int hits = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = exact.find("v" + random.nextInt(vectors)).orElseThrow();
+            Set<String> truth = new HashSet<>();
+            exact.search(query, 10).forEach(match -> truth.add(match.embeddingReference()));
+            for (SimilarityMatch match : approximate.search(query, 10)) {
+                if (truth.contains(match.embeddingReference())) {
+                    hits++;
+                }
+            }
+        }
+
+        assertThat(hits / (double) (queries * 10)).isGreaterThan(0.9);
+    }
+
+    @Test
+    void searchesStayExactUntilTheBackgroundBuildIsSwappedIn() {
+        List<Runnable> builds = new ArrayList<>();
+        VoiceSimilarityIndex index = new VoiceSimilarityIndex(3, 2, builds::add);
+        index.add("north", new float[]{0, 1, 0});
+        index.add("east", new float[]{1, 0, 0});
+        index.add("south", new float[]{0, -1, 0});
+        index.add("west", new float[]{-1, 0, 0});
+
+        assertThat(builds).hasSize(1);
+        assertThat(index.search(new float[]{0, -1, 0}, 1))
+                .extracting(SimilarityMatch::embeddingReference).containsExactly("south");
+
+        builds.get(0).run();
+        index.add("up", new float[]{0, 0, 1});
+
+        assertThat(builds).hasSize(1);
+        assertThat(index.search(new float[]{-1, 0, 0}, 1))
+                .extracting(SimilarityMatch::embeddingReference).containsExactly("west");
+        assertThat(index.search(new float[]{0, 0, 1}, 1))
+                .extracting(SimilarityMatch::embeddingReference).containsExactly("up");
+    }
+
+    @Test
+    void removedReferencesDropOutOfSearchesAndSurviveCompaction() {
+        VoiceSimilarityIndex index = new VoiceSimilarityIndex(3, 2, Runnable::run);
+        index.add("north", new float[]{0, 1, 0});
+        index.add("east", new float[]{1, 0, 0});
+        index.add("south", new float[]{0, -1, 0});
+        index.add("west", new float[]{-1, 0, 0});
+
+        index.remove("north");
+        assertThat(index.search(new float[]{0, 1, 0}, 3))
+                .extracting(SimilarityMatch::embeddingReference).containsExactlyInAnyOrder("east", "west", "south");
+
+        index.remove("east");
+        index.add("north", new float[]{0, 0.9f, 0.1f});
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.find("east")).isEmpty();
+        assertThat(index.search(new float[]{0, 1, 0}, 2))
+                .extracting(SimilarityMatch::embeddingReference).containsExactly("north", "west");
+    }
+
+    private static float[] randomVector(SplittableRandom random, int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextDouble(-1.0, 1.0);
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ai.virtualpresenter.store;
+
+import com.ai.virtualpresenter.model.VoiceProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VoiceStoreTest {
+
+    @Test
+    void evictsVoicesIdleLongerThanTheTtl() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VoiceStore store = new VoiceStore(60, new VoiceSimilarityIndex(3, 1000), meterRegistry);
+        store.save(voice("voice-1", "hash-1"));
+        Instant savedAt = Instant.now();
+
+        store.sweep(savedAt.plus(Duration.ofMinutes(59)));
+        assertThat(meterRegistry.get("voices.store.live").gauge().value()).isEqualTo(1);
+        store.sweep(savedAt.plus(Duration.ofMinutes(61)));
+
+        assertThat(meterRegistry.get("voices.store.live").gauge().value()).isZero();
+        assertThat(store.findById("voice-1")).isEmpty();
+        assertThat(store.findByEmbeddingReference("hash-1")).isEmpty();
+    }
+
+    @Test
+    void keepsVoicesForeverWithoutATtl() {
+        VoiceStore store = new VoiceStore(0, new VoiceSimilarityIndex(3, 1000), new SimpleMeterRegistry());
+        store.save(voice("voice-1", "hash-1"));
+
+        store.sweep(Instant.now().plus(Duration.ofDays(365)));
+
+        assertThat(store.findByEmbeddingReference("hash-1")).isPresent();
+    }
+
+    @Test
+    void evictingTheLastVoiceOfASampleDropsItFromTheSimilarityIndex() throws InterruptedException {
+        VoiceSimilarityIndex index = new VoiceSimilarityIndex(3, 1000);
+        VoiceStore store = new VoiceStore(60, index, new SimpleMeterRegistry());
+        store.saveIfAbsent(voice("voice-1", "hash-1"));
+        index.add("hash-1", new float[]{1, 0, 0});
+        Instant betweenSaves = Instant.now();
+        Thread.sleep(5);
+        store.save(voice("alias-1", "hash-1"));
+
+        store.sweep(betweenSaves.plus(Duration.ofMinutes(60)));
+        assertThat(store.findById("voice-1")).isEmpty();
+        assertThat(store.findByEmbeddingReference("hash-1")).map(VoiceProfile::voiceId).hasValue("alias-1");
+        assertThat(index.find("hash-1")).isPresent();
+
+        store.sweep(betweenSaves.plus(Duration.ofMinutes(61)));
+        assertThat(store.findByEmbeddingReference("hash-1")).isEmpty();
+        assertThat(index.find("hash-1")).isEmpty();
+        assertThat(index.search(new float[]{1, 0, 0}, 5)).isEmpty();
+    }
+
+    private static VoiceProfile voice(String voiceId, String embeddingReference) {
+        return new VoiceProfile(voiceId, voiceId, voiceId + ".wav", Instant.now(), embeddingReference);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.cluster.ClusterRouter;
+import com.ai.virtualpresenter.cluster.LocalJobLeases;
+import com.ai.virtualpresenter.config.ExecutorConfig;
+import com.ai.virtualpresenter.config.ExecutorMode;
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.store.InMemoryJobStore;
+import com.ai.virtualpresenter.store.JobEventLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Submits the same burst of I/O-bound jobs through the orchestrator, scheduler and pipeline under both executor
+ * modes to show how many stages each mode keeps in flight at once.
+ */
+class ExecutorModeLoadTest {
+
+    private static final int JOBS = 200;
+    private static final int LANE_WORKERS = 2;
+    private static final int STAGE_WORKERS = 8;
+    private static final Duration IO_WAIT = Duration.ofMillis(50);
+
+    @Test
+    void virtualThreadsKeepFarMoreIoStagesInFlight() {
+        LoadResult platform = runBurst(ExecutorMode.PLATFORM, false, 0, JOBS);
+        LoadResult virtual = runBurst(ExecutorMode.VIRTUAL, false, 0, JOBS);
+
+        assertThat(platform.peak()).isLessThanOrEqualTo(2 * LANE_WORKERS);
+        assertThat(virtual.peak()).isGreaterThan(JOBS / 2);
+        assertThat(virtual.elapsed()).isLessThan(platform.elapsed());
+    }
+
+    @Test
+    void cpuBoundStagesStayWithinPermitsOnVirtualThreads() {
+        LoadResult result = runBurst(ExecutorMode.VIRTUAL, true, 2, 50);
+
+        assertThat(result.peak()).isLessThanOrEqualTo(2);
+    }
+
+    private static LoadResult runBurst(ExecutorMode mode, boolean cpuBound, int cpuPermits, int jobs) {
+        AsyncTaskExecutor laneExecutor = ExecutorConfig.workerExecutor(mode, "load-lane-" + mode + "-", 2 * LANE_WORKERS);
+        AsyncTaskExecutor stageExecutor = ExecutorConfig.workerExecutor(mode, "load-stage-" + mode + "-", STAGE_WORKERS);
+        List.of(laneExecutor, stageExecutor).forEach(executor -> {
+            if (executor instanceof ThreadPoolTaskExecutor pool) {
+                pool.initialize();
+            }
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyProbe probe = new ConcurrencyProbe(cpuBound);
+        PipelineEngine engine = new PipelineEngine(List.of(probe), stageExecutor, cpuPermits,
+                new StageRunner(1, 0, 0, 5, 30_000, meterRegistry));
+        JobScheduler scheduler = new JobScheduler(jobs, 5, LANE_WORKERS, LANE_WORKERS, mode, laneExecutor, meterRegistry);
+        JobWorkflowOrchestrator orchestrator = new JobWorkflowOrchestrator(
+                new InMemoryJobStore(60, 1440, 4096, meterRegistry), mock(JobEventLog.class),
+                mock(JobProgressPublisher.class), scheduler, engine,
+                new ClusterRouter("local", List.of(), 128), new LocalJobLeases(), false);
+
+        long startedAt = System.nanoTime();
+        List<GenerationJob> submitted = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs; i++) {
+            GenerationMode generationMode = i % 2 == 0 ? GenerationMode.BROADCAST : GenerationMode.CREATIVE;
+            GenerationJob job = new GenerationJob("load-" + i, generationMode, "voice-" + i, "script", JobState.RECEIVED);
+            orchestrator.startSyntheticRun(job);
+            submitted.add(job);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!submitted.stream().allMatch(job -> job.getState() == JobState.COMPLETED)) {
+            assertThat(System.nanoTime()).as("burst finished").isLessThan(deadline);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        List.of(laneExecutor, stageExecutor).forEach(executor -> {
+            if (executor instanceof ThreadPoolTaskExecutor pool) {
+                pool.shutdown();
+            }
+        });
+        return new LoadResult(probe.peak.get(), elapsed);
+    }
+
+    private record LoadResult(int peak, Duration elapsed) {
+    }
+
+    private static final class ConcurrencyProbe implements Stage {
+
+        private final boolean cpuBound;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        private ConcurrencyProbe(boolean cpuBound) {
+            this.cpuBound = cpuBound;
+        }
+
+        @Override
+        public JobState state() {
+            return JobState.GENERATING_ASSETS;
+        }
+
+        @Override
+        public Set<JobState> dependsOn() {
+            return Set.of();
+        }
+
+        @Override
+        public boolean cpuBound() {
+            return cpuBound;
+        }
+
+        @Override
+        public void execute(GenerationJob job) throws InterruptedException {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(IO_WAIT.toMillis());
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+}
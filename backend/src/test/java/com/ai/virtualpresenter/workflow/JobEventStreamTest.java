@@ -0,0 +1,158 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.dto.JobStatusResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobEventStreamTest {
+
+    private final JobEventStream stream = new JobEventStream(new ObjectMapper(), new SimpleMeterRegistry(), 4, 60_000, 0, 8);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        stream.stop();
+    }
+
+    @Test
+    void startsWithCurrentStatusThenFansOutOneFramePerUpdate() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        stream.subscribe(first, List.of("job-1"), null, jobId -> status(jobId, 1, "RENDERING"));
+        stream.subscribe(second, List.of("job-1"), null, jobId -> status(jobId, 1, "RENDERING"));
+
+        stream.publish(status("job-1", 2, "RENDERING"));
+        stream.awaitIdle();
+
+        assertThat(first.ids()).containsExactly("job-1:1", "job-1:2");
+        assertThat(second.ids()).containsExactly("job-1:1", "job-1:2");
+        assertThat(first.frames.get(1)).isSameAs(second.frames.get(1));
+    }
+
+    @Test
+    void resumesFromLastEventIdOutOfRingBuffer() throws Exception {
+        RecordingEmitter live = new RecordingEmitter();
+        stream.subscribe(live, List.of("job-1"), null, jobId -> status(jobId, 1, "RENDERING"));
+        for (int version = 2; version <= 5; version++) {
+            stream.publish(status("job-1", version, "RENDERING"));
+        }
+        RecordingEmitter resumed = new RecordingEmitter();
+        stream.subscribe(resumed, List.of("job-1"), "job-1:3", jobId -> status(jobId, 5, "RENDERING"));
+        stream.awaitIdle();
+
+        assertThat(resumed.ids()).containsExactly("job-1:4", "job-1:5");
+    }
+
+    @Test
+    void fallsBackToCurrentStatusWhenResumePointWasEvicted() throws Exception {
+        RecordingEmitter live = new RecordingEmitter();
+        stream.subscribe(live, List.of("job-1"), null, jobId -> status(jobId, 1, "RENDERING"));
+        for (int version = 2; version <= 9; version++) {
+            stream.publish(status("job-1", version, "RENDERING"));
+        }
+        RecordingEmitter resumed = new RecordingEmitter();
+        stream.subscribe(resumed, List.of("job-1"), "job-1:2", jobId -> status(jobId, 9, "RENDERING"));
+        stream.awaitIdle();
+
+        assertThat(resumed.ids()).containsExactly("job-1:9");
+    }
+
+    @Test
+    void multiJobStreamCompletesOnceEveryJobIsTerminal() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(emitter, List.of("job-1", "job-2"), null, jobId -> status(jobId, 1, "RENDERING"));
+
+        stream.publish(status("job-1", 2, "COMPLETED"));
+        stream.publish(status("job-3", 2, "RENDERING"));
+        stream.awaitIdle();
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+
+        stream.publish(status("job-2", 2, "FAILED"));
+        stream.awaitIdle();
+
+        assertThat(emitter.ids()).containsExactly("job-1:1", "job-2:1", "job-1:2", "job-2:2");
+        assertThat(stream.subscriberCount()).isZero();
+    }
+
+    @Test
+    void slowSubscriberIsDroppedWithoutHoldingUpTheOthers() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(unblock);
+        RecordingEmitter fast = new RecordingEmitter();
+        stream.subscribe(slow, List.of("job-1"), null, jobId -> status(jobId, 1, "RENDERING"));
+        stream.subscribe(fast, List.of("job-1"), null, jobId -> status(jobId, 1, "RENDERING"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (int version = 2; version <= 12; version++) {
+            stream.publish(status("job-1", version, "RENDERING"));
+            while (fast.ids().size() < version && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+
+        assertThat(fast.ids()).hasSize(12);
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        unblock.countDown();
+        stream.awaitIdle();
+        assertThat(slow.completed).isTrue();
+        assertThat(slow.ids()).containsExactly("job-1:1");
+    }
+
+    private static JobStatusResponse status(String jobId, long version, String state) {
+        return new JobStatusResponse(jobId, state, 50, state, null, null, Map.of(), version, null);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> frames = new ArrayList<>();
+        private final CountDownLatch unblock;
+        private volatile boolean completed;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            synchronized (this) {
+                frames.add(items);
+            }
+            try {
+                unblock.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        synchronized List<String> ids() {
+            List<String> ids = new ArrayList<>();
+            for (Set<DataWithMediaType> frame : frames) {
+                String text = frame.iterator().next().getData().toString();
+                if (text.startsWith("id:")) {
+                    ids.add(text.substring(3, text.indexOf('\n')));
+                }
+            }
+            return ids;
+        }
+    }
+}
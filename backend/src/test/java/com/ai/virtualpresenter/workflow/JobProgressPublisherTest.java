@@ -0,0 +1,93 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.dto.JobStatusResponse;
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class JobProgressPublisherTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JobChangeWaiters changeWaiters = new JobChangeWaiters();
+    private final JobProgressPublisher publisher =
+            new JobProgressPublisher(messagingTemplate, changeWaiters, mock(JobEventStream.class), meterRegistry, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        publisher.stop();
+    }
+
+    @Test
+    void coalescesUpdatesWithinWindow() {
+        GenerationJob job = new GenerationJob("job-1", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+        publisher.publish(job);
+        for (int progress = 1; progress <= 10; progress++) {
+            job.update(JobState.RENDERING, progress, "Compositing final video");
+            publisher.publish(job);
+        }
+        verify(messagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+
+        publisher.flush();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/jobs/job-1"), payload.capture());
+        assertThat(((JobStatusResponse) payload.getValue()).progress()).isEqualTo(10);
+        assertThat(meterRegistry.counter("jobs.progress.dropped").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("jobs.progress.merged").count()).isEqualTo(9);
+        assertThat(meterRegistry.counter("jobs.progress.published").count()).isEqualTo(1);
+    }
+
+    @Test
+    void deliversTerminalStateWithoutWaitingForWindow() {
+        GenerationJob job = new GenerationJob("job-2", GenerationMode.BROADCAST, "voice-1", "script", JobState.RECEIVED);
+        job.update(JobState.RENDERING, 90, "Compositing final video");
+        publisher.publish(job);
+        job.markCompleted("/media/jobs/job-2/render.mp4");
+        publisher.publish(job);
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, timeout(1_000)).convertAndSend(eq("/topic/jobs/job-2"), payload.capture());
+        assertThat(((JobStatusResponse) payload.getValue()).status()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void wakesLongPollWaitersWithoutWaitingForWindow() {
+        GenerationJob job = new GenerationJob("job-3", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+        CompletableFuture<Void> change = changeWaiters.awaitChange(job, job.getVersion());
+        assertThat(change).isNotDone();
+
+        job.update(JobState.RENDERING, 10, "Compositing final video");
+        publisher.publish(job);
+
+        assertThat(change).isCompleted();
+        assertThat(changeWaiters.size()).isZero();
+    }
+
+    @Test
+    void waiterRegisteredAfterChangeCompletesImmediately() {
+        GenerationJob job = new GenerationJob("job-4", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+        long seen = job.getVersion();
+        job.update(JobState.RENDERING, 10, "Compositing final video");
+
+        assertThat(changeWaiters.awaitChange(job, seen)).isCompleted();
+        CompletableFuture<Void> abandoned = changeWaiters.awaitChange(job, job.getVersion());
+        abandoned.cancel(false);
+        assertThat(changeWaiters.size()).isZero();
+    }
+}
@@ -0,0 +1,157 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.config.ExecutorMode;
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobSchedulerTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private JobScheduler scheduler;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        scheduler = new JobScheduler(4, 7, 1, 1, ExecutorMode.PLATFORM, executor, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectsWhenAdmissionQueueIsFull() {
+        scheduler.submitAsync(job("running", GenerationMode.CREATIVE, "voice-a"), finished(this::awaitRelease));
+        for (int i = 0; i < 4; i++) {
+            scheduler.submitAsync(job("queued-" + i, GenerationMode.CREATIVE, "voice-a"), finished(() -> { }));
+        }
+
+        GenerationJob overflow = job("overflow", GenerationMode.CREATIVE, "voice-a");
+        assertThatThrownBy(() -> scheduler.submitAsync(overflow, finished(() -> { })))
+                .isInstanceOf(JobQueueFullException.class)
+                .satisfies(error -> assertThat(((JobQueueFullException) error).getRetryAfter().toSeconds()).isEqualTo(7));
+        assertThat(scheduler.getQueuedJobs()).isEqualTo(4);
+    }
+
+    @Test
+    void interleavesVoicesWithinALane() throws InterruptedException {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(4);
+        scheduler = new JobScheduler(10, 5, 1, 1, ExecutorMode.PLATFORM, executor, new SimpleMeterRegistry());
+        scheduler.submitAsync(job("blocker", GenerationMode.BROADCAST, "voice-a"), finished(this::awaitRelease));
+        for (String jobId : List.of("a-1", "a-2", "a-3")) {
+            scheduler.submitAsync(job(jobId, GenerationMode.BROADCAST, "voice-a"), finished(record(order, jobId, done)));
+        }
+        scheduler.submitAsync(job("b-1", GenerationMode.BROADCAST, "voice-b"), finished(record(order, "b-1", done)));
+
+        assertThat(scheduler.queuePosition("a-1")).hasValue(1);
+        assertThat(scheduler.queuePosition("b-1")).hasValue(2);
+        assertThat(scheduler.queuePosition("a-3")).hasValue(4);
+        assertThat(scheduler.queuePosition("blocker")).isEmpty();
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly("a-1", "b-1", "a-2", "a-3");
+    }
+
+    @Test
+    void lanesDoNotBlockEachOther() throws InterruptedException {
+        CountDownLatch broadcastRan = new CountDownLatch(1);
+        scheduler.submitAsync(job("creative", GenerationMode.CREATIVE, "voice-a"), finished(this::awaitRelease));
+        scheduler.submitAsync(job("broadcast", GenerationMode.BROADCAST, "voice-a"), finished(broadcastRan::countDown));
+
+        assertThat(broadcastRan.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancelledJobsAreNeverDispatched() throws InterruptedException {
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        scheduler.submitAsync(job("blocker", GenerationMode.CREATIVE, "voice-a"), finished(this::awaitRelease));
+        scheduler.submitAsync(job("a-1", GenerationMode.CREATIVE, "voice-a"), finished(record(order, "a-1", done)));
+        scheduler.submitAsync(job("b-1", GenerationMode.CREATIVE, "voice-b"), finished(record(order, "b-1", done)));
+        scheduler.submitAsync(job("a-2", GenerationMode.CREATIVE, "voice-a"), finished(record(order, "a-2", done)));
+
+        assertThat(scheduler.cancel("b-1")).isTrue();
+        assertThat(scheduler.cancel("blocker")).isFalse();
+        assertThat(scheduler.getQueuedJobs()).isEqualTo(2);
+        assertThat(scheduler.queuePosition("a-2")).hasValue(2);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly("a-1", "a-2");
+    }
+
+    @Test
+    void asyncTaskHoldsItsSlotButNotItsThread() throws InterruptedException {
+        ThreadPoolTaskExecutor singleThread = new ThreadPoolTaskExecutor();
+        singleThread.setCorePoolSize(1);
+        singleThread.initialize();
+        scheduler = new JobScheduler(4, 7, 1, 1, ExecutorMode.PLATFORM, singleThread, new SimpleMeterRegistry());
+        CompletableFuture<Void> pipeline = new CompletableFuture<>();
+        CountDownLatch broadcastRan = new CountDownLatch(1);
+        CountDownLatch nextRan = new CountDownLatch(1);
+        scheduler.submitAsync(job("async", GenerationMode.CREATIVE, "voice-a"), () -> pipeline);
+        scheduler.submitAsync(job("next", GenerationMode.CREATIVE, "voice-a"), finished(nextRan::countDown));
+        scheduler.submitAsync(job("broadcast", GenerationMode.BROADCAST, "voice-a"), finished(broadcastRan::countDown));
+
+        try {
+            // The only executor thread is free while the async job runs, but the creative slot is not.
+            assertThat(broadcastRan.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(scheduler.queuePosition("next")).hasValue(1);
+
+            pipeline.complete(null);
+            assertThat(nextRan.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            singleThread.shutdown();
+        }
+    }
+
+    private static Supplier<CompletionStage<Void>> finished(Runnable work) {
+        return () -> {
+            work.run();
+            return CompletableFuture.completedFuture(null);
+        };
+    }
+
+    private Runnable record(List<String> order, String jobId, CountDownLatch done) {
+        return () -> {
+            order.add(jobId);
+            done.countDown();
+        };
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static GenerationJob job(String jobId, GenerationMode mode, String voiceId) {
+        return new GenerationJob(jobId, mode, voiceId, "script", JobState.RECEIVED);
+    }
+}
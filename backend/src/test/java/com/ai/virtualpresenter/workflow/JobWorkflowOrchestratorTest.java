@@ -0,0 +1,101 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.cluster.ClusterRouter;
+import com.ai.virtualpresenter.cluster.JobLeaseLostEvent;
+import com.ai.virtualpresenter.cluster.LocalJobLeases;
+import com.ai.virtualpresenter.config.ExecutorMode;
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.store.InMemoryJobStore;
+import com.ai.virtualpresenter.store.JobEventLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class JobWorkflowOrchestratorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final JobProgressPublisher publisher = mock(JobProgressPublisher.class);
+    private final CountDownLatch stageStarted = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void lostLeaseStopsTheRunWithoutRecordingAnOutcome() throws InterruptedException {
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        PipelineEngine engine = new PipelineEngine(List.of(new BlockingStage(stageStarted)), executor, 1,
+                new StageRunner(1, 0, 0, 5, 30_000, meterRegistry));
+        JobScheduler scheduler = new JobScheduler(10, 5, 1, 1, ExecutorMode.PLATFORM, executor, meterRegistry);
+        JobWorkflowOrchestrator orchestrator = new JobWorkflowOrchestrator(
+                new InMemoryJobStore(60, 1440, 4096, meterRegistry), mock(JobEventLog.class), publisher, scheduler,
+                engine, new ClusterRouter("local", List.of(), 128), new LocalJobLeases(), false);
+        GenerationJob job = new GenerationJob("job-1", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+        orchestrator.startSyntheticRun(job);
+        assertThat(stageStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        orchestrator.onLeaseLost(new JobLeaseLostEvent("job-1"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("jobs.scheduler.running").tag("mode", "CREATIVE").gauge().value() > 0) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+        assertThat(job.getState()).isEqualTo(JobState.RENDERING);
+        verify(publisher, never()).publish(argThat(published -> published.getState().isTerminal()));
+    }
+
+    @Test
+    void leaseLossOfAJobNotRunningHereDoesNotStopItsNextRun() throws InterruptedException {
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        PipelineEngine engine = new PipelineEngine(List.of(new BlockingStage(stageStarted)), executor, 1,
+                new StageRunner(1, 0, 0, 5, 30_000, meterRegistry));
+        JobScheduler scheduler = new JobScheduler(10, 5, 1, 1, ExecutorMode.PLATFORM, executor, meterRegistry);
+        JobWorkflowOrchestrator orchestrator = new JobWorkflowOrchestrator(
+                new InMemoryJobStore(60, 1440, 4096, meterRegistry), mock(JobEventLog.class), publisher, scheduler,
+                engine, new ClusterRouter("local", List.of(), 128), new LocalJobLeases(), false);
+
+        orchestrator.onLeaseLost(new JobLeaseLostEvent("job-1"));
+        GenerationJob job = new GenerationJob("job-1", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+        orchestrator.startSyntheticRun(job);
+
+        assertThat(stageStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private record BlockingStage(CountDownLatch started) implements Stage {
+
+        @Override
+        public JobState state() {
+            return JobState.RENDERING;
+        }
+
+        @Override
+        public Set<JobState> dependsOn() {
+            return Set.of();
+        }
+
+        @Override
+        public void execute(GenerationJob job) throws InterruptedException {
+            started.countDown();
+            new CountDownLatch(1).await();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.model.GenerationJob;
+import com.ai.virtualpresenter.model.GenerationMode;
+import com.ai.virtualpresenter.model.JobState;
+import com.ai.virtualpresenter.model.StageTiming;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PipelineEngineTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void independentStagesOverlap() {
+        PipelineEngine engine = engine(List.of(
+                new SimulatedStage(JobState.PREPROCESSING, Set.of(), Duration.ofMillis(100), false),
+                new SimulatedStage(JobState.CLONING_VOICE, Set.of(JobState.PREPROCESSING), Duration.ofMillis(300), false),
+                new SimulatedStage(JobState.GENERATING_SCRIPT, Set.of(), Duration.ofMillis(300), false),
+                new SimulatedStage(JobState.RENDERING,
+                        Set.of(JobState.CLONING_VOICE, JobState.GENERATING_SCRIPT), Duration.ofMillis(100), false)
+        ));
+        GenerationJob job = job();
+
+        long startedAt = System.nanoTime();
+        engine.execute(job, (ignored, snapshot) -> { }).join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        assertThat(elapsed).isLessThan(Duration.ofMillis(750));
+        assertThat(job.getStageTimings()).containsOnlyKeys(
+                JobState.PREPROCESSING, JobState.CLONING_VOICE, JobState.GENERATING_SCRIPT, JobState.RENDERING);
+        assertThat(job.getStageTimings().get(JobState.GENERATING_SCRIPT).startedAt())
+                .isBefore(job.getStageTimings().get(JobState.CLONING_VOICE).startedAt());
+        assertThat(job.getStageTimings().get(JobState.RENDERING).startedAt())
+                .isAfterOrEqualTo(job.getStageTimings().get(JobState.CLONING_VOICE).finishedAt());
+        assertThat(job.getProgress()).isEqualTo(95);
+    }
+
+    @Test
+    void failureSkipsDependentStages() {
+        Stage failing = new Stage() {
+            @Override
+            public JobState state() {
+                return JobState.PREPROCESSING;
+            }
+
+            @Override
+            public Set<JobState> dependsOn() {
+                return Set.of();
+            }
+
+            @Override
+            public void execute(GenerationJob job) {
+                throw new IllegalStateException("decoder crashed");
+            }
+        };
+        PipelineEngine engine = engine(List.of(
+                failing,
+                new SimulatedStage(JobState.CLONING_VOICE, Set.of(JobState.PREPROCESSING), Duration.ZERO, false)
+        ));
+        GenerationJob job = job();
+
+        assertThatThrownBy(() -> engine.execute(job, (ignored, snapshot) -> { }).join())
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseMessage("decoder crashed");
+        assertThat(job.getStageTimings()).isEmpty();
+    }
+
+    @Test
+    void resumedJobSkipsCheckpointedStages() {
+        Stage mustNotRerun = new Stage() {
+            @Override
+            public JobState state() {
+                return JobState.PREPROCESSING;
+            }
+
+            @Override
+            public Set<JobState> dependsOn() {
+                return Set.of();
+            }
+
+            @Override
+            public void execute(GenerationJob job) {
+                throw new IllegalStateException("checkpointed stage ran again");
+            }
+        };
+        PipelineEngine engine = engine(List.of(
+                mustNotRerun,
+                new SimulatedStage(JobState.RENDERING, Set.of(JobState.PREPROCESSING), Duration.ZERO, false)
+        ));
+        GenerationJob job = job();
+        StageTiming checkpoint = new StageTiming(Instant.EPOCH, Instant.EPOCH.plusSeconds(1));
+        job.recordStageTiming(JobState.PREPROCESSING, checkpoint);
+
+        engine.execute(job, (ignored, snapshot) -> { }).join();
+
+        assertThat(job.getStageTimings()).containsEntry(JobState.PREPROCESSING, checkpoint).containsKey(JobState.RENDERING);
+        assertThat(job.getStageArtifact(JobState.RENDERING)).contains("/media/jobs/job-1/rendering");
+        assertThat(job.getProgress()).isEqualTo(95);
+    }
+
+    @Test
+    void cancelInterruptsRunningStagesAndSkipsPendingOnes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Stage blocking = new Stage() {
+            @Override
+            public JobState state() {
+                return JobState.PREPROCESSING;
+            }
+
+            @Override
+            public Set<JobState> dependsOn() {
+                return Set.of();
+            }
+
+            @Override
+            public boolean cpuBound() {
+                return true;
+            }
+
+            @Override
+            public void execute(GenerationJob job) throws InterruptedException {
+                if (!job.getJobId().equals("job-1")) {
+                    return;
+                }
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    throw e;
+                }
+            }
+        };
+        PipelineEngine engine = new PipelineEngine(List.of(
+                blocking,
+                new SimulatedStage(JobState.RENDERING, Set.of(JobState.PREPROCESSING), Duration.ZERO, false)
+        ), executor, 1, noRetries());
+        GenerationJob job = job();
+        CompletableFuture<Void> run = engine.execute(job, (ignored, snapshot) -> { });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        job.markCancelled();
+        assertThat(engine.cancel(job.getJobId())).isTrue();
+
+        assertThatThrownBy(run::join).isInstanceOf(CompletionException.class);
+        assertThat(interrupted).isTrue();
+        assertThat(job.getState()).isEqualTo(JobState.CANCELLED);
+        assertThat(job.getStageTimings()).isEmpty();
+        assertThat(engine.cancel(job.getJobId())).isFalse();
+        // The only CPU permit was handed back, so another job's CPU-bound stage still runs.
+        GenerationJob next = new GenerationJob("job-2", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+        engine.execute(next, (ignored, snapshot) -> { }).get(5, TimeUnit.SECONDS);
+        assertThat(next.getStageTimings()).containsOnlyKeys(JobState.PREPROCESSING, JobState.RENDERING);
+    }
+
+    @Test
+    void rejectsCyclesAndMissingDependencies() {
+        assertThatThrownBy(() -> new PipelineEngine(List.of(
+                new SimulatedStage(JobState.PREPROCESSING, Set.of(JobState.RENDERING), Duration.ZERO, false),
+                new SimulatedStage(JobState.RENDERING, Set.of(JobState.PREPROCESSING), Duration.ZERO, false)
+        ), Runnable::run, 1, noRetries())).isInstanceOf(IllegalStateException.class).hasMessageContaining("cycle");
+        assertThatThrownBy(() -> new PipelineEngine(List.of(
+                new SimulatedStage(JobState.RENDERING, Set.of(JobState.CLONING_VOICE), Duration.ZERO, false)
+        ), Runnable::run, 1, noRetries())).isInstanceOf(IllegalStateException.class).hasMessageContaining("unregistered");
+    }
+
+    private PipelineEngine engine(List<Stage> stages) {
+        return new PipelineEngine(stages, executor, 0, noRetries());
+    }
+
+    private static StageRunner noRetries() {
+        return new StageRunner(1, 0, 0, 5, 30_000, new SimpleMeterRegistry());
+    }
+
+    private static GenerationJob job() {
+        return new GenerationJob("job-1", GenerationMode.CREATIVE, "voice-1", "script", JobState.RECEIVED);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ai.virtualpresenter.workflow;
+
+import com.ai.virtualpresenter.model.JobState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StageRunnerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Stage stage = new SimulatedStage(JobState.RENDERING, Set.of(), Duration.ZERO, false);
+
+    @Test
+    void retriesTransientFailuresUntilTheyClear() throws Exception {
+        StageRunner runner = new StageRunner(3, 1, 5, 5, 30_000, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        runner.run(stage, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new TransientStageException("provider timed out");
+            }
+        });
+
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.get("pipeline.stage.retries").tag("stage", "RENDERING").counter().count()).isEqualTo(2);
+        assertThat(runner.circuitState("rendering")).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void doesNotRetryPermanentFailures() {
+        StageRunner runner = new StageRunner(3, 1, 5, 5, 30_000, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> runner.run(stage, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("bad input");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void openCircuitRejectsCallsWithoutReachingTheProvider() {
+        StageRunner runner = new StageRunner(2, 0, 0, 2, 60_000, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+        StageRunner.Attempt failing = () -> {
+            attempts.incrementAndGet();
+            throw new TransientStageException("503");
+        };
+
+        assertThatThrownBy(() -> runner.run(stage, failing)).isInstanceOf(TransientStageException.class);
+        assertThatThrownBy(() -> runner.run(stage, failing)).isInstanceOf(CircuitOpenException.class);
+
+        assertThat(attempts).hasValue(2);
+        assertThat(runner.circuitState("rendering")).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("pipeline.adapter.circuit.state").tag("adapter", "rendering").gauge().value())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("pipeline.adapter.rejected").tag("adapter", "rendering").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void errorDuringTrialReleasesTheHalfOpenCircuit() throws Exception {
+        StageRunner runner = new StageRunner(1, 0, 0, 1, 0, meterRegistry);
+        assertThatThrownBy(() -> runner.run(stage, () -> {
+            throw new TransientStageException("503");
+        })).isInstanceOf(TransientStageException.class);
+        assertThat(runner.circuitState("rendering")).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> runner.run(stage, () -> {
+            throw new NoClassDefFoundError("adapter client");
+        })).isInstanceOf(NoClassDefFoundError.class);
+        assertThat(runner.circuitState("rendering")).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        runner.run(stage, () -> { });
+        assertThat(runner.circuitState("rendering")).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenCircuitLetsOneTrialThrough() {
+        long[] now = {0};
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10), () -> now[0]);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        now[0] = Duration.ofSeconds(10).toNanos();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onSuccess();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+}
@@ -20,19 +20,52 @@ export interface JobStatus {
   progress: number;
   message: string;
   downloadUrl?: string;
+  queuePosition?: number | null;
+  version?: number;
+}
+
+export interface JobListFilters {
+  state?: string;
+  mode?: "CREATIVE" | "BROADCAST";
+  voiceId?: string;
+  createdFrom?: string;
+  createdTo?: string;
+}
+
+interface JobPage {
+  jobs: JobStatus[];
+  nextCursor: string | null;
+}
+
+interface BatchJobStatus {
+  jobs: JobStatus[];
+  unknownJobIds: string[];
 }
 
 interface State {
   jobs: Record<string, JobStatus>;
   loading: boolean;
   error: string | null;
+  filters: JobListFilters;
+  nextCursor: string | null;
 }
 
+const PAGE_SIZE = 20;
+const POLL_INTERVAL_MS = 1500;
+export const TERMINAL_STATUSES = ["COMPLETED", "FAILED", "CANCELLED"];
+
+// Every tracked job shares one poll loop; the value is the last version seen, sent back so the server
+// only returns jobs that changed.
+const trackedVersions = new Map<string, number | null>();
+let pollTimer: ReturnType<typeof setTimeout> | null = null;
+
 export const useJobsStore = defineStore("jobs", {
   state: (): State => ({
     jobs: {},
     loading: false,
-    error: null
+    error: null,
+    filters: {},
+    nextCursor: null
   }),
   actions: {
     async cloneVoice(payload: VoiceClonePayload): Promise<{ voiceId: string }> {
@@ -76,29 +109,68 @@ export const useJobsStore = defineStore("jobs", {
         this.loading = false;
       }
     },
-    async trackJob(jobId: string) {
+    trackJob(jobId: string) {
+      if (!trackedVersions.has(jobId)) {
+        trackedVersions.set(jobId, null);
+      }
+      if (pollTimer === null) {
+        pollTimer = setTimeout(() => this.pollTrackedJobs(), 0);
+      }
+    },
+    async cancelJob(jobId: string) {
+      this.error = null;
+      try {
+        const response = await axios.delete(`/api/v1/jobs/${jobId}`);
+        this.jobs[jobId] = response.data as JobStatus;
+        trackedVersions.delete(jobId);
+      } catch (error) {
+        this.error = "取消任务失败。";
+        throw error;
+      }
+    },
+    async pollTrackedJobs() {
       try {
-        const response = await axios.get(`/api/v1/jobs/${jobId}`);
-        this.jobs[jobId] = response.data;
-        if (response.data.status !== "COMPLETED" && response.data.status !== "FAILED") {
-          setTimeout(() => this.trackJob(jobId), 1500);
+        const response = await axios.post("/api/v1/jobs/status:batch", {
+          jobs: Array.from(trackedVersions, ([jobId, sinceVersion]) => ({ jobId, sinceVersion }))
+        });
+        const batch = response.data as BatchJobStatus;
+        for (const job of batch.jobs) {
+          this.jobs[job.jobId] = job;
+          if (TERMINAL_STATUSES.includes(job.status)) {
+            trackedVersions.delete(job.jobId);
+          } else {
+            trackedVersions.set(job.jobId, job.version ?? null);
+          }
         }
+        batch.unknownJobIds.forEach((jobId) => trackedVersions.delete(jobId));
       } catch {
         this.error = "任务状态查询失败。";
       }
+      pollTimer = trackedVersions.size > 0 ? setTimeout(() => this.pollTrackedJobs(), POLL_INTERVAL_MS) : null;
+    },
+    async fetchAllJobs(filters: JobListFilters = this.filters) {
+        this.filters = filters;
+        this.jobs = {};
+        this.nextCursor = null;
+        await this.fetchJobsPage();
+    },
+    async fetchMoreJobs() {
+        if (this.nextCursor) {
+            await this.fetchJobsPage();
+        }
     },
-    async fetchAllJobs() {
+    async fetchJobsPage() {
         this.loading = true;
         this.error = null;
         try {
-            const response = await axios.get("/api/v1/jobs");
-            // Assuming the response is an array of JobStatus objects
-            const jobsArray = response.data as JobStatus[];
-            const jobsMap: Record<string, JobStatus> = {};
-            for (const job of jobsArray) {
-                jobsMap[job.jobId] = job;
+            const response = await axios.get("/api/v1/jobs", {
+                params: { ...this.filters, cursor: this.nextCursor ?? undefined, limit: PAGE_SIZE }
+            });
+            const page = response.data as JobPage;
+            for (const job of page.jobs) {
+                this.jobs[job.jobId] = job;
             }
-            this.jobs = jobsMap;
+            this.nextCursor = page.nextCursor;
         } catch (error) {
             this.error = "获取任务列表失败。";
         } finally {